@@ -30,6 +30,7 @@ import java.awt.AWTEvent;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
@@ -45,7 +46,7 @@ import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.IntStream;
 
 import javax.swing.BoxLayout;
@@ -60,14 +61,14 @@ import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 
+import org.isf.accounting.gui.BillDataLoader.BillViews;
 import org.isf.accounting.gui.PatientBillEdit.PatientBillListener;
-import org.isf.accounting.gui.totals.BalanceTotal;
-import org.isf.accounting.gui.totals.PaymentsTotal;
-import org.isf.accounting.gui.totals.UserTotal;
+import org.isf.accounting.gui.totals.BillTotals;
 import org.isf.accounting.manager.BillBrowserManager;
 import org.isf.accounting.model.Bill;
 import org.isf.accounting.model.BillPayments;
@@ -89,6 +90,7 @@ import org.isf.utils.jobjects.JMonthChooser;
 import org.isf.utils.jobjects.JYearChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.jobjects.OhListTableModel;
 import org.isf.utils.time.TimeTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,33 +111,66 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 
 	@Override
 	public void billInserted(AWTEvent event) {
-		if (patientParent != null) {
-			try {
-				updateDataSet(dateFrom, dateTo, patientParent);
-			} catch (OHServiceException ohServiceException) {
-				LOGGER.error(ohServiceException.getMessage(), ohServiceException);
+		Bill billInserted = event != null ? (Bill) event.getSource() : null;
+		/*
+		 * The pending bills of an affiliate come from their own query, and a bill out of the period is shown only
+		 * if paid in the period: they cannot be updated from the bill alone
+		 */
+		if (billInserted == null || patientParent != null || !isInPeriod(billInserted)) {
+			updateDataSet(dateFrom, dateTo, patientParent, event != null ? () -> {
+				selectBill(billInserted);
+				selectUser(true);
+			} : null);
+			return;
+		}
+		applyBill(jTableBills, billInserted, true);
+		applyBill(jTablePending, billInserted, billInserted.getStatus().equals("O"));
+		applyBill(jTableClosed, billInserted, billInserted.getStatus().equals("C"));
+		selectBill(billInserted);
+		// the totals also depend on the payments of the bill: they are loaded again, the rows are kept
+		updateDataSet(dateFrom, dateTo, patientParent, false, () -> selectUser(false));
+	}
+
+	private boolean isInPeriod(Bill bill) {
+		return !bill.getDate().isBefore(dateFrom) && !bill.getDate().isAfter(dateTo);
+	}
+
+	/*
+	 * Adds, updates or removes the row of a bill of the period in the table, keeping the order of the loaded rows
+	 */
+	private void applyBill(JTable table, Bill bill, boolean hasStatus) {
+		BillTableModel model = (BillTableModel) table.getModel();
+		int row = model.indexOf(aBill -> aBill.getId() == bill.getId());
+		if (row >= 0 && hasStatus) {
+			model.updateRow(row, bill);
+		} else if (row >= 0) {
+			model.removeRow(row);
+		} else if (hasStatus) {
+			int position = model.indexOf(aBill -> aBill.compareTo(bill) < 0);
+			model.addRow(position >= 0 ? position : model.getRowCount(), bill);
+		}
+	}
+
+	private void selectBill(Bill bill) {
+		if (bill != null) {
+			int row = ((BillTableModel) jTableBills.getModel()).indexOf(aBill -> aBill.getId() == bill.getId());
+			if (row >= 0) {
+				jTableBills.getSelectionModel().setSelectionInterval(row, row);
 			}
-		} else {
-			updateDataSet(dateFrom, dateTo);
 		}
-		updateTables();
-		updateTotals();
-		if (event != null) {
-			Bill billInserted = (Bill) event.getSource();
-			if (billInserted != null) {
-				int insertedId = billInserted.getId();
-				IntStream.range(0, jTableBills.getRowCount()).forEach(i -> {
-					Bill aBill = (Bill) jTableBills.getModel().getValueAt(i, -1);
-					if (aBill.getId() == insertedId) {
-						jTableBills.getSelectionModel().setSelectionInterval(i, i);
-					}
-				});
+	}
+
+	/*
+	 * The combo always fires its listener, which filters the tables by the user: with filterTables false the tables are
+	 * filtered again only if the user changes
+	 */
+	private void selectUser(boolean filterTables) {
+		if (!isSingleUser && MainMenu.checkUserGrants("cashiersfilter")) {
+			if (!users.contains(user)) {
+				users.add(user);
+				jComboUsers.addItem(user);
 			}
-			if (!isSingleUser && MainMenu.checkUserGrants("cashiersfilter")) {
-				if (!users.contains(user)) {
-					users.add(user);
-					jComboUsers.addItem(user);
-				}
+			if (filterTables || !user.equals(jComboUsers.getSelectedItem())) {
 				jComboUsers.setSelectedItem(user);
 			}
 		}
@@ -214,6 +249,9 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 	private List<Bill> billPeriod;
 	private List<BillPayments> paymentsPeriod;
 	private List<Bill> billFromPayments;
+	private List<Bill> billToday;
+	private List<BillPayments> paymentsToday;
+	private BillDataSetLoader dataSetLoader;
 
 	private String currencyCod;
 
@@ -234,11 +272,12 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		} catch (OHServiceException ohServiceException) {
 			MessageDialog.showExceptions(ohServiceException);
 		}
-		updateDataSet();
+		setDataSet(new BillDataSet());
 		initComponents();
 		setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
 		setLocationRelativeTo(null);
 		setVisible(true);
+		updateDataSet(LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay(), null, null);
 	}
 
 	private void initComponents() {
@@ -251,6 +290,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				cancelLoading();
 				// to free memory
 				billPeriod.clear();
 				users.clear();
@@ -492,6 +532,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 			jButtonClose = new JButton(MessageBundle.getMessage("angal.common.close.btn"));
 			jButtonClose.setMnemonic(MessageBundle.getMnemonic("angal.common.close.btn.key"));
 			jButtonClose.addActionListener(actionEvent -> {
+				cancelLoading();
 				// to free memory
 				billPeriod.clear();
 				users.clear();
@@ -664,23 +705,6 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		return jButtonPrintReceipt;
 	}
 
-	private void updateDataSet(LocalDateTime dateFrom, LocalDateTime dateTo, Patient patient) throws OHServiceException {
-		/*
-		 * Bills in the period
-		 */
-		billPeriod = billBrowserManager.getBills(dateFrom, dateTo, patient);
-
-		/*
-		 * Payments in the period
-		 */
-		paymentsPeriod = billBrowserManager.getPayments(dateFrom, dateTo, patient);
-
-		/*
-		 * Bills not in the period but with payments in the period
-		 */
-		billFromPayments = billBrowserManager.getBills(paymentsPeriod);
-	}
-
 	private JButton getJButtonNew() {
 		if (jButtonNew == null) {
 			jButtonNew = new JButton(MessageBundle.getMessage("angal.billbrowser.newbill.btn"));
@@ -814,11 +838,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 				selectPatient.setVisible(true);
 				Patient pat = selectPatient.getPatient();
 
-				try {
-					patientSelected(pat);
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-				}
+				patientSelected(pat);
 			}
 		});
 
@@ -835,14 +855,12 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		return priceListLabelPanel;
 	}
 
-	public void patientSelected(Patient patient) throws OHServiceException {
+	public void patientSelected(Patient patient) {
 		patientParent = patient;
 		jAffiliatePersonJTextField.setText(patientParent != null ? patientParent.getName() : "");
 
 		if (patientParent != null) {
-			updateDataSet(dateFrom, dateTo, patientParent);
-			updateTables();
-			updateTotals();
+			updateDataSet(dateFrom, dateTo, patientParent, null);
 		}
 	}
 
@@ -865,9 +883,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 				jTableUser.setValueAt("<html><b>" + user + ' ' + MessageBundle.getMessage("angal.billbrowser.todaycolon.txt") + "</b></html>", 0, 0);
 				jTableUser.setValueAt("<html><b>" + user + ' ' + MessageBundle.getMessage("angal.billbrowser.periodcolon.txt") + "</b></html>", 0, 2);
 				updateTotals();
-				jTableBills.setModel(new BillTableModel("ALL", user)); //$NON-NLS-1$
-				jTablePending.setModel(new BillTableModel("O", user)); //$NON-NLS-1$
-				jTableClosed.setModel(new BillTableModel("C", user)); //$NON-NLS-1$
+				updateTables(user);
 			});
 		}
 		return jComboUsers;
@@ -946,7 +962,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 	private JTable getJTableClosed() {
 		if (jTableClosed == null) {
 			jTableClosed = new JTable();
-			jTableClosed.setModel(new BillTableModel("C", NO_USERNAME)); //$NON-NLS-1$
+			jTableClosed.setModel(new BillTableModel());
 			decorateTable(jTableClosed);
 			jTableClosed.setAutoCreateColumnsFromModel(false);
 			jTableClosed.setDefaultRenderer(String.class, new StringTableCellRenderer());
@@ -968,7 +984,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 	private JTable getJTablePending() {
 		if (jTablePending == null) {
 			jTablePending = new JTable();
-			jTablePending.setModel(new BillTableModel("O", NO_USERNAME)); //$NON-NLS-1$
+			jTablePending.setModel(new BillTableModel());
 			decorateTable(jTablePending);
 			jTablePending.setAutoCreateColumnsFromModel(false);
 			jTablePending.setDefaultRenderer(String.class, new StringTableCellRenderer());
@@ -990,7 +1006,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 	private JTable getJTableBills() {
 		if (jTableBills == null) {
 			jTableBills = new JTable();
-			jTableBills.setModel(new BillTableModel("ALL", NO_USERNAME)); //$NON-NLS-1$
+			jTableBills.setModel(new BillTableModel());
 			decorateTable(jTableBills);
 			jTableBills.setAutoCreateColumnsFromModel(false);
 			jTableBills.setDefaultRenderer(String.class, new StringTableCellRenderer());
@@ -1137,84 +1153,66 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 	}
 
 	private void updateTables() {
-		jTableBills.setModel(new BillTableModel("ALL", NO_USERNAME)); //$NON-NLS-1$
-		jTablePending.setModel(new BillTableModel("O", NO_USERNAME)); //$NON-NLS-1$
-		jTableClosed.setModel(new BillTableModel("C", NO_USERNAME)); //$NON-NLS-1$
+		updateTables(NO_USERNAME);
 	}
 
-	private void updateDataSet() {
-		updateDataSet(LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay());
-	}
-
-	private void updateDataSet(LocalDateTime dateFrom, LocalDateTime dateTo) {
+	/*
+	 * Reloads the rows of the three tabs, keeping their models and columns; the bills are split among the tabs in a single pass
+	 */
+	private void updateTables(String username) {
+		BillViews views;
 		try {
-			/*
-			 * Bills in the period
-			 */
-			billPeriod = billBrowserManager.getBills(dateFrom, dateTo);
+			views = new BillDataLoader(billPeriod, billFromPayments, patientParent, billBrowserManager).loadViews(username);
 		} catch (OHServiceException ohServiceException) {
-			MessageDialog.showExceptions(ohServiceException);
+			LOGGER.error("BillDataLoader error: ", ohServiceException);
+			return;
 		}
+		((BillTableModel) jTableBills.getModel()).setRows(views.getAll());
+		((BillTableModel) jTablePending.getModel()).setRows(views.getPending());
+		((BillTableModel) jTableClosed.getModel()).setRows(views.getClosed());
+	}
 
-		try {
-			/*
-			 * Payments in the period
-			 */
-			paymentsPeriod = billBrowserManager.getPayments(dateFrom, dateTo);
-		} catch (OHServiceException ohServiceException) {
-			MessageDialog.showExceptions(ohServiceException);
-		}
+	/*
+	 * Loads the data set in background; tables and totals are updated together once all the queries are done
+	 */
+	private void updateDataSet(LocalDateTime dateFrom, LocalDateTime dateTo, Patient patient, Runnable onLoaded) {
+		updateDataSet(dateFrom, dateTo, patient, true, onLoaded);
+	}
 
-		try {
-			/*
-			 * Bills not in the period but with payments in the period
-			 */
-			billFromPayments = billBrowserManager.getBills(paymentsPeriod);
-		} catch (OHServiceException ohServiceException) {
-			MessageDialog.showExceptions(ohServiceException);
-		}
+	/*
+	 * As above; when reloadTables is false only the totals are updated, the rows being already up to date
+	 */
+	private void updateDataSet(LocalDateTime dateFrom, LocalDateTime dateTo, Patient patient, boolean reloadTables, Runnable onLoaded) {
+		cancelLoading();
+		boolean loadToday = UserBrowsingManager.getCurrentUser().equals("admin");
+		setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		dataSetLoader = new BillDataSetLoader(dateFrom, dateTo, patient, loadToday, reloadTables, onLoaded);
+		dataSetLoader.execute();
 	}
 
-	private void updateTotals() {
-		List<Bill> billToday = null;
-		List<BillPayments> paymentsToday = null;
-		if (UserBrowsingManager.getCurrentUser().equals("admin")) {
-			try {
-				billToday = billBrowserManager.getBills(dateToday0, dateToday24);
-				paymentsToday = billBrowserManager.getPayments(dateToday0, dateToday24);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-			}
-		} else {
-			billToday = billPeriod;
-			paymentsToday = paymentsPeriod;
+	private void cancelLoading() {
+		if (dataSetLoader != null) {
+			dataSetLoader.cancel(true);
+			dataSetLoader = null;
 		}
+	}
 
-		totalPeriod = new BigDecimal(0);
-		balancePeriod = new BigDecimal(0);
-		totalToday = new BigDecimal(0);
-		balanceToday = new BigDecimal(0);
-		userToday = new BigDecimal(0);
-		userPeriod = new BigDecimal(0);
-
-		List<Integer> notDeletedBills = billPeriod.stream()
-						.filter(bill -> !bill.getStatus().equals("D"))
-						.map(Bill::getId)
-						.collect(Collectors.toList());
-
-		// Bills in range contribute for Not Paid (balance)
-		balancePeriod = new BalanceTotal(billPeriod).getValue();
-
-		// Bills in today contribute for Not Paid Today (balance)
-		balanceToday = new BalanceTotal(billToday).getValue();
-
-		// Payments in range contribute for Paid Period (total)
-		userPeriod = new UserTotal(notDeletedBills, paymentsPeriod, user).getValue();
-		totalPeriod = new PaymentsTotal(notDeletedBills, paymentsPeriod).getValue();
+	private void setDataSet(BillDataSet dataSet) {
+		billPeriod = dataSet.getBillPeriod();
+		paymentsPeriod = dataSet.getPaymentsPeriod();
+		billFromPayments = dataSet.getBillFromPayments();
+		billToday = dataSet.getBillToday();
+		paymentsToday = dataSet.getPaymentsToday();
+	}
 
-		// Payments in today contribute for Paid Today (total)
-		userToday = new UserTotal(notDeletedBills, paymentsToday, user).getValue();
-		totalToday = new PaymentsTotal(notDeletedBills, paymentsToday).getValue();
+	private void updateTotals() {
+		BillTotals totals = new BillTotals(billPeriod, paymentsPeriod, billToday, paymentsToday, user);
+		balancePeriod = totals.getBalancePeriod();
+		balanceToday = totals.getBalanceToday();
+		totalPeriod = totals.getTotalPeriod();
+		totalToday = totals.getTotalToday();
+		userPeriod = totals.getUserPeriod();
+		userToday = totals.getUserToday();
 
 		jTableToday.setValueAt(totalToday, 0, 2);
 		jTableToday.setValueAt(balanceToday, 0, 5);
@@ -1226,25 +1224,62 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		}
 	}
 
-	public class BillTableModel extends DefaultTableModel {
-
-		private static final long serialVersionUID = 1L;
-		private List<Bill> tableArray = new ArrayList<>();
+	class BillDataSetLoader extends SwingWorker<BillDataSet, Void> {
+
+		private final LocalDateTime dateFrom;
+		private final LocalDateTime dateTo;
+		private final Patient patient;
+		private final boolean loadToday;
+		private final boolean reloadTables;
+		private final Runnable onLoaded;
+
+		BillDataSetLoader(LocalDateTime dateFrom, LocalDateTime dateTo, Patient patient, boolean loadToday, boolean reloadTables, Runnable onLoaded) {
+			this.dateFrom = dateFrom;
+			this.dateTo = dateTo;
+			this.patient = patient;
+			this.loadToday = loadToday;
+			this.reloadTables = reloadTables;
+			this.onLoaded = onLoaded;
+		}
 
-		/*
-		 * All Bills
-		 */
-		public BillTableModel(String status, String username) {
-			loadData(status, username);
+		@Override
+		protected BillDataSet doInBackground() throws OHServiceException, InterruptedException {
+			return BillDataSet.load(billBrowserManager, dateFrom, dateTo, patient, dateToday0, dateToday24, loadToday);
 		}
 
-		private void loadData(String status, String username) {
+		@Override
+		protected void done() {
+			if (isCancelled() || dataSetLoader != this) {
+				return;
+			}
+			dataSetLoader = null;
+			setCursor(Cursor.getDefaultCursor());
 			try {
-				tableArray = new BillDataLoader(billPeriod, billFromPayments, patientParent, billBrowserManager).loadBills(status, username);
-			} catch (OHServiceException ohServiceException) {
-				LOGGER.error("BillDataLoader error: ", ohServiceException);
+				setDataSet(get());
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException executionException) {
+				if (executionException.getCause() instanceof OHServiceException) {
+					MessageDialog.showExceptions((OHServiceException) executionException.getCause());
+				} else {
+					LOGGER.error("Unable to load the bills.", executionException.getCause());
+				}
+				return;
+			}
+			if (reloadTables) {
+				updateTables();
+			}
+			updateTotals();
+			if (onLoaded != null) {
+				onLoaded.run();
 			}
 		}
+	}
+
+	public class BillTableModel extends OhListTableModel<Bill> {
+
+		private static final long serialVersionUID = 1L;
 
 		@Override
 		public Class< ? > getColumnClass(int columnIndex) {
@@ -1262,20 +1297,8 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		}
 
 		@Override
-		public int getRowCount() {
-			if (tableArray == null) {
-				return 0;
-			}
-			return tableArray.size();
-		}
-
-		@Override
-		public Object getValueAt(int r, int c) {
+		protected Object getColumnValue(Bill thisBill, int c) {
 			int index = -1;
-			Bill thisBill = tableArray.get(r);
-			if (c == index) {
-				return thisBill;
-			}
 			if (c == ++index) {
 				return thisBill.getUser();
 			}
@@ -1310,11 +1333,6 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 			return null;
 		}
 
-		@Override
-		public boolean isCellEditable(int rowIndex, int columnIndex) {
-			return false;
-		}
-
 	}
 
 	private void formatCellByBillStatus(JTable table, int row, Component cell) {
@@ -1412,11 +1430,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 				int row = target.getSelectedRow();
 				if (row >= 0) {
 					Patient pat = ((Bill) target.getValueAt(row, -1)).getBillPatient();
-					try {
-						patientSelected(pat);
-					} catch (OHServiceException ohServiceException) {
-						MessageDialog.showExceptions(ohServiceException);
-					}
+					patientSelected(pat);
 				}
 			}
 		}
@@ -23,8 +23,10 @@ package org.isf.accounting.gui;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.isf.accounting.manager.BillBrowserManager;
@@ -65,6 +67,47 @@ public class BillDataLoader {
 		return tableArray;
 	}
 
+	/**
+	 * Builds the bills of all the tabs at once: the bills are merged, filtered and sorted once, then split by status.
+	 *
+	 * @param username - the user of the bills, or {@code null} for all users
+	 * @return the bills of each tab, in the same order of {@link #loadBills(String, String)}
+	 */
+	public BillViews loadViews(String username) throws OHServiceException {
+		Set<Integer> billPeriodIds = new HashSet<>(billPeriod.size() * 2);
+		List<Bill> billAll = new ArrayList<>(billPeriod.size() + billFromPayments.size());
+		for (Bill bill : billPeriod) {
+			billPeriodIds.add(bill.getId());
+			if (username == null || bill.getUser().equals(username)) {
+				billAll.add(bill);
+			}
+		}
+		for (Bill bill : billFromPayments) {
+			if (!billPeriodIds.contains(bill.getId()) && (username == null || bill.getUser().equals(username))) {
+				billAll.add(bill);
+			}
+		}
+		billAll.sort(Collections.reverseOrder());
+
+		List<Bill> billPending = new ArrayList<>();
+		List<Bill> billClosed = new ArrayList<>();
+		for (Bill bill : billAll) {
+			// pending and closed tabs only show the bills of the period
+			if (billPeriodIds.contains(bill.getId())) {
+				if (bill.getStatus().equals("O")) {
+					billPending.add(bill);
+				} else if (bill.getStatus().equals("C")) {
+					billClosed.add(bill);
+				}
+			}
+		}
+		if (patientParent != null) {
+			billPending = billManager.getPendingBillsAffiliate(patientParent.getCode());
+			billPending.sort(Collections.reverseOrder());
+		}
+		return new BillViews(billAll, billPending, billClosed);
+	}
+
 	private List<Bill> getAllBills(String username) {
 		List<Bill> billAll = mergeBillsFromPeriodAndFromPayments();
 		if (username != null) {
@@ -108,4 +151,32 @@ public class BillDataLoader {
 		
 	}
 
+	/**
+	 * The bills shown by the tabs of the {@link BillBrowser}.
+	 */
+	public static class BillViews {
+
+		private final List<Bill> all;
+		private final List<Bill> pending;
+		private final List<Bill> closed;
+
+		BillViews(List<Bill> all, List<Bill> pending, List<Bill> closed) {
+			this.all = all;
+			this.pending = pending;
+			this.closed = closed;
+		}
+
+		public List<Bill> getAll() {
+			return all;
+		}
+
+		public List<Bill> getPending() {
+			return pending;
+		}
+
+		public List<Bill> getClosed() {
+			return closed;
+		}
+	}
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.isf.accounting.manager.BillBrowserManager;
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+import org.isf.patient.model.Patient;
+import org.isf.utils.exception.OHServiceException;
+
+/**
+ * Bills and payments shown by the {@link BillBrowser}, loaded with concurrent queries.
+ * <p>
+ * The bills and the payments of the period are queried together, and the bills of the payments as soon as the
+ * payments are available. The bills and payments of today are queried in parallel too, unless the period already
+ * contains the whole day: then they are taken from the period.
+ */
+class BillDataSet {
+
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "BillDataSet");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final List<Bill> billPeriod;
+	private final List<BillPayments> paymentsPeriod;
+	private final List<Bill> billFromPayments;
+	private final List<Bill> billToday;
+	private final List<BillPayments> paymentsToday;
+
+	BillDataSet() {
+		this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+	}
+
+	private BillDataSet(List<Bill> billPeriod, List<BillPayments> paymentsPeriod, List<Bill> billFromPayments, List<Bill> billToday,
+			List<BillPayments> paymentsToday) {
+		this.billPeriod = billPeriod;
+		this.paymentsPeriod = paymentsPeriod;
+		this.billFromPayments = billFromPayments;
+		this.billToday = billToday;
+		this.paymentsToday = paymentsToday;
+	}
+
+	/**
+	 * @param dateFrom - start of the period
+	 * @param dateTo - end of the period
+	 * @param patient - the patient of the bills, or {@code null} for all patients
+	 * @param todayFrom - start of today
+	 * @param todayTo - end of today
+	 * @param loadToday - if {@code false} the bills and payments of today are the ones of the period
+	 */
+	static BillDataSet load(BillBrowserManager billManager, LocalDateTime dateFrom, LocalDateTime dateTo, Patient patient, LocalDateTime todayFrom,
+			LocalDateTime todayTo, boolean loadToday) throws OHServiceException, InterruptedException {
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			Future<List<Bill>> billPeriodFuture = submit(futures, () -> patient == null
+					? billManager.getBills(dateFrom, dateTo)
+					: billManager.getBills(dateFrom, dateTo, patient));
+			Future<List<BillPayments>> paymentsPeriodFuture = submit(futures, () -> patient == null
+					? billManager.getPayments(dateFrom, dateTo)
+					: billManager.getPayments(dateFrom, dateTo, patient));
+
+			boolean shareToday = loadToday && patient == null && !todayFrom.isBefore(dateFrom) && !todayTo.isAfter(dateTo);
+			Future<List<Bill>> billTodayFuture = null;
+			Future<List<BillPayments>> paymentsTodayFuture = null;
+			if (loadToday && !shareToday) {
+				billTodayFuture = submit(futures, () -> billManager.getBills(todayFrom, todayTo));
+				paymentsTodayFuture = submit(futures, () -> billManager.getPayments(todayFrom, todayTo));
+			}
+
+			/*
+			 * Bills not in the period but with payments in the period
+			 */
+			List<BillPayments> paymentsPeriod = get(paymentsPeriodFuture);
+			List<Bill> billFromPayments = billManager.getBills(paymentsPeriod);
+			List<Bill> billPeriod = get(billPeriodFuture);
+
+			List<Bill> billToday;
+			List<BillPayments> paymentsToday;
+			if (shareToday) {
+				billToday = billPeriod.stream()
+						.filter(bill -> isBetween(bill.getDate(), todayFrom, todayTo))
+						.collect(Collectors.toList());
+				paymentsToday = paymentsPeriod.stream()
+						.filter(payment -> isBetween(payment.getDate(), todayFrom, todayTo))
+						.collect(Collectors.toList());
+			} else if (loadToday) {
+				billToday = get(billTodayFuture);
+				paymentsToday = get(paymentsTodayFuture);
+			} else {
+				billToday = billPeriod;
+				paymentsToday = paymentsPeriod;
+			}
+			return new BillDataSet(billPeriod, paymentsPeriod, billFromPayments, billToday, paymentsToday);
+		} finally {
+			// on failure or interruption the other queries are not needed anymore
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	List<Bill> getBillPeriod() {
+		return billPeriod;
+	}
+
+	List<BillPayments> getPaymentsPeriod() {
+		return paymentsPeriod;
+	}
+
+	List<Bill> getBillFromPayments() {
+		return billFromPayments;
+	}
+
+	List<Bill> getBillToday() {
+		return billToday;
+	}
+
+	List<BillPayments> getPaymentsToday() {
+		return paymentsToday;
+	}
+
+	private static boolean isBetween(LocalDateTime date, LocalDateTime from, LocalDateTime to) {
+		return date != null && !date.isBefore(from) && !date.isAfter(to);
+	}
+
+	private static <T> Future<T> submit(List<Future<?>> futures, Callable<T> query) {
+		Future<T> future = EXECUTOR.submit(query);
+		futures.add(future);
+		return future;
+	}
+
+	private static <T> T get(Future<T> future) throws OHServiceException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException executionException) {
+			Throwable cause = executionException.getCause();
+			if (cause instanceof OHServiceException) {
+				throw (OHServiceException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+}
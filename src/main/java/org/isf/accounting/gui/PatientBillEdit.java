@@ -97,6 +97,8 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
 import org.isf.utils.jobjects.GoodDateTimeToggleChooser;
 import org.isf.utils.jobjects.MessageDialog;
+import org.isf.utils.jobjects.OhTableModel;
+import org.isf.utils.jobjects.OhTablePicker;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.slf4j.Logger;
@@ -1539,8 +1541,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 				}
 
 				Icon icon = new ImageIcon("rsc/icons/plus_dialog.png");
-				Price oth = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.pleaseselectanitem.txt"),
-								MessageBundle.getMessage("angal.newbill.item.title"), JOptionPane.PLAIN_MESSAGE, icon, othArray.toArray(), ""); //$NON-NLS-2$
+				Price oth = OhTablePicker.pick(this, MessageBundle.getMessage("angal.newbill.item.title"),
+								MessageBundle.getMessage("angal.newbill.pleaseselectanitem.txt"), icon, new OhTableModel<>(othArray, true));
 
 				if (oth != null) {
 					if (othersHashMap.get(Integer.valueOf(oth.getItem())).isUndefined()) {
@@ -1604,8 +1606,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 				}
 
 				Icon icon = new ImageIcon("rsc/icons/exam_dialog.png"); //$NON-NLS-1$
-				Price exa = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.selectanexam.txt"),
-								MessageBundle.getMessage("angal.newbill.exam.title"), JOptionPane.PLAIN_MESSAGE, icon, exaArray.toArray(), ""); //$NON-NLS-2$
+				Price exa = OhTablePicker.pick(this, MessageBundle.getMessage("angal.newbill.exam.title"),
+								MessageBundle.getMessage("angal.newbill.selectanexam.txt"), icon, new OhTableModel<>(exaArray, true));
 				addItem(exa, 1, true);
 			});
 		}
@@ -1630,8 +1632,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 				}
 
 				Icon icon = new ImageIcon("rsc/icons/operation_dialog.png"); //$NON-NLS-1$
-				Price ope = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.selectanoperation.txt"),
-								MessageBundle.getMessage("angal.newbill.operation.title"), JOptionPane.PLAIN_MESSAGE, icon, opeArray.toArray(), ""); //$NON-NLS-2$
+				Price ope = OhTablePicker.pick(this, MessageBundle.getMessage("angal.newbill.operation.title"),
+								MessageBundle.getMessage("angal.newbill.selectanoperation.txt"), icon, new OhTableModel<>(opeArray, true));
 				addItem(ope, 1, true);
 			});
 		}
@@ -1656,8 +1658,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 				}
 
 				Icon icon = new ImageIcon("rsc/icons/medical_dialog.png"); //$NON-NLS-1$
-				Price med = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.selectamedical.txt"),
-								MessageBundle.getMessage("angal.newbill.medical.title"), JOptionPane.PLAIN_MESSAGE, icon, medArray.toArray(), ""); //$NON-NLS-2$
+				Price med = OhTablePicker.pick(this, MessageBundle.getMessage("angal.newbill.medical.title"),
+								MessageBundle.getMessage("angal.newbill.selectamedical.txt"), icon, new OhTableModel<>(medArray, true));
 				if (med != null) {
 					int qty = 1;
 					String quantity = (String) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.insertquantity.txt"),
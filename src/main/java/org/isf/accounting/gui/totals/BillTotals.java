@@ -0,0 +1,242 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+
+/**
+ * Computes together the totals shown by the bill browser: the same values of {@link BalanceTotal},
+ * {@link PaymentsTotal} and {@link UserTotal}, reading each collection once.
+ * <p>
+ * The bills not deleted are kept in a set of primitive ids and the amounts are summed as cents in {@code long};
+ * only an amount with more than two decimals is summed as {@link BigDecimal}, so the result stays exact.
+ */
+public class BillTotals {
+
+	private static final String DELETED = "D";
+
+	private final BigDecimal balancePeriod;
+	private final BigDecimal balanceToday;
+	private final BigDecimal totalPeriod;
+	private final BigDecimal totalToday;
+	private final BigDecimal userPeriod;
+	private final BigDecimal userToday;
+
+	/**
+	 * @param billPeriod - the bills in the period; only the payments of those not deleted are counted
+	 * @param paymentsPeriod - the payments in the period
+	 * @param billToday - the bills of today, may be the same collection of {@code billPeriod}
+	 * @param paymentsToday - the payments of today, may be the same collection of {@code paymentsPeriod}
+	 * @param user - the user for the user totals
+	 */
+	public BillTotals(Collection<Bill> billPeriod, Collection<BillPayments> paymentsPeriod, Collection<Bill> billToday,
+			Collection<BillPayments> paymentsToday, String user) {
+		IntSet notDeletedBills = new IntSet(billPeriod.size());
+		Sum balance = new Sum();
+		for (Bill bill : billPeriod) {
+			if (!DELETED.equals(bill.getStatus())) {
+				notDeletedBills.add(bill.getId());
+				balance.add(bill.getBalance());
+			}
+		}
+		balancePeriod = balance.getValue();
+		balanceToday = billToday == billPeriod ? balancePeriod : balance(billToday);
+
+		Sum[] payments = payments(notDeletedBills, paymentsPeriod, user);
+		totalPeriod = payments[0].getValue();
+		userPeriod = payments[1].getValue();
+		if (paymentsToday == paymentsPeriod) {
+			totalToday = totalPeriod;
+			userToday = userPeriod;
+		} else {
+			payments = payments(notDeletedBills, paymentsToday, user);
+			totalToday = payments[0].getValue();
+			userToday = payments[1].getValue();
+		}
+	}
+
+	public BigDecimal getBalancePeriod() {
+		return balancePeriod;
+	}
+
+	public BigDecimal getBalanceToday() {
+		return balanceToday;
+	}
+
+	public BigDecimal getTotalPeriod() {
+		return totalPeriod;
+	}
+
+	public BigDecimal getTotalToday() {
+		return totalToday;
+	}
+
+	public BigDecimal getUserPeriod() {
+		return userPeriod;
+	}
+
+	public BigDecimal getUserToday() {
+		return userToday;
+	}
+
+	private static BigDecimal balance(Collection<Bill> bills) {
+		Sum balance = new Sum();
+		for (Bill bill : bills) {
+			if (!DELETED.equals(bill.getStatus())) {
+				balance.add(bill.getBalance());
+			}
+		}
+		return balance.getValue();
+	}
+
+	/*
+	 * Returns the total and the user total
+	 */
+	private static Sum[] payments(IntSet notDeletedBills, Collection<BillPayments> payments, String user) {
+		Sum total = new Sum();
+		Sum userTotal = new Sum();
+		for (BillPayments payment : payments) {
+			if (notDeletedBills.contains(payment.getBill().getId())) {
+				total.add(payment.getAmount());
+				if (payment.getUser().equals(user)) {
+					userTotal.add(payment.getAmount());
+				}
+			}
+		}
+		return new Sum[] { total, userTotal };
+	}
+
+	/**
+	 * Sum of amounts as cents, exact for any {@code double} with up to two decimals.
+	 */
+	static class Sum {
+
+		/*
+		 * Bigger amounts are summed as BigDecimal, so that millions of them cannot overflow the cents
+		 */
+		private static final double MAX_CENTS_AMOUNT = 1e12;
+
+		private long cents;
+		private BigDecimal rest = BigDecimal.ZERO;
+
+		void add(double amount) {
+			if (Math.abs(amount) < MAX_CENTS_AMOUNT) {
+				long value = Math.round(amount * 100);
+				// the division is correctly rounded, so it gives back the amount only if it has up to two decimals
+				if (value / 100.0 == amount) {
+					cents += value;
+					return;
+				}
+			}
+			rest = rest.add(new BigDecimal(Double.toString(amount)));
+		}
+
+		/**
+		 * @return the sum, with at least one decimal as the totals computed by summing {@code BigDecimal}
+		 */
+		BigDecimal getValue() {
+			BigDecimal value = BigDecimal.valueOf(cents, 2).add(rest).stripTrailingZeros();
+			return value.scale() < 1 ? value.setScale(1) : value;
+		}
+	}
+
+	/**
+	 * Open addressing hash set of {@code int}, without boxing.
+	 */
+	static class IntSet {
+
+		private static final int FREE = Integer.MIN_VALUE;
+
+		private int[] keys;
+		private int size;
+		private boolean containsFree;
+
+		IntSet(int expectedSize) {
+			int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+			keys = new int[capacity];
+			Arrays.fill(keys, FREE);
+		}
+
+		void add(int key) {
+			if (key == FREE) {
+				containsFree = true;
+				return;
+			}
+			if ((size + 1) * 2 > keys.length) {
+				rehash();
+			}
+			if (insert(keys, key)) {
+				size++;
+			}
+		}
+
+		boolean contains(int key) {
+			if (key == FREE) {
+				return containsFree;
+			}
+			int mask = keys.length - 1;
+			for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					return true;
+				}
+				if (keys[i] == FREE) {
+					return false;
+				}
+			}
+		}
+
+		private static boolean insert(int[] table, int key) {
+			int mask = table.length - 1;
+			for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+				if (table[i] == key) {
+					return false;
+				}
+				if (table[i] == FREE) {
+					table[i] = key;
+					return true;
+				}
+			}
+		}
+
+		private void rehash() {
+			int[] table = new int[keys.length * 2];
+			Arrays.fill(table, FREE);
+			for (int key : keys) {
+				if (key != FREE) {
+					insert(table, key);
+				}
+			}
+			keys = table;
+		}
+
+		private static int mix(int key) {
+			int h = key * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+	}
+
+}
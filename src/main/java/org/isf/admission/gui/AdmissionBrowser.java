@@ -78,7 +78,6 @@ import org.isf.anamnesis.manager.PatientHistoryManager;
 import org.isf.anamnesis.model.PatientHistory;
 import org.isf.anamnesis.model.PatientPatientHistory;
 import org.isf.disctype.model.DischargeType;
-import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.dlvrrestype.manager.DeliveryResultTypeBrowserManager;
 import org.isf.dlvrrestype.model.DeliveryResultType;
@@ -98,6 +97,8 @@ import org.isf.patient.gui.PatientSummary;
 import org.isf.patient.model.Patient;
 import org.isf.pregtreattype.manager.PregnantTreatmentTypeBrowserManager;
 import org.isf.pregtreattype.model.PregnantTreatmentType;
+import org.isf.utils.cache.DiseaseDictionary;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.exception.model.OHExceptionMessage;
@@ -147,6 +148,7 @@ public class AdmissionBrowser extends ModalJFrame {
 	}
 
 	private void fireAdmissionInserted(Admission anAdmission) {
+		PatientFolderData.invalidate(anAdmission.getPatient().getCode());
 		AWTEvent event = new AWTEvent(anAdmission, AWTEvent.RESERVED_ID_MAX + 1) {
 
 			private static final long serialVersionUID = 1L;
@@ -159,6 +161,7 @@ public class AdmissionBrowser extends ModalJFrame {
 	}
 
 	private void fireAdmissionUpdated(Admission anAdmission) {
+		PatientFolderData.invalidate(anAdmission.getPatient().getCode());
 		AWTEvent event = new AWTEvent(anAdmission, AWTEvent.RESERVED_ID_MAX + 1) {
 
 			private static final long serialVersionUID = 1L;
@@ -174,7 +177,6 @@ public class AdmissionBrowser extends ModalJFrame {
 					.getBean(PregnantTreatmentTypeBrowserManager.class);
 	private DeliveryResultTypeBrowserManager deliveryResultTypeBrowserManager = Context.getApplicationContext().getBean(DeliveryResultTypeBrowserManager.class);
 	private DeliveryTypeBrowserManager deliveryTypeBrowserManager = Context.getApplicationContext().getBean(DeliveryTypeBrowserManager.class);
-	private DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
 	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
 	private ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
@@ -268,7 +270,7 @@ public class AdmissionBrowser extends ModalJFrame {
 
 	private List<Disease> diseaseOutList;
 
-	private List<Disease> diseaseAllList;
+	private DiseaseDictionary diseaseDictionary;
 
 	private JCheckBox malnuCheck;
 
@@ -371,7 +373,7 @@ public class AdmissionBrowser extends ModalJFrame {
 		ps = new PatientSummary(patient);
 
 		try {
-			diseaseOutList = diseaseBrowserManager.getDiseaseIpdOut();
+			diseaseOutList = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_IPD_OUT);
 			Admission admiss = admissionBrowserManager.getCurrentAdmission(patient);
 			// TODO: remove this anti-pattern OperationRowAdm
 			operationad = new OperationRowAdm(admiss);
@@ -380,7 +382,7 @@ public class AdmissionBrowser extends ModalJFrame {
 			OHServiceExceptionUtil.showMessages(e);
 		}
 		try {
-			diseaseInList = diseaseBrowserManager.getDiseaseIpdIn();
+			diseaseInList = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_IPD_IN);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -406,9 +408,6 @@ public class AdmissionBrowser extends ModalJFrame {
 				if (diseaseOutList != null) {
 					diseaseOutList.clear();
 				}
-				if (diseaseAllList != null) {
-					diseaseAllList.clear();
-				}
 				dispose();
 			}
 		});
@@ -433,12 +432,12 @@ public class AdmissionBrowser extends ModalJFrame {
 		addAdmissionListener(operationad);
 
 		try {
-			diseaseOutList = diseaseBrowserManager.getDiseaseIpdOut();
+			diseaseOutList = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_IPD_OUT);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
 		try {
-			diseaseInList = diseaseBrowserManager.getDiseaseIpdIn();
+			diseaseInList = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_IPD_IN);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -464,9 +463,6 @@ public class AdmissionBrowser extends ModalJFrame {
 				if (diseaseOutList != null) {
 					diseaseOutList.clear();
 				}
-				if (diseaseAllList != null) {
-					diseaseAllList.clear();
-				}
 				dispose();
 			}
 		});
@@ -989,13 +985,13 @@ public class AdmissionBrowser extends ModalJFrame {
 
 				// Not found: search among all diseases
 				try {
-					if (diseaseAllList == null) {
-						diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+					if (diseaseDictionary == null) {
+						diseaseDictionary = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASE_DICTIONARY);
 					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
 				}
-				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseIn, diseaseAllList, diseaseInBox);
+				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseIn, diseaseDictionary, diseaseInBox);
 
 				if (!found.isPresent()) {
 					// Still not found
@@ -1175,13 +1171,13 @@ public class AdmissionBrowser extends ModalJFrame {
 			if (editing && !found.isPresent() && diseaseOut1 != null) {
 				// Not found: search among all diseases
 				try {
-					if (diseaseAllList == null) {
-						diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+					if (diseaseDictionary == null) {
+						diseaseDictionary = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASE_DICTIONARY);
 					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
 				}
-				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseOut1, diseaseAllList, diseaseInBox);
+				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseOut1, diseaseDictionary, diseaseInBox);
 
 				if (!found.isPresent()) {
 					// Still not found
@@ -1263,13 +1259,13 @@ public class AdmissionBrowser extends ModalJFrame {
 			if (editing && !found.isPresent() && diseaseOut2 != null) {
 				// Not found: search among all diseases
 				try {
-					if (diseaseAllList == null) {
-						diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+					if (diseaseDictionary == null) {
+						diseaseDictionary = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASE_DICTIONARY);
 					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
 				}
-				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseOut2, diseaseAllList, diseaseInBox);
+				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseOut2, diseaseDictionary, diseaseInBox);
 
 				if (!found.isPresent()) {
 					// Still not found
@@ -1350,13 +1346,14 @@ public class AdmissionBrowser extends ModalJFrame {
 
 			if (editing && !found.isPresent() && diseaseOut3 != null) {
 				// Not found: search among all diseases
-				List<Disease> diseaseAllList = null;
 				try {
-					diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+					if (diseaseDictionary == null) {
+						diseaseDictionary = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASE_DICTIONARY);
+					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
 				}
-				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseOut3, diseaseAllList, diseaseInBox);
+				found = diseaseFinder.findAndSelectFromAllDiseases(diseaseOut3, diseaseDictionary, diseaseInBox);
 
 				if (!found.isPresent()) {
 					// Still not found
@@ -32,13 +32,14 @@ import java.awt.Insets;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 
 import javax.swing.BorderFactory;
@@ -57,11 +58,10 @@ import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.LayoutStyle.ComponentPlacement;
 import javax.swing.SwingUtilities;
-import javax.swing.Timer;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 import javax.swing.border.Border;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 
 import org.isf.accounting.gui.PatientBillEdit;
 import org.isf.admission.gui.AdmissionBrowser.AdmissionListener;
@@ -94,19 +94,23 @@ import org.isf.opd.model.Opd;
 import org.isf.patient.gui.PatientInsert;
 import org.isf.patient.gui.PatientInsertExtended;
 import org.isf.patient.gui.PatientInsertExtended.PatientListener;
+import org.isf.patient.gui.PatientSearchCache;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.therapy.gui.TherapyEdit;
-import org.isf.utils.db.NormalizeString;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.isf.utils.jobjects.DebouncedSearch;
 import org.isf.utils.jobjects.GoodDateChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.jobjects.OhListTableModel;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.github.lgooddatepicker.zinternaltools.WrapLayout;
 
@@ -124,8 +128,10 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 
 	private static final long serialVersionUID = 1L;
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(AdmittedPatientBrowser.class);
 	private static final int PANEL_WIDTH = 240;
 	private static final Pattern DIGIT_PATTERN = Pattern.compile("\\d+");
+	private static final int LOAD_CHUNK_SIZE = 1000;
 
 	private PatientHistoryManager patientHistoryManager = Context.getApplicationContext().getBean(PatientHistoryManager.class);
 
@@ -142,7 +148,6 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	private JTextField searchString;
 	private JButton jSearchButton;
 	private JButton jButtonExamination;
-	private String lastKey = "";
 	private List<Ward> wardList;
 	private JLabel rowCounter;
 	private List<AdmittedPatient> pPatient = new ArrayList<>();
@@ -155,15 +160,16 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	private boolean[] pColumnResizable = { false, false, false, false, true, false };
 	private AdmittedPatient patient;
 	private JTable table;
+	private AdmittedPatientBrowserModel model;
 	private AdmittedPatientBrowser myFrame;
+	private AdmittedPatientLoader patientLoader;
+	private AdmittedPatientFilterIndex filterIndex;
 
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
 	private ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
 
-	protected boolean altKeyReleased = true;
-	protected Timer ageTimer = new Timer(1000, e -> filterPatient(null));
+	private DebouncedSearch<String> patientSearch;
 
 	public void fireMyDeletedPatient(Patient p) {
 
@@ -178,8 +184,12 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		}
 		if (found) {
 			pPatient.remove(cc);
-			lastKey = "";
-			filterPatient(searchString.getText());
+			filterIndex.invalidate();
+			int row = model.indexOf(ap -> ap.getPatient().getCode().equals(p.getCode()));
+			if (row >= 0) {
+				model.removeRow(row);
+			}
+			rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", table.getRowCount()));
 		}
 	}
 
@@ -187,9 +197,6 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	public void deleteAdmissionUpdated(AWTEvent e) {
 		Admission adm = (Admission) e.getSource();
 
-		// remember selected row
-		int row = table.getSelectedRow();
-
 		for (AdmittedPatient elem : pPatient) {
 			if (elem.getPatient().getCode().equals(adm.getPatient().getCode())) {
 				// found same patient in the list
@@ -199,19 +206,12 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 					if (elemAdm.getId() == adm.getId()) {
 						// same admission --> delete
 						elem.setAdmission(null);
+						updatePatientRow(elem);
 					}
 				}
 				break;
 			}
 		}
-		lastKey = "";
-		filterPatient(searchString.getText());
-		try {
-			if (table.getRowCount() > 0) {
-				table.setRowSelectionInterval(row, row);
-			}
-		} catch (Exception e1) {
-		}
 	}
 
 	/*
@@ -221,25 +221,16 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	public void admissionInserted(AWTEvent e) {
 		Admission adm = (Admission) e.getSource();
 
-		// remember selected row
-		int row = table.getSelectedRow();
 		int patId = adm.getPatient().getCode();
 
 		for (AdmittedPatient elem : pPatient) {
 			if (elem.getPatient().getCode() == patId) {
 				// found same patient in the list
 				elem.setAdmission(adm);
+				updatePatientRow(elem);
 				break;
 			}
 		}
-		lastKey = "";
-		filterPatient(searchString.getText());
-		try {
-			if (table.getRowCount() > 0) {
-				table.setRowSelectionInterval(row, row);
-			}
-		} catch (Exception e1) {
-		}
 	}
 
 	/*
@@ -249,8 +240,6 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	public void admissionUpdated(AWTEvent e) {
 		Admission adm = (Admission) e.getSource();
 
-		// remember selected row
-		int row = table.getSelectedRow();
 		int admId = adm.getId();
 		int patId = adm.getPatient().getCode();
 
@@ -271,17 +260,10 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 					// is not a discharge --> patient admitted
 					elem.setAdmission(adm);
 				}
+				updatePatientRow(elem);
 				break;
 			}
 		}
-		lastKey = "";
-		filterPatient(searchString.getText());
-		try {
-			if (table.getRowCount() > 0) {
-				table.setRowSelectionInterval(row, row);
-			}
-		} catch (Exception e1) {
-		}
 	}
 
 	/*
@@ -292,14 +274,12 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	@Override
 	public void patientInserted(AWTEvent e) {
 		Patient u = (Patient) e.getSource();
-		pPatient.add(0, new AdmittedPatient(u, null));
-		lastKey = "";
-		filterPatient(searchString.getText());
-		try {
-			if (table.getRowCount() > 0) {
-				table.setRowSelectionInterval(0, 0);
-			}
-		} catch (Exception e1) {
+		AdmittedPatient admittedPatient = new AdmittedPatient(u, null);
+		pPatient.add(0, admittedPatient);
+		filterIndex.invalidate();
+		if (filterIndex.isShown(admittedPatient)) {
+			model.addRow(0, admittedPatient);
+			table.setRowSelectionInterval(0, 0);
 		}
 		searchString.requestFocus();
 		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", pPatient.size()));
@@ -310,41 +290,43 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 
 		Patient u = (Patient) e.getSource();
 
-		// remember selected row
-		int row = table.getSelectedRow();
-
 		for (int i = 0; i < pPatient.size(); i++) {
 			if (pPatient.get(i).getPatient().getCode().equals(u.getCode())) {
 				Admission admission = pPatient.get(i).getAdmission();
 				pPatient.remove(i);
 				pPatient.add(i, new AdmittedPatient(u, admission));
+				updatePatientRow(pPatient.get(i));
 				break;
 			}
 		}
-		lastKey = "";
-		filterPatient(searchString.getText());
-		try {
-			table.setRowSelectionInterval(row, row);
-		} catch (Exception e1) {
-		}
 		searchString.requestFocus();
 		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", pPatient.size()));
 	}
 
+	/*
+	 * Applies the change of a single patient to its row: only a patient entering the filtered
+	 * list needs the list to be filtered again, because its position depends on the list order
+	 */
+	private void updatePatientRow(AdmittedPatient admittedPatient) {
+		filterIndex.refresh(admittedPatient);
+		Integer code = admittedPatient.getPatient().getCode();
+		int row = model.indexOf(ap -> ap.getPatient().getCode().equals(code));
+		boolean shown = filterIndex.isShown(admittedPatient);
+		if (row >= 0 && shown) {
+			model.updateRow(row, admittedPatient);
+		} else if (row >= 0) {
+			model.removeRow(row);
+		} else if (shown) {
+			filterPatient(searchString.getText());
+		}
+		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", table.getRowCount()));
+	}
+
 	public AdmittedPatientBrowser() {
 
 		setTitle(MessageBundle.getMessage("angal.admission.patientbrowser.title"));
 		myFrame = this;
 
-		if (!GeneralData.ENHANCEDSEARCH) {
-			// Load the whole list of patients
-			try {
-				pPatient = admissionBrowserManager.getAdmittedPatients(null);
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
-			}
-		}
-
 		initComponents();
 		setMinimumSize(new Dimension(1270, 570));
 		pack();
@@ -354,10 +336,19 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", pPatient.size()));
 		searchString.requestFocus();
 
+		if (!GeneralData.ENHANCEDSEARCH) {
+			// Load the whole list of patients
+			loadPatients(() -> admissionBrowserManager.getAdmittedPatients(null));
+		}
+
 		myFrame.addWindowListener(new WindowAdapter() {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				cancelLoading();
+				if (patientSearch != null) {
+					patientSearch.uninstall();
+				}
 				// to free memory
 				if (pPatient != null) {
 					pPatient.clear();
@@ -387,7 +378,6 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	 */
 	private JPanel getControlPanel() {
 		ActionListener listener = actionEvent -> SwingUtilities.invokeLater(() -> {
-			lastKey = "";
 			filterPatient(null);
 		});
 
@@ -406,7 +396,13 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		wardPanel.setLayout(new BoxLayout(wardPanel, BoxLayout.Y_AXIS));
 		wardPanel.setPreferredSize(new Dimension(PANEL_WIDTH, 20));
 		if (wardList == null) {
-			List<Ward> wardWithBeds = wardBrowserManager.getIpdWards();
+			List<Ward> wardWithBeds;
+			try {
+				wardWithBeds = ReferenceDataCache.getInstance().get(ReferenceDataCache.IPD_WARDS);
+			} catch (OHServiceException e) {
+				OHServiceExceptionUtil.showMessages(e);
+				wardWithBeds = new ArrayList<>();
+			}
 
 			wardList = new ArrayList<>();
 			for (Ward elem : wardWithBeds) {
@@ -416,6 +412,8 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 				}
 			}
 		}
+		filterIndex = new AdmittedPatientFilterIndex(wardList);
+		filterIndex.setSource(pPatient);
 
 		JPanel[] checkPanel = new JPanel[wardList.size()];
 		wardCheck = new JCheckBox[wardList.size()];
@@ -440,26 +438,16 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 
 		JPanel calendarPanel = getAdmissionFilterPanel();
 
-		KeyListener ageKeyListener = new KeyAdapter() {
-
-			@Override
-			public void keyPressed(KeyEvent e) {
-				super.keyPressed(e);
-				ageTimer.setRepeats(false);
-				ageTimer.start();
-			}
-		};
-
 		JLabel ageFrom = new JLabel(MessageBundle.getMessage("angal.common.from.txt") + ':');
 		patientAgeFromTextField = new VoLimitedTextField(3, 3);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			patientAgeFromTextField.addKeyListener(ageKeyListener);
+			DebouncedSearch.install(patientAgeFromTextField, text -> filterPatient(null));
 		}
 
 		JLabel ageTo = new JLabel(MessageBundle.getMessage("angal.common.to.txt") + ':');
 		patientAgeToTextField = new VoLimitedTextField(3, 3);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			patientAgeToTextField.addKeyListener(ageKeyListener);
+			DebouncedSearch.install(patientAgeToTextField, text -> filterPatient(null));
 		}
 
 		JPanel agePanel = new JPanel();
@@ -498,33 +486,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 				}
 			});
 		} else {
-			searchString.addKeyListener(new KeyListener() {
-
-				@Override
-				public void keyTyped(KeyEvent e) {
-					if (altKeyReleased) {
-						lastKey = "";
-						String s = String.valueOf(e.getKeyChar());
-						if (Character.isLetterOrDigit(e.getKeyChar())) {
-							lastKey = s;
-						}
-						filterPatient(searchString.getText());
-					}
-				}
-
-				@Override
-				public void keyPressed(KeyEvent e) {
-					int key = e.getKeyCode();
-					if (key == KeyEvent.VK_ALT) {
-						altKeyReleased = false;
-					}
-				}
-
-				@Override
-				public void keyReleased(KeyEvent e) {
-					altKeyReleased = true;
-				}
-			});
+			patientSearch = DebouncedSearch.install(searchString, this::filterPatient);
 		}
 		searchPanel.add(searchString, BorderLayout.CENTER);
 		if (GeneralData.ENHANCEDSEARCH) {
@@ -644,7 +606,9 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	}
 
 	private JScrollPane getScrollPane() {
-		table = new JTable(new AdmittedPatientBrowserModel(null));
+		model = new AdmittedPatientBrowserModel();
+		model.setRows(filterIndex.filter(getFilter(null)));
+		table = new JTable(model);
 		table.setAutoCreateColumnsFromModel(false);
 
 		for (int i = 0; i < pColumns.length; i++) {
@@ -835,6 +799,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 			if (n == JOptionPane.YES_OPTION) {
 				try {
 					patientBrowserManager.deletePatient(pat);
+					PatientSearchCache.getInstance().patientDeleted(pat);
 					List<Admission> patientAdmissions;
 					try {
 						patientAdmissions = admissionBrowserManager.getAdmissions(pat);
@@ -1063,6 +1028,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 
 			try {
 				patientBrowserManager.mergePatient(mergedPatient, patient2);
+				PatientSearchCache.getInstance().invalidate();
 				fireMyDeletedPatient(patient2);
 			} catch (OHServiceException e) {
 				OHServiceExceptionUtil.showMessages(e);
@@ -1075,6 +1041,10 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		JButton buttonClose = new JButton(MessageBundle.getMessage("angal.common.close.btn"));
 		buttonClose.setMnemonic(MessageBundle.getMnemonic("angal.common.close.btn.key"));
 		buttonClose.addActionListener(actionEvent -> {
+			cancelLoading();
+			if (patientSearch != null) {
+				patientSearch.uninstall();
+			}
 			// to free Memory
 			if (pPatient != null) {
 				pPatient.clear();
@@ -1088,7 +1058,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	}
 
 	private void filterPatient(String key) {
-		table.setModel(new AdmittedPatientBrowserModel(key));
+		model.setRows(filterIndex.filter(getFilter(key)));
 		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", table.getRowCount()));
 		searchString.requestFocus();
 	}
@@ -1127,12 +1097,29 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 			}
 		}
 
-		try {
-			pPatient = admissionBrowserManager.getAdmittedPatients(admissionRange, dischargeRange, searchString.getText());
-		} catch (OHServiceException e) {
-			OHServiceExceptionUtil.showMessages(e);
-		}
+		String searchTerms = searchString.getText();
+		loadPatients(() -> admissionBrowserManager.getAdmittedPatients(admissionRange, dischargeRange, searchTerms));
+	}
+
+	/*
+	 * Replaces the current list with the result of the query, which is run off the Event Dispatch Thread
+	 * and streamed into the table in chunks; a running load is cancelled and its results discarded
+	 */
+	private void loadPatients(AdmittedPatientQuery query) {
+		cancelLoading();
+		pPatient = new ArrayList<>();
+		filterIndex.setSource(pPatient);
 		filterPatient(null);
+		rowCounter.setText(MessageBundle.getMessage("angal.admission.loading.txt"));
+		patientLoader = new AdmittedPatientLoader(query);
+		patientLoader.execute();
+	}
+
+	private void cancelLoading() {
+		if (patientLoader != null) {
+			patientLoader.cancel(true);
+			patientLoader = null;
+		}
 	}
 
 	private JButton getButtonSearch() {
@@ -1145,114 +1132,110 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		return jSearchButton;
 	}
 
+	/*
+	 * Reads the filtering controls once for the whole list
+	 */
+	private AdmittedPatientFilterIndex.Filter getFilter(String key) {
+		boolean[] selectedWards = new boolean[wardCheck.length];
+		for (int i = 0; i < wardCheck.length; i++) {
+			selectedWards[i] = wardCheck[i].isSelected();
+		}
+		char sex = 0;
+		switch (patientSexBox.getSelectedIndex()) {
+		case 1:
+			sex = 'M';
+			break;
+		case 2:
+			sex = 'F';
+			break;
+		}
+		return new AdmittedPatientFilterIndex.Filter(patientClassBox.getSelectedIndex(), selectedWards,
+				parseAgeLimit(patientAgeFromTextField.getText()), parseAgeLimit(patientAgeToTextField.getText()), sex, key);
+	}
+
+	private int parseAgeLimit(String ageLimit) {
+		if (DIGIT_PATTERN.matcher(ageLimit).matches()) {
+			return Integer.parseInt(ageLimit);
+		}
+		return -1;
+	}
+
 	private JPanel setMyBorder(JPanel c, String title) {
 		Border b2 = BorderFactory.createCompoundBorder(BorderFactory.createTitledBorder(title), BorderFactory.createEmptyBorder(0, 0, 0, 0));
 		c.setBorder(b2);
 		return c;
 	}
 
-	class AdmittedPatientBrowserModel extends DefaultTableModel {
-
-		private static final long serialVersionUID = 1L;
-
-		List<AdmittedPatient> patientList = new ArrayList<>();
+	@FunctionalInterface
+	interface AdmittedPatientQuery {
 
-		public AdmittedPatientBrowserModel(String key) {
-			for (AdmittedPatient ap : pPatient) {
-				Admission adm = ap.getAdmission();
-				// if not admitted stripes admitted
-				if (patientClassBox.getSelectedItem().equals(patientClassItems[2])) {
-					if (adm != null) {
-						continue;
-					}
-				}
-				// if admitted stripes not admitted
-				else if (patientClassBox.getSelectedItem().equals(patientClassItems[1])) {
-					if (adm == null) {
-						continue;
-					}
-				}
+		List<AdmittedPatient> load() throws OHServiceException;
+	}
 
-				// if all or admitted filters not matching ward
-				if (!patientClassBox.getSelectedItem().equals(patientClassItems[2])) {
-					if (adm != null) {
-						int cc = -1;
-						for (int j = 0; j < wardList.size(); j++) {
-							if (adm.getWard().getCode().equalsIgnoreCase(wardList.get(j).getCode())) {
-								cc = j;
-								break;
-							}
-						}
-						if (!wardCheck[cc].isSelected()) {
-							continue;
-						}
-					}
-				}
+	/*
+	 * Runs an AdmittedPatientQuery in background and publishes its result in chunks of LOAD_CHUNK_SIZE;
+	 * chunks and completion of a loader that is no longer the current one are ignored
+	 */
+	class AdmittedPatientLoader extends SwingWorker<Integer, List<AdmittedPatient>> {
 
-				// lower age limit
-				String ageLimit = patientAgeFromTextField.getText();
-				if (DIGIT_PATTERN.matcher(ageLimit).matches()) {
-					if (!(ap.getPatient().getAge() >= Integer.parseInt(ageLimit))) {
-						continue;
-					}
-				}
+		private final AdmittedPatientQuery query;
+		private volatile int total;
 
-				// upper age limit
-				ageLimit = patientAgeToTextField.getText();
-				if (DIGIT_PATTERN.matcher(ageLimit).matches()) {
-					if (!(ap.getPatient().getAge() <= Integer.parseInt(ageLimit))) {
-						continue;
-					}
-				}
+		AdmittedPatientLoader(AdmittedPatientQuery query) {
+			this.query = query;
+		}
 
-				// sex patient type
-				Character sex = null;
-				switch (patientSexBox.getSelectedIndex()) {
-				case 1:
-					sex = 'M';
-					break;
-				case 2:
-					sex = 'F';
-					break;
-				}
+		@Override
+		protected Integer doInBackground() throws OHServiceException {
+			List<AdmittedPatient> patients = query.load();
+			total = patients.size();
+			for (int from = 0; from < total && !isCancelled(); from += LOAD_CHUNK_SIZE) {
+				publish(new ArrayList<>(patients.subList(from, Math.min(from + LOAD_CHUNK_SIZE, total))));
+			}
+			return total;
+		}
 
-				if (sex != null && !sex.equals(ap.getPatient().getSex())) {
-					continue;
-				}
+		@Override
+		protected void process(List<List<AdmittedPatient>> chunks) {
+			if (isStale()) {
+				return;
+			}
+			for (List<AdmittedPatient> chunk : chunks) {
+				pPatient.addAll(chunk);
+				model.addRows(filterIndex.append(chunk));
+			}
+			rowCounter.setText(MessageBundle.formatMessage("angal.admission.loadingcount.fmt.txt", pPatient.size(), total));
+		}
 
-				if (key != null) {
-					String s = key + lastKey;
-					s = s.trim();
-					String[] tokens = s.split(" ");
-
-					if (!s.isEmpty()) {
-						String name = ap.getPatient().getSearchString();
-						int a = 0;
-						for (String value : tokens) {
-							String token = value.toLowerCase();
-							if (NormalizeString.normalizeContains(name, token)) {
-								a++;
-							}
-						}
-						if (a == tokens.length) {
-							patientList.add(ap);
-						}
-					} else {
-						patientList.add(ap);
-					}
+		@Override
+		protected void done() {
+			if (isStale()) {
+				return;
+			}
+			patientLoader = null;
+			try {
+				get();
+			} catch (CancellationException | InterruptedException e) {
+				return;
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof OHServiceException) {
+					OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
 				} else {
-					patientList.add(ap);
+					LOGGER.error("Unable to load the patient list.", e.getCause());
 				}
 			}
+			rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", table.getRowCount()));
+			searchString.requestFocus();
 		}
 
-		@Override
-		public int getRowCount() {
-			if (patientList == null) {
-				return 0;
-			}
-			return patientList.size();
+		private boolean isStale() {
+			return isCancelled() || patientLoader != this;
 		}
+	}
+
+	class AdmittedPatientBrowserModel extends OhListTableModel<AdmittedPatient> {
+
+		private static final long serialVersionUID = 1L;
 
 		@Override
 		public String getColumnName(int c) {
@@ -1265,13 +1248,10 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		}
 
 		@Override
-		public Object getValueAt(int r, int c) {
-			AdmittedPatient admPat = patientList.get(r);
+		protected Object getColumnValue(AdmittedPatient admPat, int c) {
 			Patient patient = admPat.getPatient();
 			Admission admission = admPat.getAdmission();
-			if (c == -1) {
-				return admPat;
-			} else if (c == 0) {
+			if (c == 0) {
 				return patient.getCode();
 			} else if (c == 1) {
 				return patient.getName();
@@ -1285,22 +1265,13 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 				if (admission == null) {
 					return "";
 				} else {
-					for (Ward ward : wardList) {
-						if (ward.getCode().equalsIgnoreCase(admission.getWard().getCode())) {
-							return ward.getDescription();
-						}
-					}
-					return "?";
+					int wardPosition = filterIndex.getWardPosition(admission);
+					return wardPosition < 0 ? "?" : wardList.get(wardPosition).getDescription();
 				}
 			}
 
 			return null;
 		}
-
-		@Override
-		public boolean isCellEditable(int arg0, int arg1) {
-			return false;
-		}
 	}
 
 	class CenterTableCellRenderer extends DefaultTableCellRenderer {
@@ -0,0 +1,399 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.isf.admission.model.Admission;
+import org.isf.admission.model.AdmittedPatient;
+import org.isf.patient.model.Patient;
+import org.isf.ward.model.Ward;
+
+/**
+ * Precomputed filter columns over the list shown by {@link AdmittedPatientBrowser}.
+ * <p>
+ * For each patient the normalized search string, a character signature of it, the age, the sex and the
+ * position of the admission ward are kept in primitive arrays, and for each ward the admitted rows are
+ * kept in a {@link BitSet}. When a filter only narrows the previous one (same criteria and longer search
+ * tokens) just the previous result is rescanned.
+ */
+class AdmittedPatientFilterIndex {
+
+	static final int ALL = 0;
+	static final int ADMITTED = 1;
+	static final int NOT_ADMITTED = 2;
+
+	private static final int NOT_ADMITTED_WARD = -2;
+	private static final int UNKNOWN_WARD = -1;
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+	private final Map<String, Integer> wardPositions = new HashMap<>();
+	private final BitSet[] wardRows;
+	private List<AdmittedPatient> source = new ArrayList<>();
+	private boolean dirty = true;
+
+	private int size;
+	private AdmittedPatient[] patients = new AdmittedPatient[0];
+	private String[] searchKeys = new String[0];
+	private long[] signatures = new long[0];
+	private int[] ages = new int[0];
+	private char[] sexes = new char[0];
+	private int[] wards = new int[0];
+	private final Map<Integer, Integer> rowByPatientCode = new HashMap<>();
+
+	private Filter appliedFilter;
+	private Filter lastFilter;
+	private int[] lastResult = new int[0];
+	private int lastResultSize;
+
+	AdmittedPatientFilterIndex(List<Ward> wardList) {
+		wardRows = new BitSet[wardList.size()];
+		for (int i = 0; i < wardList.size(); i++) {
+			wardPositions.put(wardList.get(i).getCode().toUpperCase(), i);
+			wardRows[i] = new BitSet();
+		}
+	}
+
+	/**
+	 * Sets the list the index is built on; the index is rebuilt on the next {@link #filter(Filter)}.
+	 */
+	void setSource(List<AdmittedPatient> source) {
+		this.source = source;
+		invalidate();
+	}
+
+	/**
+	 * To be called when patients have been added to or removed from the source list.
+	 */
+	void invalidate() {
+		dirty = true;
+		lastFilter = null;
+	}
+
+	/**
+	 * Re-reads the columns of a patient whose admission or personal data changed, without rebuilding the index.
+	 */
+	void refresh(AdmittedPatient admittedPatient) {
+		if (dirty) {
+			return;
+		}
+		Integer row = rowByPatientCode.get(admittedPatient.getPatient().getCode());
+		if (row == null) {
+			invalidate();
+			return;
+		}
+		if (wards[row] >= 0) {
+			wardRows[wards[row]].clear(row);
+		}
+		set(row, admittedPatient);
+		lastFilter = null;
+	}
+
+	/**
+	 * Indexes patients just appended to the source list.
+	 *
+	 * @return the appended patients matching the last applied filter (all of them if no filter was applied yet)
+	 */
+	List<AdmittedPatient> append(List<AdmittedPatient> chunk) {
+		int first;
+		if (dirty) {
+			rebuild();
+			first = size - chunk.size();
+		} else {
+			first = size;
+			ensureCapacity(size + chunk.size());
+			for (AdmittedPatient admittedPatient : chunk) {
+				set(size++, admittedPatient);
+			}
+		}
+		if (appliedFilter == null) {
+			return new ArrayList<>(chunk);
+		}
+		return collect(appliedFilter, first, size, lastFilter == appliedFilter);
+	}
+
+	/**
+	 * @return the patients matching the filter, in source list order
+	 */
+	List<AdmittedPatient> filter(Filter filter) {
+		if (dirty) {
+			rebuild();
+		}
+		List<AdmittedPatient> result;
+		if (filter.narrows(lastFilter)) {
+			int[] candidates = lastResult;
+			int candidatesSize = lastResultSize;
+			lastResult = new int[candidatesSize];
+			lastResultSize = 0;
+			result = new ArrayList<>();
+			for (int i = 0; i < candidatesSize; i++) {
+				int row = candidates[i];
+				if (matches(filter, row)) {
+					lastResult[lastResultSize++] = row;
+					result.add(patients[row]);
+				}
+			}
+		} else {
+			lastResult = new int[size];
+			lastResultSize = 0;
+			result = collect(filter, 0, size, true);
+		}
+		appliedFilter = filter;
+		lastFilter = filter;
+		return result;
+	}
+
+	/**
+	 * @return {@code true} if the patient is in the source list and matches the last applied filter
+	 */
+	boolean isShown(AdmittedPatient admittedPatient) {
+		if (dirty) {
+			rebuild();
+		}
+		Integer row = rowByPatientCode.get(admittedPatient.getPatient().getCode());
+		return row != null && (appliedFilter == null || matches(appliedFilter, row));
+	}
+
+	/**
+	 * @return the position in the ward list of the admission ward, or {@code -1} if not admitted or unknown ward
+	 */
+	int getWardPosition(Admission admission) {
+		if (admission == null || admission.getWard() == null) {
+			return UNKNOWN_WARD;
+		}
+		Integer position = wardPositions.get(admission.getWard().getCode().toUpperCase());
+		return position == null ? UNKNOWN_WARD : position;
+	}
+
+	private List<AdmittedPatient> collect(Filter filter, int from, int to, boolean remember) {
+		BitSet excluded = filter.status == NOT_ADMITTED ? null : excludedWardRows(filter);
+		List<AdmittedPatient> result = new ArrayList<>();
+		for (int row = from; row < to; row++) {
+			if (excluded != null && excluded.get(row)) {
+				continue;
+			}
+			if (matches(filter, row)) {
+				if (remember) {
+					ensureResultCapacity(lastResultSize + 1);
+					lastResult[lastResultSize++] = row;
+				}
+				result.add(patients[row]);
+			}
+		}
+		return result;
+	}
+
+	private BitSet excludedWardRows(Filter filter) {
+		BitSet excluded = null;
+		for (int i = 0; i < wardRows.length; i++) {
+			if (i < filter.selectedWards.length && !filter.selectedWards[i]) {
+				if (excluded == null) {
+					excluded = new BitSet(size);
+				}
+				excluded.or(wardRows[i]);
+			}
+		}
+		return excluded;
+	}
+
+	private boolean matches(Filter filter, int row) {
+		int ward = wards[row];
+		if (filter.status == NOT_ADMITTED && ward != NOT_ADMITTED_WARD
+				|| filter.status == ADMITTED && ward == NOT_ADMITTED_WARD) {
+			return false;
+		}
+		if (filter.status != NOT_ADMITTED && ward >= 0 && ward < filter.selectedWards.length && !filter.selectedWards[ward]) {
+			return false;
+		}
+		if (filter.ageFrom >= 0 && ages[row] < filter.ageFrom) {
+			return false;
+		}
+		if (filter.ageTo >= 0 && ages[row] > filter.ageTo) {
+			return false;
+		}
+		if (filter.sex != 0 && sexes[row] != filter.sex) {
+			return false;
+		}
+		String searchKey = searchKeys[row];
+		long signature = signatures[row];
+		for (int i = 0; i < filter.tokens.length; i++) {
+			if ((filter.signatures[i] & signature) != filter.signatures[i] || !searchKey.contains(filter.tokens[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void rebuild() {
+		size = 0;
+		rowByPatientCode.clear();
+		for (BitSet bitSet : wardRows) {
+			bitSet.clear();
+		}
+		ensureCapacity(source.size());
+		for (AdmittedPatient admittedPatient : source) {
+			set(size++, admittedPatient);
+		}
+		dirty = false;
+		lastFilter = null;
+	}
+
+	private void set(int row, AdmittedPatient admittedPatient) {
+		Patient patient = admittedPatient.getPatient();
+		String searchKey = normalize(patient.getSearchString());
+		patients[row] = admittedPatient;
+		searchKeys[row] = searchKey;
+		signatures[row] = signature(searchKey);
+		ages[row] = patient.getAge();
+		sexes[row] = Character.toUpperCase(patient.getSex());
+		if (admittedPatient.getAdmission() == null) {
+			wards[row] = NOT_ADMITTED_WARD;
+		} else {
+			wards[row] = getWardPosition(admittedPatient.getAdmission());
+			if (wards[row] >= 0) {
+				wardRows[wards[row]].set(row);
+			}
+		}
+		rowByPatientCode.put(patient.getCode(), row);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (patients.length < capacity) {
+			int length = Math.max(capacity, patients.length + (patients.length >> 1));
+			patients = Arrays.copyOf(patients, length);
+			searchKeys = Arrays.copyOf(searchKeys, length);
+			signatures = Arrays.copyOf(signatures, length);
+			ages = Arrays.copyOf(ages, length);
+			sexes = Arrays.copyOf(sexes, length);
+			wards = Arrays.copyOf(wards, length);
+		}
+	}
+
+	private void ensureResultCapacity(int capacity) {
+		if (lastResult.length < capacity) {
+			lastResult = Arrays.copyOf(lastResult, Math.max(capacity, lastResult.length + (lastResult.length >> 1)));
+		}
+	}
+
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	/*
+	 * One bit per letter and digit, the remaining bits shared by all other characters:
+	 * a token can only be contained in keys whose signature includes the token's one
+	 */
+	static long signature(String text) {
+		long signature = 0L;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			int bit;
+			if (c >= 'a' && c <= 'z') {
+				bit = c - 'a';
+			} else if (c >= '0' && c <= '9') {
+				bit = 26 + c - '0';
+			} else {
+				bit = 36 + c % 28;
+			}
+			signature |= 1L << bit;
+		}
+		return signature;
+	}
+
+	/**
+	 * Snapshot of the filter controls of the browser.
+	 */
+	static class Filter {
+
+		private final int status;
+		private final boolean[] selectedWards;
+		private final int ageFrom;
+		private final int ageTo;
+		private final char sex;
+		private final String[] tokens;
+		private final long[] signatures;
+
+		/**
+		 * @param status {@link #ALL}, {@link #ADMITTED} or {@link #NOT_ADMITTED}
+		 * @param selectedWards the selection state of each ward of the ward list
+		 * @param ageFrom the lower age limit or {@code -1}
+		 * @param ageTo the upper age limit or {@code -1}
+		 * @param sex {@code 'M'}, {@code 'F'} or {@code 0} for any
+		 * @param key the space separated search tokens, may be {@code null}
+		 */
+		Filter(int status, boolean[] selectedWards, int ageFrom, int ageTo, char sex, String key) {
+			this.status = status;
+			this.selectedWards = selectedWards;
+			this.ageFrom = ageFrom;
+			this.ageTo = ageTo;
+			this.sex = sex;
+			List<String> tokenList = new ArrayList<>();
+			if (key != null) {
+				for (String token : key.trim().split(" ")) {
+					if (!token.isEmpty()) {
+						tokenList.add(normalize(token));
+					}
+				}
+			}
+			tokens = tokenList.toArray(new String[0]);
+			signatures = new long[tokens.length];
+			for (int i = 0; i < tokens.length; i++) {
+				signatures[i] = signature(tokens[i]);
+			}
+		}
+
+		/**
+		 * @return {@code true} if every patient matching this filter also matches the previous one
+		 */
+		boolean narrows(Filter previous) {
+			if (previous == null || status != previous.status || ageFrom != previous.ageFrom || ageTo != previous.ageTo
+					|| sex != previous.sex || !Arrays.equals(selectedWards, previous.selectedWards)) {
+				return false;
+			}
+			for (String previousToken : previous.tokens) {
+				boolean contained = false;
+				for (String token : tokens) {
+					if (token.contains(previousToken)) {
+						contained = true;
+						break;
+					}
+				}
+				if (!contained) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 import javax.swing.JComboBox;
 
 import org.isf.disease.model.Disease;
+import org.isf.utils.cache.DiseaseDictionary;
 
 public class DiseaseFinder {
 
@@ -49,12 +50,13 @@ public class DiseaseFinder {
 				.findFirst();
 	}
 
-	public Optional<Disease> findAndSelectFromAllDiseases(Disease diseaseIn, List<Disease> diseaseAllList, JComboBox diseaseInBox) {
-		return diseaseAllList.stream()
-				.filter(disease -> diseaseIn.getCode().equalsIgnoreCase(disease.getCode()))
-				.peek(disease -> diseaseInBox.addItem(disease))
-				.peek(disease -> diseaseInBox.setSelectedItem(disease))
-				.findFirst();
+	public Optional<Disease> findAndSelectFromAllDiseases(Disease diseaseIn, DiseaseDictionary diseases, JComboBox diseaseInBox) {
+		Optional<Disease> found = Optional.ofNullable(diseases != null ? diseases.getDisease(diseaseIn.getCode()) : null);
+		found.ifPresent(disease -> {
+			diseaseInBox.addItem(disease);
+			diseaseInBox.setSelectedItem(disease);
+		});
+		return found;
 	}
 
 	private boolean diseaseMatchPatterns(String query, Disease disease) {
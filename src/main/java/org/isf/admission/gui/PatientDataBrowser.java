@@ -49,7 +49,6 @@ import javax.swing.table.DefaultTableModel;
 import org.isf.admission.gui.AdmissionBrowser.AdmissionListener;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
@@ -65,6 +64,8 @@ import org.isf.patient.gui.PatientInsert;
 import org.isf.patient.gui.PatientInsertExtended.PatientListener;
 import org.isf.patient.gui.PatientSummary;
 import org.isf.patient.model.Patient;
+import org.isf.utils.cache.DiseaseDictionary;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -188,10 +189,9 @@ public class PatientDataBrowser extends ModalJFrame implements
 
 	private OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-	private DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
 
 	private List<Admission> admList;
-	private List<Disease> disease;
+	private DiseaseDictionary diseases;
 	private List<Opd> opdList;
 
 	private String[] pColumns = {
@@ -399,7 +399,7 @@ class AdmissionBrowserModel extends DefaultTableModel {
 				OHServiceExceptionUtil.showMessages(e);
 			}
 			try {
-				disease = diseaseBrowserManager.getDiseaseAll();
+				diseases = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASE_DICTIONARY);
 			} catch(OHServiceException e) {
                 OHServiceExceptionUtil.showMessages(e);
 			}
@@ -471,12 +471,7 @@ class AdmissionBrowserModel extends DefaultTableModel {
 				if (id == null) {
 					id = "";
 				}
-				for (Disease elem : disease) {
-					if (elem.getCode().equalsIgnoreCase(id)) {
-						return elem.getDescription();
-					}
-				}
-				return MessageBundle.getMessage("angal.admission.nodisease.txt");
+				return getDiseaseDescription(id);
 
 			} else if (column == 3) {
 				String id;
@@ -499,12 +494,7 @@ class AdmissionBrowserModel extends DefaultTableModel {
 						id = dis.getCode();
 					}
 				}
-				for (Disease elem : disease) {
-					if (elem.getCode().equalsIgnoreCase(id)) {
-						return elem.getDescription();
-					}
-				}				
-				return MessageBundle.getMessage("angal.admission.nodisease.txt");
+				return getDiseaseDescription(id);
 				
 			}  else if (column == 4) {
 				if (row < admList.size()) {
@@ -524,6 +514,11 @@ class AdmissionBrowserModel extends DefaultTableModel {
 			return null;
 		}
 
+		private String getDiseaseDescription(String code) {
+			Disease found = diseases != null ? diseases.getDisease(code) : null;
+			return found != null ? found.getDescription() : MessageBundle.getMessage("angal.admission.nodisease.txt");
+		}
+
 		@Override
 		public boolean isCellEditable(int arg0, int arg1) {
 			return false;
@@ -26,6 +26,7 @@ import static org.isf.utils.Constants.DATE_FORMAT_DD_MM_YYYY;
 import java.awt.AWTEvent;
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.event.MouseAdapter;
@@ -42,6 +43,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.EventListener;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JButton;
 import javax.swing.JPanel;
@@ -50,27 +52,22 @@ import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 import javax.swing.event.EventListenerList;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 
 import org.isf.admission.gui.AdmissionBrowser.AdmissionListener;
-import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
 import org.isf.dicom.gui.DicomGui;
-import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
-import org.isf.examination.manager.ExaminationBrowserManager;
 import org.isf.examination.model.PatientExamination;
 import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
-import org.isf.lab.manager.LabManager;
 import org.isf.lab.model.Laboratory;
 import org.isf.medstockmovtype.gui.MedicalsrMovPatList;
 import org.isf.menu.gui.MainMenu;
-import org.isf.menu.manager.Context;
-import org.isf.opd.manager.OpdBrowserManager;
 import org.isf.opd.model.Opd;
 import org.isf.operation.gui.OperationList;
 import org.isf.patient.gui.PatientInsert;
@@ -80,8 +77,7 @@ import org.isf.patient.model.Patient;
 import org.isf.stat.gui.report.GenericReportAdmission;
 import org.isf.stat.gui.report.GenericReportDischarge;
 import org.isf.stat.gui.report.GenericReportOpd;
-import org.isf.utils.exception.OHServiceException;
-import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.isf.utils.cache.DiseaseDictionary;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.OhDefaultCellRenderer;
@@ -128,6 +124,7 @@ public class PatientFolderBrowser extends ModalJFrame
 
 	@Override
 	public void patientUpdated(AWTEvent e) {
+		PatientFolderData.invalidate(patient.getCode());
 		jContentPane = null;
 		initialize();
 	}
@@ -138,6 +135,7 @@ public class PatientFolderBrowser extends ModalJFrame
 
 	@Override
 	public void admissionUpdated(AWTEvent e) {
+		PatientFolderData.invalidate(patient.getCode());
 		jContentPane = null;
 		initialize();
 	}
@@ -186,13 +184,11 @@ public class PatientFolderBrowser extends ModalJFrame
 		return patientData;
 	}
 
-	private LabManager labManager = Context.getApplicationContext().getBean(LabManager.class);
-
-	private List<Admission> admList;
-	private List<Laboratory> labList;
-	private List<Disease> disease;
-	private List<Opd> opdList;
-	private List<PatientExamination> examinationList;
+	private List<Admission> admList = new ArrayList<>();
+	private List<Laboratory> labList = new ArrayList<>();
+	private DiseaseDictionary diseases;
+	private List<Opd> opdList = new ArrayList<>();
+	private List<PatientExamination> examinationList = new ArrayList<>();
 
 	private String[] pColumns = {
 			MessageBundle.getMessage("angal.common.date.txt").toUpperCase(),
@@ -426,6 +422,8 @@ public class PatientFolderBrowser extends ModalJFrame
 							});
 		}
 
+		fillTables(PatientFolderData.get(patient), admModel, labModel, sorterLab);
+
 		ListSelectionModel listSelectionModel = admTable.getSelectionModel();
 		listSelectionModel.addListSelectionListener(selectionEvent -> {
 
@@ -501,6 +499,46 @@ public class PatientFolderBrowser extends ModalJFrame
 		return tablesPanel;
 	}
 
+	/*
+	 * The tables are shown empty and filled with each section as soon as it is loaded
+	 */
+	private void fillTables(PatientFolderData data, DefaultTableModel admModel, DefaultTableModel labModel, TableSorter sorterLab) {
+		setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		Runnable admissionsChanged = () -> {
+			admModel.fireTableDataChanged();
+			sorter.sortByColumn(0, false);
+			sorter.updateRowHeights(admTable);
+		};
+		CompletableFuture.allOf(
+				PatientFolderData.fill(data.getAdmissions(), new ArrayList<>(), list -> {
+					admList = list;
+					getOlderDate(admList, "admDate");
+					admissionsChanged.run();
+				}),
+				PatientFolderData.fill(data.getOpds(), new ArrayList<>(), list -> {
+					opdList = list;
+					getOlderDate(opdList, "date");
+					admissionsChanged.run();
+				}),
+				PatientFolderData.fill(data.getExaminations(), new ArrayList<>(), list -> {
+					examinationList = list;
+					getOlderDate(examinationList, "pex_date");
+					admissionsChanged.run();
+				}),
+				PatientFolderData.fill(data.getDiseases(), null, dictionary -> {
+					diseases = dictionary;
+					admModel.fireTableDataChanged();
+					sorter.sortByColumn(0, false);
+				}),
+				PatientFolderData.fill(data.getLaboratories(), new ArrayList<>(), list -> {
+					labList = list;
+					getOlderDate(labList, "labDate");
+					labModel.fireTableDataChanged();
+					sorterLab.sortByColumn(0, false);
+				}))
+				.whenCompleteAsync((done, throwable) -> setCursor(Cursor.getDefaultCursor()), SwingUtilities::invokeLater);
+	}
+
 	private JPanel getButtonPanel() {
 		JPanel buttonPanel;
 		buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 5));
@@ -684,38 +722,6 @@ public class PatientFolderBrowser extends ModalJFrame
 
 		private static final long serialVersionUID = -453243229156512947L;
 
-		private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-		private DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
-		private OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
-		private ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
-
-		public AdmissionBrowserModel() {
-
-			try {
-				admList = admissionBrowserManager.getAdmissions(patient);
-				getOlderDate(admList, "admDate");
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
-			}
-			try {
-				disease = diseaseBrowserManager.getDiseaseAll();
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
-			}
-			try {
-				opdList = opdBrowserManager.getOpdList(patient.getCode());
-				getOlderDate(opdList, "date");
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
-			}
-			try {
-				examinationList = examinationBrowserManager.getByPatID(patient.getCode());
-				getOlderDate(examinationList, "pex_date");
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
-			}
-		}
-
 		@Override
 		public int getRowCount() {
 			int count = 0;
@@ -780,24 +786,14 @@ public class PatientFolderBrowser extends ModalJFrame
 					if (id == null) {
 						id = "";
 					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
+					return getDiseaseDescription(id);
 				} else if (row < opdList.size() + admList.size()) {
 					int z = row - admList.size();
 					id = opdList.get(z).getDisease().getCode();
 					if (id == null) {
 						id = "";
 					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
+					return getDiseaseDescription(id);
 				} else {
 					int f = row - (opdList.size() + admList.size());
 					return "<html>" +
@@ -814,12 +810,7 @@ public class PatientFolderBrowser extends ModalJFrame
 					if (id == null) {
 						id = "";
 					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
+					return getDiseaseDescription(id);
 				} else if (row < opdList.size() + admList.size()) {
 					int z = row - admList.size();
 					Disease dis = opdList.get(z).getDisease3();
@@ -833,12 +824,7 @@ public class PatientFolderBrowser extends ModalJFrame
 					} else {
 						id = dis.getCode();
 					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
+					return getDiseaseDescription(id);
 				} else {
 					int f = row - (opdList.size() + admList.size());
 					return "<html>" +
@@ -869,6 +855,11 @@ public class PatientFolderBrowser extends ModalJFrame
 			return null;
 		}
 
+		private String getDiseaseDescription(String code) {
+			Disease found = diseases != null ? diseases.getDisease(code) : null;
+			return found != null ? found.getDescription() : TEXT_NODISEASE;
+		}
+
 		@Override
 		public boolean isCellEditable(int arg0, int arg1) {
 			return false;
@@ -879,17 +870,6 @@ public class PatientFolderBrowser extends ModalJFrame
 
 		private static final long serialVersionUID = -8245833681073162426L;
 
-		public LabBrowserModel() {
-
-			try {
-				labList = labManager.getLaboratory(patient);
-				getOlderDate(labList, "labDate");
-			} catch (OHServiceException e) {
-				labList = new ArrayList<>();
-				OHServiceExceptionUtil.showMessages(e);
-			}
-		}
-
 		@Override
 		public int getRowCount() {
 			if (labList == null) {
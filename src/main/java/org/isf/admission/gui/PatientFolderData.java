@@ -0,0 +1,208 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.swing.SwingUtilities;
+
+import org.isf.admission.manager.AdmissionBrowserManager;
+import org.isf.admission.model.Admission;
+import org.isf.examination.manager.ExaminationBrowserManager;
+import org.isf.examination.model.PatientExamination;
+import org.isf.lab.manager.LabManager;
+import org.isf.lab.model.Laboratory;
+import org.isf.menu.manager.Context;
+import org.isf.opd.manager.OpdBrowserManager;
+import org.isf.opd.model.Opd;
+import org.isf.patient.model.Patient;
+import org.isf.utils.cache.DiseaseDictionary;
+import org.isf.utils.cache.ReferenceDataCache;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * History of a patient shown by the {@link PatientFolderBrowser}, loaded with concurrent queries.
+ * <p>
+ * Admissions, OPD visits, examinations, laboratory exams and the disease dictionary are independent: each one is
+ * queried in background as soon as the folder is opened, and the window fills the matching section when it is
+ * available. The data of a patient are kept for {@link #MAX_AGE_MILLIS}, so that going back and forth between the
+ * folder and the other windows of the patient does not query everything again; saving an admission, an OPD visit, an
+ * examination or a laboratory exam drops them.
+ * The lists are shared by the windows of the same patient and must not be changed.
+ */
+public class PatientFolderData {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PatientFolderData.class);
+
+	/**
+	 * Age after which the data of a patient are queried again.
+	 */
+	static final long MAX_AGE_MILLIS = 60 * 1000L;
+
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "PatientFolderData");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static final Map<Integer, PatientFolderData> CACHE = new HashMap<>();
+
+	/**
+	 * A query of one section, run in background.
+	 */
+	interface Query<T> {
+
+		T run() throws OHServiceException;
+	}
+
+	private final long loadedAt = System.currentTimeMillis();
+	private final CompletableFuture<List<Admission>> admissions;
+	private final CompletableFuture<List<Opd>> opds;
+	private final CompletableFuture<List<PatientExamination>> examinations;
+	private final CompletableFuture<List<Laboratory>> laboratories;
+	private final CompletableFuture<DiseaseDictionary> diseases;
+
+	PatientFolderData(Query<List<Admission>> admissions, Query<List<Opd>> opds, Query<List<PatientExamination>> examinations,
+			Query<List<Laboratory>> laboratories, Query<DiseaseDictionary> diseases) {
+		this.admissions = submit(admissions);
+		this.opds = submit(opds);
+		this.examinations = submit(examinations);
+		this.laboratories = submit(laboratories);
+		this.diseases = submit(diseases);
+	}
+
+	/**
+	 * @return the data of the patient, still loading or already loaded, queried again if too old or failed
+	 */
+	static synchronized PatientFolderData get(Patient patient) {
+		long now = System.currentTimeMillis();
+		CACHE.values().removeIf(data -> data.isExpired(now));
+		PatientFolderData data = CACHE.get(patient.getCode());
+		if (data == null || data.hasFailed()) {
+			data = load(patient);
+			CACHE.put(patient.getCode(), data);
+		}
+		return data;
+	}
+
+	/**
+	 * Drops the data of the patient, after a change of its history.
+	 */
+	public static synchronized void invalidate(Integer patientCode) {
+		CACHE.remove(patientCode);
+	}
+
+	/**
+	 * Drops the data of the patient, if any, after one of its records has been saved or deleted elsewhere.
+	 */
+	public static void invalidate(Patient patient) {
+		if (patient != null) {
+			invalidate(patient.getCode());
+		}
+	}
+
+	private static PatientFolderData load(Patient patient) {
+		AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
+		OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
+		ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
+		LabManager labManager = Context.getApplicationContext().getBean(LabManager.class);
+		return new PatientFolderData(
+				() -> admissionBrowserManager.getAdmissions(patient),
+				() -> opdBrowserManager.getOpdList(patient.getCode()),
+				() -> examinationBrowserManager.getByPatID(patient.getCode()),
+				() -> labManager.getLaboratory(patient),
+				() -> ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASE_DICTIONARY));
+	}
+
+	boolean isExpired(long now) {
+		return now - loadedAt > MAX_AGE_MILLIS;
+	}
+
+	boolean hasFailed() {
+		return Stream.of(admissions, opds, examinations, laboratories, diseases).anyMatch(CompletableFuture::isCompletedExceptionally);
+	}
+
+	CompletableFuture<List<Admission>> getAdmissions() {
+		return admissions;
+	}
+
+	CompletableFuture<List<Opd>> getOpds() {
+		return opds;
+	}
+
+	CompletableFuture<List<PatientExamination>> getExaminations() {
+		return examinations;
+	}
+
+	CompletableFuture<List<Laboratory>> getLaboratories() {
+		return laboratories;
+	}
+
+	CompletableFuture<DiseaseDictionary> getDiseases() {
+		return diseases;
+	}
+
+	/**
+	 * Gives the section to {@code onLoaded} on the event dispatch thread, as soon as it is loaded; if the query
+	 * failed the error is shown and {@code onLoaded} gets {@code ifFailed}.
+	 *
+	 * @return completed once {@code onLoaded} has run
+	 */
+	static <T> CompletableFuture<Void> fill(CompletableFuture<T> section, T ifFailed, Consumer<T> onLoaded) {
+		return section.handleAsync((value, throwable) -> {
+			if (throwable == null) {
+				onLoaded.accept(value);
+			} else {
+				Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+				if (cause instanceof OHServiceException) {
+					OHServiceExceptionUtil.showMessages((OHServiceException) cause);
+				} else {
+					LOGGER.error(cause.getMessage(), cause);
+				}
+				onLoaded.accept(ifFailed);
+			}
+			return null;
+		}, SwingUtilities::invokeLater);
+	}
+
+	private static <T> CompletableFuture<T> submit(Query<T> query) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return query.run();
+			} catch (OHServiceException serviceException) {
+				throw new CompletionException(serviceException);
+			}
+		}, EXECUTOR);
+	}
+
+}
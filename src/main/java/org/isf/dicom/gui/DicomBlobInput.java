@@ -0,0 +1,151 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Blob;
+import java.sql.SQLException;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens the data of a DICOM file stored in the database as a seekable {@link ImageInputStream}.
+ * <p>
+ * Small files are read straight from the blob, caching in memory only what the reader needs. Big files are copied
+ * once to a temporary file, which is memory mapped, so that the heap does not hold a copy of a whole study and the
+ * reader can seek back and forth without reading the blob again; the temporary file is deleted on close.
+ */
+final class DicomBlobInput {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DicomBlobInput.class);
+
+	/**
+	 * Size above which the data is spilled to a temporary file.
+	 */
+	static final long SPILL_THRESHOLD = 32L * 1024 * 1024;
+
+	private DicomBlobInput() {
+	}
+
+	static ImageInputStream open(Blob blob) throws SQLException, IOException {
+		long length = blob.length();
+		if (length <= SPILL_THRESHOLD || length > Integer.MAX_VALUE) {
+			InputStream inputStream = blob.getBinaryStream();
+			return new MemoryCacheImageInputStream(inputStream) {
+
+				@Override
+				public void close() throws IOException {
+					super.close();
+					inputStream.close();
+				}
+			};
+		}
+		Path path = Files.createTempFile("oh-dicom-", ".tmp");
+		try (InputStream inputStream = blob.getBinaryStream()) {
+			Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+			return new MappedImageInputStream(path);
+		} catch (IOException | RuntimeException exception) {
+			delete(path);
+			throw exception;
+		}
+	}
+
+	private static void delete(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException exception) {
+			// on some systems a mapped file cannot be deleted until it is unmapped by the garbage collector
+			LOGGER.debug("Unable to delete {} now, it will be deleted on exit.", path, exception);
+			path.toFile().deleteOnExit();
+		}
+	}
+
+	private static final class MappedImageInputStream extends ImageInputStreamImpl {
+
+		private final Path path;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+
+		MappedImageInputStream(Path path) throws IOException {
+			this.path = path;
+			this.channel = FileChannel.open(path, StandardOpenOption.READ);
+			try {
+				this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} catch (IOException | RuntimeException exception) {
+				channel.close();
+				throw exception;
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+			checkClosed();
+			bitOffset = 0;
+			if (streamPos >= buffer.limit()) {
+				return -1;
+			}
+			return buffer.get((int) streamPos++) & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			checkClosed();
+			bitOffset = 0;
+			if (len == 0) {
+				return 0;
+			}
+			long remaining = buffer.limit() - streamPos;
+			if (remaining <= 0) {
+				return -1;
+			}
+			int count = (int) Math.min(len, remaining);
+			buffer.get((int) streamPos, b, off, count);
+			streamPos += count;
+			return count;
+		}
+
+		@Override
+		public long length() {
+			return buffer.limit();
+		}
+
+		@Override
+		public void close() throws IOException {
+			super.close();
+			channel.close();
+			delete(path);
+		}
+	}
+
+}
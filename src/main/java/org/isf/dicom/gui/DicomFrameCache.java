@@ -0,0 +1,286 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.imageio.plugins.dcm.DicomImageReadParam;
+import org.dcm4che3.imageio.plugins.dcm.DicomMetaData;
+import org.dcm4che3.util.SafeClose;
+import org.isf.dicom.manager.DicomManagerFactory;
+import org.isf.dicom.model.FileDicom;
+import org.isf.generaldata.MessageBundle;
+import org.isf.utils.exception.OHDicomException;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.model.OHExceptionMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decoded frames of the series shown by {@link DicomViewGui}.
+ * <p>
+ * The frames are kept in a LRU cache bounded by the memory of their images, and the next frames in the direction
+ * of navigation are loaded and decoded in background, so that moving the frame slider does not hit the database
+ * and the decoder at each step.
+ */
+class DicomFrameCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DicomFrameCache.class);
+
+	/**
+	 * Frames loaded ahead of the shown one.
+	 */
+	static final int PREFETCH_FRAMES = 3;
+
+	/*
+	 * Shared by the viewers: frames are prefetched one at a time for the whole client
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "DicomFrameCache");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	private final long maxBytes;
+	private long bytes;
+	private final LinkedHashMap<Long, DicomFrame> frames = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<Long, Future<DicomFrame>> loading = new HashMap<>();
+
+	DicomFrameCache() {
+		this(Math.min(256L * 1024 * 1024, Runtime.getRuntime().maxMemory() / 4));
+	}
+
+	DicomFrameCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @return the frame, from the cache, from the running prefetch, or loaded now
+	 */
+	DicomFrame get(Long id, int patientId, String seriesNumber) throws OHServiceException {
+		Future<DicomFrame> future;
+		synchronized (this) {
+			DicomFrame frame = frames.get(id);
+			if (frame != null) {
+				return frame;
+			}
+			future = loading.get(id);
+		}
+		if (future != null) {
+			try {
+				return future.get();
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException | CancellationException exception) {
+				// loaded again below, so that errors are reported to the caller
+			}
+		}
+		DicomFrame frame = DicomFrame.load(id, patientId, seriesNumber);
+		put(id, frame);
+		return frame;
+	}
+
+	/**
+	 * Loads in background the frames following {@code index} in the given direction; the ones still waiting for
+	 * a previous request are dropped.
+	 *
+	 * @param direction - {@code 1} forward, {@code -1} backward
+	 */
+	synchronized void prefetch(Long[] ids, int index, int direction, int patientId, String seriesNumber) {
+		cancelPrefetch();
+		for (int i = 1; i <= PREFETCH_FRAMES; i++) {
+			int next = index + i * direction;
+			if (next < 0 || next >= ids.length) {
+				break;
+			}
+			Long id = ids[next];
+			if (frames.containsKey(id) || loading.containsKey(id)) {
+				continue;
+			}
+			loading.put(id, EXECUTOR.submit(() -> {
+				try {
+					DicomFrame frame = DicomFrame.load(id, patientId, seriesNumber);
+					put(id, frame);
+					return frame;
+				} finally {
+					synchronized (this) {
+						loading.remove(id);
+					}
+				}
+			}));
+		}
+	}
+
+	/**
+	 * Drops the frames waiting to be prefetched; the one being decoded is completed.
+	 */
+	synchronized void cancelPrefetch() {
+		loading.values().forEach(future -> future.cancel(false));
+		loading.values().removeIf(Future::isDone);
+	}
+
+	synchronized void clear() {
+		cancelPrefetch();
+		frames.clear();
+		bytes = 0;
+	}
+
+	private synchronized void put(Long id, DicomFrame frame) {
+		DicomFrame old = frames.put(id, frame);
+		if (old != null) {
+			bytes -= old.getBytes();
+		}
+		bytes += frame.getBytes();
+		Iterator<DicomFrame> iterator = frames.values().iterator();
+		// the last frame is always kept, even if bigger than the cache
+		while (bytes > maxBytes && frames.size() > 1) {
+			bytes -= iterator.next().getBytes();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * A decoded frame, with the information shown over it.
+	 */
+	static class DicomFrame {
+
+		/*
+		 * Readers are expensive to create and not thread safe: each loading thread keeps its own
+		 */
+		private static final ThreadLocal<ImageReader> DICOM_READER = ThreadLocal
+				.withInitial(() -> ImageIO.getImageReadersByFormatName("DICOM").next());
+
+		private final MipMapImage image;
+		private final Attributes attributes;
+		private final FileDicom details;
+
+		private DicomFrame(MipMapImage image, Attributes attributes, FileDicom details) {
+			this.image = image;
+			this.attributes = attributes;
+			this.details = details;
+		}
+
+		/**
+		 * @return the image, or {@code null} if it cannot be decoded
+		 */
+		MipMapImage getImage() {
+			return image;
+		}
+
+		/**
+		 * @return the DICOM dataset, or {@code null} for JPEG files
+		 */
+		Attributes getAttributes() {
+			return attributes;
+		}
+
+		/**
+		 * @return the stored details, kept only when there is no dataset to read the information from
+		 */
+		FileDicom getDetails() {
+			return details;
+		}
+
+		long getBytes() {
+			// the pyramid adds up to a third of the image
+			return image == null ? 0 : (long) image.getWidth() * image.getHeight() * 4 * 4 / 3;
+		}
+
+		static DicomFrame load(Long id, int patientId, String seriesNumber) throws OHServiceException {
+			FileDicom details = DicomManagerFactory.getManager().loadDetails(id, patientId, seriesNumber);
+			String fileType = details.getFileName().substring(details.getFileName().lastIndexOf('.') + 1);
+			if (fileType.equalsIgnoreCase("jpg") || fileType.equalsIgnoreCase("jpeg")) {
+				return fromJPG(details);
+			} else if (fileType.equalsIgnoreCase("dcm")) {
+				return fromDicom(details);
+			}
+			return new DicomFrame(null, null, details);
+		}
+
+		/**
+		 * Get the BufferedImage from JPG/JPEG object
+		 */
+		private static DicomFrame fromJPG(FileDicom details) {
+			BufferedImage image = null;
+			try {
+				ImageInputStream imageInputStream = DicomBlobInput.open(details.getDicomData().getData());
+				try {
+					image = ImageIO.read(imageInputStream);
+				} catch (IOException ioException) {
+					throw new OHDicomException(
+							new OHExceptionMessage(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", details.getFileName())));
+				} finally {
+					SafeClose.close(imageInputStream);
+				}
+			} catch (Exception exception) {
+				LOGGER.error(exception.getMessage(), exception);
+			}
+			return new DicomFrame(image != null ? new MipMapImage(image) : null, null, details);
+		}
+
+		/**
+		 * Get the BufferedImage and the dataset from DICOM object, reading the stream once with the reader of the thread
+		 */
+		private static DicomFrame fromDicom(FileDicom details) {
+			ImageInputStream imageInputStream = null;
+			ImageReader reader = DICOM_READER.get();
+			BufferedImage image = null;
+			Attributes attributes = null;
+			try {
+				DicomImageReadParam param = (DicomImageReadParam) reader.getDefaultReadParam();
+				imageInputStream = DicomBlobInput.open(details.getDicomData().getData());
+				reader.setInput(imageInputStream, false);
+
+				try {
+					image = reader.read(0, param);
+				} catch (IOException ioException) {
+					throw new OHDicomException(
+							new OHExceptionMessage(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", details.getFileName())));
+				}
+				attributes = ((DicomMetaData) reader.getStreamMetadata()).getAttributes();
+			} catch (Exception exception) {
+				LOGGER.error(exception.getMessage(), exception);
+			} finally {
+				reader.reset();
+				SafeClose.close(imageInputStream);
+			}
+			return new DicomFrame(image != null ? new MipMapImage(image) : null, attributes, attributes == null ? details : null);
+		}
+	}
+
+}
@@ -315,8 +315,13 @@ public class DicomGui extends ModalJFrame implements WindowListener {
 
 				if (selectedFile.isDirectory()) {
 					//folder
+					DicomImportCheckpoint checkpoint = DicomImportCheckpoint.find(DicomImportCheckpoint.DEFAULT_DIRECTORY, patient, selectedFile);
+					if (checkpoint != null
+							&& MessageDialog.yesNo(this, "angal.dicom.resumeimport.fmt.msg", checkpoint.getImportedCount()) != JOptionPane.YES_OPTION) {
+						checkpoint = null;
+					}
 					thumbnail.disableLoadButton();
-					new SourceFiles(dummyFileDicom, selectedFile, patient, numfiles, thumbnail, new DicomLoader(numfiles, myJFrame));
+					new DicomImport(dummyFileDicom, selectedFile, patient, checkpoint, thumbnail, new DicomLoader(numfiles, myJFrame)).execute();
 				} else {
 					// single file
 					try {
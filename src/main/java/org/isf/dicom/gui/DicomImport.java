@@ -0,0 +1,248 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingWorker;
+
+import org.isf.dicom.manager.SourceFiles;
+import org.isf.dicom.model.FileDicom;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports the files of a folder in background, showing the progress and the throughput in a {@link DicomLoader},
+ * where the import can be cancelled.
+ * <p>
+ * The files are read, decoded and stored by a pool of {@link #WORKERS} threads, each one with its own copy of the
+ * series details filled by the user; the first file is stored alone when the series number is not known yet, so
+ * that the others join the series it creates. The files being imported are bounded by their size too, so that a
+ * folder of big files does not fill the memory. Every stored file is recorded in a {@link DicomImportCheckpoint}:
+ * when the same folder is imported again for the same patient after an interruption, the files already stored are
+ * skipped and the import continues in the same series.
+ */
+class DicomImport extends SwingWorker<Integer, Integer> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DicomImport.class);
+
+	/**
+	 * Files imported at the same time.
+	 */
+	static final int WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	/**
+	 * Kilobytes of the files imported at the same time; a bigger file is imported alone.
+	 */
+	static final int MAX_KILOBYTES_IN_FLIGHT = (int) Math.min(256L * 1024, Runtime.getRuntime().maxMemory() / 4 / 1024);
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private final FileDicom fileDicom;
+	private final File folder;
+	private final int patient;
+	private final DicomImportCheckpoint checkpoint;
+	private final ThumbnailViewGui thumbnail;
+	private final DicomLoader loader;
+
+	private final long started = System.nanoTime();
+	private final AtomicInteger stored = new AtomicInteger();
+	private final AtomicLong storedBytes = new AtomicLong();
+
+	/**
+	 * @param fileDicom - the details of the series, filled by the user
+	 * @param checkpoint - the checkpoint of an interrupted import to resume, or {@code null} to start a new one
+	 */
+	DicomImport(FileDicom fileDicom, File folder, int patient, DicomImportCheckpoint checkpoint, ThumbnailViewGui thumbnail, DicomLoader loader) {
+		this.fileDicom = fileDicom;
+		this.folder = folder;
+		this.patient = patient;
+		this.thumbnail = thumbnail;
+		this.loader = loader;
+		if (checkpoint == null) {
+			this.checkpoint = DicomImportCheckpoint.create(DicomImportCheckpoint.DEFAULT_DIRECTORY, patient, folder, fileDicom.getDicomSeriesNumber());
+		} else {
+			this.checkpoint = checkpoint;
+			if (checkpoint.getSeriesNumber() != null) {
+				fileDicom.setDicomSeriesNumber(checkpoint.getSeriesNumber());
+			}
+		}
+		loader.setCancelAction(() -> cancel(true));
+	}
+
+	@Override
+	protected Integer doInBackground() throws Exception {
+		List<File> files = new ArrayList<>();
+		listFiles(folder, files);
+		List<File> pending = new ArrayList<>();
+		for (File file : files) {
+			if (!checkpoint.isImported(file)) {
+				pending.add(file);
+			}
+		}
+		int loaded = files.size() - pending.size();
+		publish(loaded);
+		int next = 0;
+		try {
+			if (fileDicom.getDicomSeriesNumber() == null && !pending.isEmpty()) {
+				// SourceFiles.loadDicom assigns the series number to the details of the series
+				store(fileDicom, pending.get(next++));
+				checkpoint.setSeriesNumber(fileDicom.getDicomSeriesNumber());
+				publish(++loaded);
+			}
+			ExecutorService executor = Executors.newFixedThreadPool(WORKERS, runnable -> {
+				Thread thread = new Thread(runnable, "DicomImport-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			CompletionService<File> completion = new ExecutorCompletionService<>(executor);
+			Semaphore memory = new Semaphore(MAX_KILOBYTES_IN_FLIGHT);
+			int running = 0;
+			try {
+				while (next < pending.size() || running > 0) {
+					while (next < pending.size() && running < WORKERS && !isCancelled()) {
+						File file = pending.get(next);
+						int kilobytes = (int) Math.max(1, Math.min(MAX_KILOBYTES_IN_FLIGHT, file.length() / 1024));
+						if (!memory.tryAcquire(kilobytes)) {
+							// waits for the running files to release their memory
+							break;
+						}
+						next++;
+						running++;
+						completion.submit(() -> {
+							try {
+								store(copyOfSeries(fileDicom), file);
+								return file;
+							} finally {
+								memory.release(kilobytes);
+							}
+						});
+					}
+					if (running == 0) {
+						break;
+					}
+					try {
+						completion.take().get();
+					} catch (ExecutionException executionException) {
+						throw executionException.getCause() instanceof Exception ? (Exception) executionException.getCause() : executionException;
+					}
+					running--;
+					publish(++loaded);
+				}
+			} finally {
+				// the running files are completed, so that the checkpoint records them
+				executor.shutdown();
+				boolean interrupted = Thread.interrupted();
+				executor.awaitTermination(1, TimeUnit.MINUTES);
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		} finally {
+			checkpoint.close();
+		}
+		if (!isCancelled()) {
+			checkpoint.delete();
+		}
+		return stored.get();
+	}
+
+	private void store(FileDicom series, File file) throws Exception {
+		SourceFiles.loadDicom(series, file, patient);
+		checkpoint.imported(file);
+		storedBytes.addAndGet(file.length());
+		stored.incrementAndGet();
+	}
+
+	/*
+	 * SourceFiles.loadDicom fills the details with the ones of the file: each file has its own copy of the series
+	 */
+	private static FileDicom copyOfSeries(FileDicom series) {
+		FileDicom copy = new FileDicom();
+		copy.setDicomSeriesNumber(series.getDicomSeriesNumber());
+		copy.setDicomSeriesDescription(series.getDicomSeriesDescription());
+		copy.setDicomSeriesDate(series.getDicomSeriesDate());
+		copy.setDicomStudyDate(series.getDicomStudyDate());
+		copy.setDicomType(series.getDicomType());
+		return copy;
+	}
+
+	@Override
+	protected void process(List<Integer> chunks) {
+		loader.setLoaded(chunks.get(chunks.size() - 1));
+		double seconds = (System.nanoTime() - started) / 1e9;
+		if (seconds > 0) {
+			loader.setThroughput(stored.get() / seconds, storedBytes.get() / seconds / (1024 * 1024));
+		}
+	}
+
+	@Override
+	protected void done() {
+		loader.dispose();
+		try {
+			get();
+		} catch (CancellationException | InterruptedException e) {
+			// the checkpoint is kept, so that the import can be resumed
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OHServiceException) {
+				OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
+			} else {
+				LOGGER.error("Unable to import the DICOM folder {}.", folder, e.getCause());
+			}
+		}
+		thumbnail.initialize();
+	}
+
+	/*
+	 * The same files read by SourceFiles
+	 */
+	private static void listFiles(File directory, List<File> files) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		for (File child : children) {
+			if (!child.isDirectory()) {
+				if (!child.getName().startsWith(".DS_Store")) {
+					files.add(child);
+				}
+			} else if (!child.getName().startsWith(".")) {
+				listFiles(child, files);
+			}
+		}
+	}
+
+}
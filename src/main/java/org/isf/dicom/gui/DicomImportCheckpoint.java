@@ -0,0 +1,203 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Files already imported from a folder by a {@link DicomImport}, so that an interrupted import can be resumed.
+ * <p>
+ * Each patient and folder has its own checkpoint in the checkpoint directory, so that importing another folder does
+ * not discard an interrupted import. The checkpoint is a text file with the patient, the folder and the series
+ * number, followed by the path of each imported file; a line is appended and flushed as soon as a file is stored.
+ * The checkpoint is deleted when the import completes. The files are recorded by the import threads concurrently.
+ */
+class DicomImportCheckpoint {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DicomImportCheckpoint.class);
+
+	static final File DEFAULT_DIRECTORY = new File("rsc/dicom.import");
+
+	private final File file;
+	private final int patient;
+	private final String folder;
+	private String seriesNumber;
+	private final Set<String> imported;
+	private Writer writer;
+
+	private DicomImportCheckpoint(File file, int patient, String folder, String seriesNumber, Set<String> imported) {
+		this.file = file;
+		this.patient = patient;
+		this.folder = folder;
+		this.seriesNumber = seriesNumber;
+		this.imported = imported;
+	}
+
+	/**
+	 * @return the checkpoint file of the import of the folder for the patient
+	 */
+	static File getFile(File directory, int patient, File folder) {
+		String folderKey = UUID.nameUUIDFromBytes(folder.getAbsolutePath().getBytes(StandardCharsets.UTF_8)).toString();
+		return new File(directory, patient + "-" + folderKey + ".checkpoint");
+	}
+
+	/**
+	 * @return the checkpoint of an interrupted import of the folder for the patient, or {@code null} if there is none
+	 */
+	static DicomImportCheckpoint find(File directory, int patient, File folder) {
+		File file = getFile(directory, patient, folder);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+			if (lines.size() < 3 || !lines.get(0).equals(String.valueOf(patient)) || !lines.get(1).equals(folder.getAbsolutePath())) {
+				return null;
+			}
+			Set<String> imported = new HashSet<>(lines.subList(3, lines.size()));
+			return new DicomImportCheckpoint(file, patient, lines.get(1), lines.get(2), imported);
+		} catch (IOException | RuntimeException exception) {
+			LOGGER.warn("Unable to read the DICOM import checkpoint {}.", file, exception);
+			return null;
+		}
+	}
+
+	/**
+	 * @return a new checkpoint, replacing the previous one of the same folder and patient
+	 */
+	static DicomImportCheckpoint create(File directory, int patient, File folder, String seriesNumber) {
+		File file = getFile(directory, patient, folder);
+		DicomImportCheckpoint checkpoint = new DicomImportCheckpoint(file, patient, folder.getAbsolutePath(),
+				seriesNumber == null ? "" : seriesNumber, new HashSet<>());
+		try {
+			Files.createDirectories(directory.toPath());
+			checkpoint.writeHeader();
+		} catch (IOException exception) {
+			LOGGER.warn("Unable to write the DICOM import checkpoint {}, the import will not be resumable.", file, exception);
+			return new DicomImportCheckpoint(null, patient, checkpoint.folder, checkpoint.seriesNumber, checkpoint.imported);
+		}
+		return checkpoint;
+	}
+
+	/**
+	 * @return the series number of the import, or {@code null} if it was not known when the import started
+	 */
+	synchronized String getSeriesNumber() {
+		return seriesNumber.isEmpty() ? null : seriesNumber;
+	}
+
+	/**
+	 * Records the series number assigned by the first stored file, rewriting the checkpoint.
+	 */
+	synchronized void setSeriesNumber(String seriesNumber) {
+		this.seriesNumber = seriesNumber == null ? "" : seriesNumber;
+		if (file == null) {
+			return;
+		}
+		close();
+		try {
+			writeHeader();
+		} catch (IOException exception) {
+			LOGGER.warn("Unable to update the DICOM import checkpoint {}.", file, exception);
+		}
+	}
+
+	synchronized int getImportedCount() {
+		return imported.size();
+	}
+
+	synchronized boolean isImported(File importedFile) {
+		return imported.contains(importedFile.getAbsolutePath());
+	}
+
+	/**
+	 * Records a stored file; a failure to write the checkpoint does not stop the import.
+	 */
+	synchronized void imported(File importedFile) {
+		String path = importedFile.getAbsolutePath();
+		imported.add(path);
+		if (file == null) {
+			return;
+		}
+		try {
+			if (writer == null) {
+				writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+			}
+			writer.write(path);
+			writer.write(System.lineSeparator());
+			writer.flush();
+		} catch (IOException exception) {
+			LOGGER.warn("Unable to update the DICOM import checkpoint {}.", file, exception);
+		}
+	}
+
+	/**
+	 * Closes the checkpoint, leaving it on disk so that the import can be resumed.
+	 */
+	synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException exception) {
+				LOGGER.warn("Unable to close the DICOM import checkpoint {}.", file, exception);
+			}
+			writer = null;
+		}
+	}
+
+	/**
+	 * Deletes the checkpoint of a completed import.
+	 */
+	synchronized void delete() {
+		close();
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException exception) {
+				LOGGER.warn("Unable to delete the DICOM import checkpoint {}.", file, exception);
+			}
+		}
+	}
+
+	private void writeHeader() throws IOException {
+		List<String> lines = new ArrayList<>(imported.size() + 3);
+		lines.add(String.valueOf(patient));
+		lines.add(folder);
+		lines.add(seriesNumber);
+		lines.addAll(imported);
+		Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+	}
+
+}
@@ -24,6 +24,7 @@ package org.isf.dicom.gui;
 import java.awt.BorderLayout;
 import java.awt.Color;
 
+import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -44,8 +45,10 @@ public class DicomLoader extends AbstractDicomLoader {
 
 	private int numfiles;
 	private JLabel jLabelTitle;
+	private JLabel jLabelThroughput;
 	private String labelTitle = MessageBundle.getMessage("angal.dicom.loading");
 	private	JProgressBar bar;
+	private JPanel jPanelSouth;
 	private Color bkgColor = Color.BLUE;
 	private Color fgColor = Color.WHITE;
 
@@ -57,8 +60,14 @@ public class DicomLoader extends AbstractDicomLoader {
 		JPanel jp = new JPanel(new BorderLayout());
 		jp.setBackground(bkgColor);
 		bar = new JProgressBar(0, numfiles);
+		jLabelThroughput = new JLabel(" ");
+		jLabelThroughput.setForeground(fgColor);
 		jp.add(jLabelTitle, BorderLayout.NORTH);
 		jp.add(bar, BorderLayout.CENTER);
+		jPanelSouth = new JPanel(new BorderLayout());
+		jPanelSouth.setOpaque(false);
+		jPanelSouth.add(jLabelThroughput, BorderLayout.CENTER);
+		jp.add(jPanelSouth, BorderLayout.SOUTH);
 		add(jp);
 		setVisible(true);
 		pack();
@@ -72,4 +81,31 @@ public class DicomLoader extends AbstractDicomLoader {
 		bar.setValue(loaded);
 		jLabelTitle.setText(labelTitle + " [" + loaded + '/' + numfiles + ']');
 	}
+
+	/**
+	 * Shows a button cancelling the loading.
+	 *
+	 * @param cancelAction - run on the Event Dispatch Thread when the button is pressed
+	 */
+	public void setCancelAction(Runnable cancelAction) {
+		JButton jButtonCancel = new JButton(MessageBundle.getMessage("angal.common.cancel.btn"));
+		jButtonCancel.setMnemonic(MessageBundle.getMnemonic("angal.common.cancel.btn.key"));
+		jButtonCancel.addActionListener(actionEvent -> {
+			jButtonCancel.setEnabled(false);
+			cancelAction.run();
+		});
+		jPanelSouth.add(jButtonCancel, BorderLayout.EAST);
+		pack();
+	}
+
+	/**
+	 * Shows the import speed.
+	 *
+	 * @param filesPerSecond
+	 * @param megabytesPerSecond
+	 */
+	public void setThroughput(double filesPerSecond, double megabytesPerSecond) {
+		jLabelThroughput.setText(MessageBundle.formatMessage("angal.dicom.throughput.fmt.txt", String.format("%.1f", filesPerSecond),
+				String.format("%.1f", megabytesPerSecond)));
+	}
 }
@@ -0,0 +1,125 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import org.isf.dicom.model.FileDicom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thumbnails shown by {@link ThumbnailViewGui}, decoded in background when first painted.
+ * <p>
+ * The icons are kept in a LRU cache bounded by their number, so that scrolling back and forth through a long
+ * series does not decode the same thumbnail again. All methods are called from the Event Dispatch Thread.
+ */
+class DicomThumbnailCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DicomThumbnailCache.class);
+
+	static final int MAX_ICONS = 500;
+
+	/**
+	 * Cached for the thumbnails which cannot be decoded, so that they are not decoded again at each paint.
+	 */
+	private static final ImageIcon NO_THUMBNAIL = new ImageIcon();
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	/*
+	 * Shared by the thumbnail views, so that opening many of them does not multiply the decoding threads
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+			runnable -> {
+				Thread thread = new Thread(runnable, "DicomThumbnailCache-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+
+	private final Map<Long, ImageIcon> icons = new LinkedHashMap<Long, ImageIcon>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, ImageIcon> eldest) {
+			return size() > MAX_ICONS;
+		}
+	};
+	private final Map<Long, Future<?>> decoding = new HashMap<>();
+
+	/**
+	 * @param onDecoded - run on the Event Dispatch Thread when the thumbnail has been decoded
+	 * @return the icon of the thumbnail, or {@code null} while it is being decoded
+	 */
+	ImageIcon get(FileDicom instance, Runnable onDecoded) {
+		Long id = instance.getIdFile();
+		ImageIcon icon = icons.get(id);
+		if (icon != null) {
+			return icon == NO_THUMBNAIL ? null : icon;
+		}
+		if (!decoding.containsKey(id)) {
+			decoding.put(id, EXECUTOR.submit(() -> {
+				ImageIcon decoded = decode(instance);
+				SwingUtilities.invokeLater(() -> {
+					if (decoding.remove(id) != null) {
+						icons.put(id, decoded);
+						onDecoded.run();
+					}
+				});
+			}));
+		}
+		return null;
+	}
+
+	/**
+	 * Drops the thumbnails waiting to be decoded; the cached icons are kept, since the files do not change.
+	 */
+	void cancel() {
+		decoding.values().forEach(future -> future.cancel(false));
+		decoding.clear();
+	}
+
+	private static ImageIcon decode(FileDicom instance) {
+		try {
+			BufferedImage image = instance.getDicomThumbnailAsImage();
+			if (image != null) {
+				return new ImageIcon(image);
+			}
+		} catch (RuntimeException exception) {
+			LOGGER.error(exception.getMessage(), exception);
+		}
+		return NO_THUMBNAIL;
+	}
+
+}
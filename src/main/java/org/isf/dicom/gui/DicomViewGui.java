@@ -34,18 +34,11 @@ import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.text.DateFormat;
 import java.util.Date;
-import java.util.Iterator;
 
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.ImageIcon;
-import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSlider;
 import javax.swing.border.TitledBorder;
@@ -54,21 +47,15 @@ import javax.swing.event.ChangeListener;
 
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
-import org.dcm4che3.imageio.plugins.dcm.DicomImageReadParam;
-import org.dcm4che3.io.DicomInputStream;
-import org.dcm4che3.util.SafeClose;
 import org.imgscalr.Scalr;
+import org.isf.dicom.gui.DicomFrameCache.DicomFrame;
 import org.isf.dicom.manager.DicomManagerFactory;
 import org.isf.dicom.model.FileDicom;
 import org.isf.generaldata.MessageBundle;
 import org.isf.patient.model.Patient;
-import org.isf.utils.exception.OHDicomException;
 import org.isf.utils.exception.OHServiceException;
-import org.isf.utils.exception.model.OHExceptionMessage;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.time.Converters;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Detail for DICOM image
@@ -80,8 +67,6 @@ public class DicomViewGui extends JPanel {
 
 	private static final long serialVersionUID = 1L;
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(DicomViewGui.class);
-
 	// status of framereader
 	private int patID;
 	private Patient ohPatient;
@@ -90,11 +75,14 @@ public class DicomViewGui extends JPanel {
 
 	// status of frame
 	private int frameIndex;
-	private BufferedImage tmpImg;
+	private final DicomFrameCache frameCache = new DicomFrameCache();
+	private MipMapImage frameImage;
 	private Attributes attributes;
 	private FileDicom tmpDbFile;
+	// texts and photo drawn over the frame, redrawn only when the frame or the size change
+	private BufferedImage overlay;
 
-	private JPanel jPanelCenter;
+	private DicomCanvas jPanelCenter;
 	private JSlider jSliderZoom;
 	private JSlider jSliderFrame;
 	
@@ -103,6 +91,7 @@ public class DicomViewGui extends JPanel {
 	private int y = -1;
 	private int totX = -1;
 	private int totY = -1;
+	private boolean centerImage = true;
 	private static final Color colScr = Color.LIGHT_GRAY;
 	private static final int VGAP = 15;
 
@@ -162,8 +151,12 @@ public class DicomViewGui extends JPanel {
 
 		jSliderZoom.setValue(100);
 
+		frameCache.cancelPrefetch();
 		if (frames.length > 0) {
 			refreshFrame();
+			frameCache.prefetch(frames, frameIndex, 1, patID, serieNumber);
+		} else {
+			frameImage = null;
 		}
 
 		reInitComponent();
@@ -183,9 +176,8 @@ public class DicomViewGui extends JPanel {
 		jSliderZoom.addChangeListener(new ZoomListener());
 		jPanelHeader.setBackground(Color.BLACK);
 
+		jPanelCenter = new DicomCanvas();
 		if (patID <= 0) {
-			// center = new JScrollPane();
-			jPanelCenter = new JPanel();
 			jSliderFrame.setEnabled(false);
 			jSliderZoom.setEnabled(false);
 		} else {
@@ -201,10 +193,6 @@ public class DicomViewGui extends JPanel {
 			} else {
 				jSliderFrame.setEnabled(false);
 			}
-
-			jPanelCenter = new JPanel();
-
-			jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), true));
 		}
 
 		jPanelCenter.setBackground(Color.BLACK);
@@ -232,7 +220,6 @@ public class DicomViewGui extends JPanel {
 
 	void reInitComponent() {
 		if (patID <= 0) {
-			jPanelCenter = new JPanel();
 			jSliderFrame.setEnabled(false);
 			jSliderZoom.setEnabled(false);
 		} else {
@@ -252,9 +239,8 @@ public class DicomViewGui extends JPanel {
 				jSliderFrame.setEnabled(false);
 			}
 
-			jPanelCenter.removeAll();
-			jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), true));
-			validate();
+			centerImage = true;
+			jPanelCenter.repaint();
 		}
 		jSliderFrame.setValue(0);
 		jSliderZoom.setValue(100);
@@ -263,28 +249,28 @@ public class DicomViewGui extends JPanel {
 	// DRAWS METHODS
 
 	/**
-	 * Compose the panel of central image
-	 * 
-	 * @return the panel
+	 * Paints the frame at the current zoom and position, then the information over it
 	 */
-	private JPanel composeCenter(int w, int h, boolean calculate) {
-
-		JPanel centerPanel = new JPanel(new BorderLayout(), true);
-		BufferedImage imageCanvas = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-		centerPanel.setBackground(Color.BLACK);
-		int perc = jSliderZoom.getValue();
-		float value = (float) tmpImg.getWidth() * (float) perc / 100f;
-		BufferedImage immagineResized = Scalr.resize(tmpImg, Math.round(value));
-
-		Graphics2D canvas = (Graphics2D) imageCanvas.getGraphics();
-
-		// design on canvas
-		int width = immagineResized.getWidth();
-		int height = immagineResized.getHeight();
+	private void paintCenter(Graphics2D canvas, int w, int h) {
+		if (frameImage == null || ohPatient == null) {
+			return;
+		}
+		// same size given by Scalr.resize(image, targetSize), which fits the longer side
+		int target = Math.round((float) frameImage.getWidth() * (float) jSliderZoom.getValue() / 100f);
+		int width;
+		int height;
+		if (frameImage.getWidth() >= frameImage.getHeight()) {
+			width = target;
+			height = Math.round((float) target * frameImage.getHeight() / frameImage.getWidth());
+		} else {
+			height = target;
+			width = Math.round((float) target * frameImage.getWidth() / frameImage.getHeight());
+		}
 
-		if (calculate) {
+		if (centerImage) {
 			x = (w - width) / 2;
 			y = (h - height) / 2;
+			centerImage = false;
 		}
 
 		totX = x - (p1x - p2x);
@@ -297,26 +283,27 @@ public class DicomViewGui extends JPanel {
 			totY = -height;
 		}
 
-		if (totX > imageCanvas.getWidth()) {
-			totX = imageCanvas.getWidth();
+		if (totX > w) {
+			totX = w;
 		}
 
-		if (totY > imageCanvas.getHeight()) {
-			totY = imageCanvas.getHeight();
+		if (totY > h) {
+			totY = h;
 		}
 
-		canvas.drawImage(immagineResized, totX, totY, this);
-		
-		// draws info
-		drawPatientUpRight(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-		drawInfoFrameBottomLeft(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-		drawStudyUpRight(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-		drawSerieBottomRight(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-
-		JLabel centerImgLabel = new JLabel(new ImageIcon(imageCanvas));
-		centerPanel.add(centerImgLabel, BorderLayout.CENTER);
+		frameImage.draw(canvas, totX, totY, width, height, w, h);
 
-		return centerPanel;
+		// draws info
+		if (overlay == null || overlay.getWidth() != w || overlay.getHeight() != h) {
+			overlay = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D overlayCanvas = overlay.createGraphics();
+			drawPatientUpRight(overlayCanvas, w, h);
+			drawStudyUpRight(overlayCanvas, w, h);
+			drawSerieBottomRight(overlayCanvas, w, h);
+			overlayCanvas.dispose();
+		}
+		canvas.drawImage(overlay, 0, 0, this);
+		drawInfoFrameBottomLeft(canvas, w, h);
 	}
 
 	private void drawQuadrant(Graphics g, int h, int w, Color c) {
@@ -449,89 +436,28 @@ public class DicomViewGui extends JPanel {
 	}
 
 	/**
-	 * Load actual frame from storage
+	 * Load actual frame from storage, or from the cache
 	 */
 	private void refreshFrame() {
 		Long id = frames[frameIndex];
 		try {
-			tmpDbFile = DicomManagerFactory.getManager().loadDetails(id, patID, serieNumber);
-			String fileType = tmpDbFile.getFileName().substring(tmpDbFile.getFileName().lastIndexOf('.')+1);
-			if (fileType.equalsIgnoreCase("jpg") || fileType.equalsIgnoreCase("jpeg")) {
-				getImageFromJPG(tmpDbFile);
-			} else if (fileType.equalsIgnoreCase("dcm")) {
-				getImageFromDicom(tmpDbFile);
-			}
+			DicomFrame frame = frameCache.get(id, patID, serieNumber);
+			frameImage = frame.getImage();
+			attributes = frame.getAttributes();
+			tmpDbFile = frame.getDetails();
+			overlay = null;
 		} catch(OHServiceException ohServiceException) {
 			MessageDialog.showExceptions(ohServiceException);
 		}
 	}
-	
-	/**
-	 * Get the BufferedImage from JPG/JPEG object
-	 * 
-	 * @param dett
-	 */
-	private void getImageFromJPG(FileDicom dett) {
-		try {
-			tmpImg = null;
-			ImageInputStream imageInputStream = ImageIO.createImageInputStream(dett.getDicomData().getData().getBinaryStream());
-			try {
-				tmpImg = ImageIO.read(imageInputStream);
-			} catch (IOException ioException) {
-				throw new OHDicomException(
-						new OHExceptionMessage(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", dett.getFileName())));
-			}
-			//imageInputStream.close();
-			this.attributes = null;
-		} catch (Exception exception) {
-			LOGGER.error(exception.getMessage(), exception);
-		}
-	}
-	
-	/**
-	 * Get the BufferedImage from DICOM object
-	 * 
-	 * @param dett
-	 */
-	private void getImageFromDicom(FileDicom dett) {
-		ImageInputStream imageInputStream = null;
-		DicomInputStream dicomInputStream = null;
-		try {
-			tmpImg = null;
-			Iterator<?> iter = ImageIO.getImageReadersByFormatName("DICOM");
-			ImageReader reader = (ImageReader) iter.next();
-			DicomImageReadParam param = (DicomImageReadParam) reader.getDefaultReadParam();
-			imageInputStream = ImageIO.createImageInputStream(dett.getDicomData().getData().getBinaryStream());
-			reader.setInput(imageInputStream, false);
-
-			try {
-				tmpImg = reader.read(0, param);
-			} catch (IOException ioException) {
-				throw new OHDicomException(
-						new OHExceptionMessage(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", dett.getFileName())));
-			}
-			dicomInputStream = new DicomInputStream(dett.getDicomData().getData().getBinaryStream());
-			this.attributes = dicomInputStream.readDataset();
-		} catch (Exception exception) {
-			LOGGER.error(exception.getMessage(), exception);
-		} finally {
-			SafeClose.close(imageInputStream);
-			SafeClose.close(dicomInputStream);
-		}
-	}
 
 	private void refreshPan() {
-
-		jPanelCenter.removeAll();
-		jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), false));
-		validate();
+		jPanelCenter.repaint();
 	}
 
 	private void refreshZoom() {
-
-		jPanelCenter.removeAll();
-		jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), true));
-		validate();
+		centerImage = true;
+		jPanelCenter.repaint();
 	}
 
 	/**
@@ -541,13 +467,13 @@ public class DicomViewGui extends JPanel {
 	 *            , the frame to visualize
 	 */
 	private void setFrame(int frame) {
+		int direction = frame < frameIndex ? -1 : 1;
 		frameIndex = frame;
 		refreshFrame();
+		frameCache.prefetch(frames, frameIndex, direction, patID, serieNumber);
 
 		resetMouseRelativePosition();
-		jPanelCenter.removeAll();
-		jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), false));
-		validate();
+		jPanelCenter.repaint();
 	}
 
 	class ZoomListener implements ChangeListener {
@@ -693,9 +619,28 @@ public class DicomViewGui extends JPanel {
 	}
 
 	public void clear() {
-		jPanelCenter.removeAll();
+		frameImage = null;
+		overlay = null;
 		jPanelCenter.repaint();
-		
+	}
+
+	/**
+	 * Panel painting the frame directly, without building an image of the whole panel
+	 */
+	class DicomCanvas extends JPanel {
+
+		private static final long serialVersionUID = 1L;
+
+		DicomCanvas() {
+			super(true);
+			setBackground(Color.BLACK);
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			super.paintComponent(g);
+			paintCenter((Graphics2D) g, getWidth(), getHeight());
+		}
 	}
 
 }
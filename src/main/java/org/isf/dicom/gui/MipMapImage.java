@@ -0,0 +1,125 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An image with its mip-map pyramid, drawn at any size straight to a {@link Graphics2D}.
+ * <p>
+ * Each level halves the previous one and is built only when first needed. A draw picks the smallest level still
+ * bigger than the requested size and paints it with an affine transform clipped to the visible area, so that
+ * zooming and panning neither resize the whole image nor allocate a new one.
+ */
+class MipMapImage {
+
+	private final List<BufferedImage> levels = new ArrayList<>();
+
+	MipMapImage(BufferedImage source) {
+		levels.add(toDrawable(source));
+	}
+
+	int getWidth() {
+		return levels.get(0).getWidth();
+	}
+
+	int getHeight() {
+		return levels.get(0).getHeight();
+	}
+
+	/**
+	 * Draws the image scaled to {@code width x height} at {@code (x, y)}; only the part inside
+	 * {@code (0, 0, clipWidth, clipHeight)} is painted.
+	 */
+	void draw(Graphics2D g, int x, int y, int width, int height, int clipWidth, int clipHeight) {
+		Rectangle visible = new Rectangle(x, y, width, height).intersection(new Rectangle(0, 0, clipWidth, clipHeight));
+		if (visible.isEmpty()) {
+			return;
+		}
+		BufferedImage level = getLevel(width, height);
+		AffineTransform transform = new AffineTransform();
+		transform.translate(x, y);
+		transform.scale((double) width / level.getWidth(), (double) height / level.getHeight());
+
+		Shape clip = g.getClip();
+		Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+		g.clipRect(visible.x, visible.y, visible.width, visible.height);
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.drawImage(level, transform, null);
+		if (interpolation != null) {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		}
+		g.setClip(clip);
+	}
+
+	/*
+	 * The smallest level at least as big as the requested size
+	 */
+	private BufferedImage getLevel(int width, int height) {
+		int index = 0;
+		BufferedImage level = levels.get(0);
+		while (level.getWidth() / 2 >= width && level.getHeight() / 2 >= height && level.getWidth() > 1 && level.getHeight() > 1) {
+			index++;
+			if (index == levels.size()) {
+				levels.add(halve(level));
+			}
+			level = levels.get(index);
+		}
+		return level;
+	}
+
+	private static BufferedImage halve(BufferedImage image) {
+		BufferedImage half = new BufferedImage(image.getWidth() / 2, image.getHeight() / 2, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = half.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.drawImage(image, 0, 0, half.getWidth(), half.getHeight(), null);
+		g.dispose();
+		return half;
+	}
+
+	/*
+	 * Images decoded from DICOM are often of custom types, which Java2D draws much slower than plain RGB
+	 */
+	private static BufferedImage toDrawable(BufferedImage image) {
+		switch (image.getType()) {
+			case BufferedImage.TYPE_INT_RGB:
+			case BufferedImage.TYPE_INT_ARGB:
+			case BufferedImage.TYPE_3BYTE_BGR:
+			case BufferedImage.TYPE_BYTE_GRAY:
+				return image;
+			default:
+				BufferedImage drawable = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+				Graphics2D g = drawable.createGraphics();
+				g.drawImage(image, 0, 0, null);
+				g.dispose();
+				return drawable;
+		}
+	}
+
+}
@@ -29,19 +29,22 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.AbstractListModel;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListSelectionModel;
-import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.ListCellRenderer;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 
 import org.isf.dicom.manager.AbstractThumbnailViewGui;
@@ -52,6 +55,8 @@ import org.isf.generaldata.MessageBundle;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.time.TimeTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Component for DICOM thumbnails composition and visualization
@@ -62,9 +67,12 @@ import org.isf.utils.time.TimeTools;
 public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailViewGui.class);
 	private int patID;
 	private DicomGui dicomViewer;
 	private DicomThumbsModel dicomThumbsModel;
+	private final DicomThumbnailCache thumbnailCache = new DicomThumbnailCache();
+	private ThumbnailLoader thumbnailLoader;
 	boolean thumbnailViewEnabled = true;
 	boolean thumbnails;
 
@@ -85,8 +93,15 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 		setBackground(Color.DARK_GRAY);
 		if (thumbnails) {
-			setCellRenderer(new ImageListCellRender());
+			ImageListCellRender renderer = new ImageListCellRender();
+			setCellRenderer(renderer);
 			setLayoutOrientation(JList.VERTICAL);
+			/*
+			 * With a fixed cell size the list renders only the visible cells, so only their thumbnails are decoded
+			 */
+			Dimension cellSize = renderer.getCellSize();
+			setFixedCellWidth(cellSize.width);
+			setFixedCellHeight(cellSize.height);
 		}
 		else {
 			setCellRenderer(new CellListCellRender());
@@ -156,38 +171,64 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		dicomViewer.detail();
 	}
 
+	/*
+	 * The files are loaded in background, and their thumbnails are decoded only when shown
+	 */
 	private void loadDicomFromDB() {
-		FileDicom[] fdb = null;
-		try {
-			fdb = DicomManagerFactory.getManager().loadPatientFiles(patID);
-		} catch(OHServiceException ohServiceException) {
-			MessageDialog.showExceptions(ohServiceException);
-		}
-		if (fdb == null) {
-			fdb = new FileDicom[0];
+		if (thumbnailLoader != null) {
+			thumbnailLoader.cancel(true);
 		}
+		thumbnailCache.cancel();
+		thumbnailLoader = new ThumbnailLoader();
+		thumbnailLoader.execute();
+	}
 
-		dicomThumbsModel.clear();
+	private class ThumbnailLoader extends SwingWorker<FileDicom[], Void> {
 
-		for (FileDicom fileDicom : fdb) {
-			dicomThumbsModel.addInstance(fileDicom);
+		@Override
+		protected FileDicom[] doInBackground() throws OHServiceException {
+			return DicomManagerFactory.getManager().loadPatientFiles(patID);
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled() || thumbnailLoader != this) {
+				return;
+			}
+			thumbnailLoader = null;
+			FileDicom[] fdb = null;
+			try {
+				fdb = get();
+			} catch (CancellationException | InterruptedException e) {
+				return;
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof OHServiceException) {
+					MessageDialog.showExceptions((OHServiceException) e.getCause());
+				} else {
+					LOGGER.error("Unable to load the DICOM files.", e.getCause());
+				}
+			}
+			if (fdb == null) {
+				fdb = new FileDicom[0];
+			}
+			dicomThumbsModel.setInstances(Arrays.asList(fdb));
 		}
 	}
 
 	public static class DicomThumbsModel extends AbstractListModel {
 
 		private static final long serialVersionUID = 1L;
-		private LinkedList<FileDicom> thumbnailList;
+		private List<FileDicom> thumbnailList;
 
 		public DicomThumbsModel() {
 
-			thumbnailList = new LinkedList<>();
+			thumbnailList = new ArrayList<>();
 
 		}
 
 		@Override
 		public Object getElementAt(int index) {
-			if (index < 0) {
+			if (index < 0 || index >= thumbnailList.size()) {
 				return null;
 			} else {
 				return thumbnailList.get(index);
@@ -200,11 +241,22 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		}
 
 		public void addInstance(FileDicom instance) {
-			thumbnailList.addLast(instance);
+			thumbnailList.add(instance);
 			int size = thumbnailList.size();
 			fireIntervalAdded(this, size, size);
 		}
 
+		/**
+		 * Replaces all the instances, with a single notification.
+		 */
+		public void setInstances(List<FileDicom> instances) {
+			clear();
+			thumbnailList.addAll(instances);
+			if (!thumbnailList.isEmpty()) {
+				fireIntervalAdded(this, 0, thumbnailList.size() - 1);
+			}
+		}
+
 		public void clear() {
 			int size = thumbnailList.size();
 			if (size > 0) {
@@ -217,38 +269,54 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 	
 	private class CellListCellRender implements ListCellRenderer {
 
-		@Override
-		public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+		private final JPanel panel = new JPanel(new BorderLayout(), false);
+		private final JPanel header = new JPanel(new BorderLayout(), false);
+		private final JLabel date = new JLabel();
+		private final JLabel type = new JLabel();
+		private final JLabel center = new JLabel();
+		private final JLabel frames = new JLabel();
 
-			FileDicom instance = (FileDicom) value;
-			
-			JPanel panel = new JPanel(new BorderLayout(), false);
-			panel.setPreferredSize(new Dimension(list.getWidth(), 50));
+		CellListCellRender() {
 			//panel.setBackground(Color.DARK_GRAY);
-			panel.setToolTipText(getTooltipText(instance));
-			
+
 			// Header of thumbnail
-			JPanel header = new JPanel(new BorderLayout(), false);
-			JLabel date = new JLabel(TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
 			date.setForeground(Color.LIGHT_GRAY);
-			JLabel type = new JLabel(instance.getDicomType() == null ? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString());
 			type.setForeground(Color.LIGHT_GRAY);
 			header.add(date, BorderLayout.NORTH);
 			header.add(type, BorderLayout.CENTER);
 			header.setOpaque(false);
 			panel.add(header, BorderLayout.NORTH);
-			
+
 			// Center
-			JLabel center = new JLabel(instance.getDicomSeriesDescription().toUpperCase());
 			center.setForeground(Color.WHITE);
 			panel.add(center, BorderLayout.CENTER);
 
+			// Footer of thumbnail
+			frames.setForeground(Color.YELLOW);
+		}
+
+		@Override
+		public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+
+			FileDicom instance = (FileDicom) value;
+			
+			panel.setPreferredSize(new Dimension(list.getWidth(), 50));
+			panel.setToolTipText(getTooltipText(instance));
+			
+			// Header of thumbnail
+			date.setText(TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
+			type.setText(instance.getDicomType() == null ? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString());
+			
+			// Center
+			center.setText(instance.getDicomSeriesDescription().toUpperCase());
+
 			// Footer of thumbnail
 			int frameCount = instance.getFrameCount();
 			if (frameCount > 1) {
-				JLabel frames = new JLabel("[1/" + instance.getFrameCount() + ']');
-				frames.setForeground(Color.YELLOW);
+				frames.setText("[1/" + frameCount + ']');
 				panel.add(frames, BorderLayout.SOUTH);
+			} else {
+				panel.remove(frames);
 			}
 
 			// Colors of thumbnail
@@ -271,47 +339,75 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 
 	private class ImageListCellRender implements ListCellRenderer {
 
-		@Override
-		public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
-
-			FileDicom instance = (FileDicom) value;
+		private final JPanel panel = new JPanel(new BorderLayout(), true);
+		private final JPanel header = new JPanel(new BorderLayout(), false);
+		private final JLabel date = new JLabel();
+		private final JLabel type = new JLabel();
+		private final JLabel top = new JLabel();
+		private final JLabel jLab = new JLabel();
+		private final JLabel frames = new JLabel();
+
+		/*
+		 * The same components are filled for every cell
+		 */
+		ImageListCellRender() {
 			Dimension dim = new Dimension(130, 110);
-			
-			// Image Cell Panel
-			JPanel panel = new JPanel(new BorderLayout(), true);
-			//panel.setBounds(0, 0, list.getWidth(), 130);
-			panel.setBackground(Color.DARK_GRAY);
-			panel.setToolTipText(getTooltipText(instance));
 
 			// Header of thumbnail
-			JPanel header = new JPanel(new BorderLayout(), false);
-			JLabel date = new JLabel(TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
 			date.setForeground(Color.LIGHT_GRAY);
-			JLabel type = new JLabel(instance.getDicomType() == null? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString());
 			type.setForeground(Color.LIGHT_GRAY);
-			JLabel top = new JLabel(instance.getDicomSeriesDescription().toUpperCase());
 			top.setForeground(Color.LIGHT_GRAY);
 			header.add(date, BorderLayout.NORTH);
 			header.add(type, BorderLayout.CENTER);
 			header.add(top, BorderLayout.SOUTH);
 			panel.add(header, BorderLayout.NORTH);
-			
+
 			// Image
-			BufferedImage image = instance.getDicomThumbnailAsImage();
-			JLabel jLab = new JLabel(new ImageIcon(image));
 			jLab.setPreferredSize(dim);
 			jLab.setMaximumSize(dim);
 			jLab.setVerticalTextPosition(SwingConstants.BOTTOM);
 			jLab.setHorizontalTextPosition(SwingConstants.CENTER);
 			panel.add(jLab, BorderLayout.CENTER);
 
+			// Footer of thumbnail
+			frames.setForeground(Color.YELLOW);
+			panel.add(frames, BorderLayout.SOUTH);
+		}
+
+		/**
+		 * @return the size of a cell, with all the labels shown
+		 */
+		Dimension getCellSize() {
+			date.setText(TimeTools.formatDateTime(TimeTools.getNow(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
+			type.setText(MessageBundle.getMessage("angal.common.notdefined.txt"));
+			top.setText(" ");
+			frames.setText("[1/1]");
+			panel.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+			return panel.getPreferredSize();
+		}
+
+		@Override
+		public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+
+			FileDicom instance = (FileDicom) value;
+
+			panel.setToolTipText(getTooltipText(instance));
+
+			// Header of thumbnail
+			date.setText(TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
+			type.setText(instance.getDicomType() == null ? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString());
+			top.setText(instance.getDicomSeriesDescription().toUpperCase());
+
+			// Image, repainted when decoded
+			jLab.setIcon(thumbnailCache.get(instance, () -> {
+				if (index < list.getModel().getSize() && list.getModel().getElementAt(index) == instance) {
+					list.repaint(list.getCellBounds(index, index));
+				}
+			}));
+
 			// Footer of thumbnail
 			int frameCount = instance.getFrameCount();
-			if (frameCount > 1) {
-				JLabel frames = new JLabel("[1/" + instance.getFrameCount() + ']');
-				frames.setForeground(Color.YELLOW);
-				panel.add(frames, BorderLayout.SOUTH);
-			}
+			frames.setText(frameCount > 1 ? "[1/" + frameCount + ']' : null);
 
 			// Colors of thumbnail
 			if (isSelected) {
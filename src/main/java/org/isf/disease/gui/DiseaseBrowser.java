@@ -46,6 +46,7 @@ import org.isf.distype.manager.DiseaseTypeBrowserManager;
 import org.isf.distype.model.DiseaseType;
 import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
@@ -181,6 +182,7 @@ public class DiseaseBrowser extends ModalJFrame implements DiseaseListener {
 				try {
 					if (answer == JOptionPane.YES_OPTION) {
 						diseaseBrowserManager.deleteDisease(disease);
+						ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.ALL_DISEASES);
 						disease.setIpdInInclude(false);
 						disease.setIpdOutInclude(false);
 						disease.setOpdInclude(false);
@@ -47,6 +47,7 @@ import org.isf.distype.manager.DiseaseTypeBrowserManager;
 import org.isf.distype.model.DiseaseType;
 import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -281,6 +282,7 @@ public class DiseaseEdit extends JDialog {
 						}
 
 						if (result) {
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.ALL_DISEASES);
 							fireDiseaseInserted();
 						}
 					} else { // updating
@@ -291,6 +293,7 @@ public class DiseaseEdit extends JDialog {
 						}
 
 						if (result) {
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.ALL_DISEASES);
 							fireDiseaseUpdated();
 						}
 					}
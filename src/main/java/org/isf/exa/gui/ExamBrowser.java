@@ -45,6 +45,7 @@ import org.isf.exa.model.Exam;
 import org.isf.exatype.model.ExamType;
 import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -176,6 +177,7 @@ public class ExamBrowser extends ModalJFrame implements ExamListener {
 				boolean deleted = false;
 				try {
 					examBrowsingManager.deleteExam(examToDelete);
+					ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.EXAMS);
 					deleted = true;
 				} catch (OHServiceException e1) {
 					OHServiceExceptionUtil.showMessages(e1);
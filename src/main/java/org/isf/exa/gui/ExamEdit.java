@@ -44,6 +44,7 @@ import org.isf.exa.model.Exam;
 import org.isf.exatype.model.ExamType;
 import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -249,6 +250,7 @@ public class ExamEdit extends JDialog {
 						}
 						try {
 							examBrowsingManager.newExam(exam);
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.EXAMS);
 							fireExamInserted();
 						} catch (OHServiceException e1) {
 							OHServiceExceptionUtil.showMessages(e1);
@@ -257,6 +259,7 @@ public class ExamEdit extends JDialog {
 					} else {
 						try {
 							examBrowsingManager.updateExam(exam);
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.EXAMS);
 							fireExamUpdated();
 						} catch (OHServiceException e1) {
 							OHServiceExceptionUtil.showMessages(e1);
@@ -39,8 +39,6 @@ import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.ItemEvent;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -69,9 +67,9 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.JTableHeader;
-import javax.swing.table.TableCellRenderer;
 import javax.swing.text.JTextComponent;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.examination.manager.ExaminationBrowserManager;
 import org.isf.examination.model.GenderPatientExamination;
 import org.isf.examination.model.PatientExamination;
@@ -82,10 +80,10 @@ import org.isf.menu.manager.Context;
 import org.isf.stat.gui.report.GenericReportExamination;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
-import org.isf.utils.jobjects.IconButton;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.ScaledJSlider;
+import org.isf.utils.jobjects.TableButtonColumn;
 import org.isf.utils.jobjects.VoDoubleTextField;
 import org.isf.utils.jobjects.VoIntegerTextField;
 import org.isf.utils.jobjects.VoLimitedTextArea;
@@ -179,7 +177,7 @@ public class PatientExaminationEdit extends ModalJFrame {
 			MessageBundle.getMessage("angal.examination.note.col").toUpperCase()
 	};
 	private final Class[] columnClasses = { String.class, Integer.class, Double.class, String.class, Integer.class, Double.class, Double.class, Integer.class,
-			Integer.class, Integer.class, String.class, String.class, String.class, JButton.class };
+			Integer.class, Integer.class, String.class, String.class, String.class, String.class };
 	private int[] columnWidth = { 120, 40, 40, 100, 70, 50, 50, 50, 40, 50, 70, 70, 70, 70 };
 	private int[] columnAlignment = { SwingConstants.LEFT, SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER,
 			SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER,
@@ -1319,6 +1317,7 @@ public class PatientExaminationEdit extends ModalJFrame {
 					}
 					try {
 						examinationBrowserManager.remove(patexList);
+						PatientFolderData.invalidate(patex.getPatient());
 					} catch (OHServiceException ohServiceException) {
 						MessageDialog.showExceptions(ohServiceException);
 					} finally {
@@ -1484,6 +1483,7 @@ public class PatientExaminationEdit extends ModalJFrame {
 	private void savePatientExamaination(){
 		try {
 			examinationBrowserManager.saveOrUpdate(patex);
+			PatientFolderData.invalidate(patex.getPatient());
 			modified = false;
 		} catch (OHServiceException ohServiceException) {
 			MessageDialog.showExceptions(ohServiceException);
@@ -1919,52 +1919,33 @@ public class PatientExaminationEdit extends ModalJFrame {
 	private JScrollPane getJTableSummary() {
 		JScrollPane scrollPane = new JScrollPane();
 		scrollPane.setPreferredSize(new Dimension(890, 150));
-		TableCellRenderer buttonRenderer = new JTableButtonRenderer();
 		jTableSummary = new JTable(new JTableModelSummary());
 		for (int i = 0; i < columnNames.length - 1; i++) { // last column is for JButton
 			jTableSummary.getColumnModel().getColumn(i).setCellRenderer(new EnabledTableCellRenderer());
 			jTableSummary.getColumnModel().getColumn(i).setMinWidth(columnWidth[i]);
 		}
-		jTableSummary.getColumnModel().getColumn(columnNames.length - 1).setCellRenderer(buttonRenderer);
+		TableButtonColumn noteColumn = new TableButtonColumn(new ImageIcon("rsc/icons/list_button.png"), row -> {
+			VoLimitedTextArea noteArea = new VoLimitedTextArea(PatientExamination.PEX_NOTE_LENGTH, 6, 20);
+			noteArea.setText((String) jTableSummary.getModel().getValueAt(row, columnNames.length - 1));
+			noteArea.setEditable(false);
+			JOptionPane.showMessageDialog(PatientExaminationEdit.this,
+							new JScrollPane(noteArea),
+							MessageBundle.getMessage("angal.examination.note"), //$NON-NLS-1$
+							JOptionPane.INFORMATION_MESSAGE);
+		});
+		noteColumn.install(jTableSummary, columnNames.length - 1);
 		jTableSummary.getColumnModel().getColumn(columnNames.length - 1).setMinWidth(columnWidth[columnNames.length - 1]);
 		jTableSummary.setShowGrid(false);
 
 		JTableHeader header = jTableSummary.getTableHeader();
 		header.setBackground(Color.white);
 
-		jTableSummary.addMouseListener(new MouseAdapter() {
-
-			@Override
-			public void mouseClicked(MouseEvent me) {
-				int column = jTableSummary.getColumnModel().getColumnIndexAtX(me.getX()); // get the column of the button
-				JTable target = (JTable) me.getSource();
-				int row = target.getSelectedRow(); // select a row
-
-				/* Checking the row or column is valid or not */
-				if (row < jTableSummary.getRowCount() && row >= 0 && column < jTableSummary.getColumnCount() && column >= 0) {
-					Object value = jTableSummary.getValueAt(row, column);
-					if (value instanceof JButton) {
-						/* perform a click event */
-						((JButton) value).doClick();
-					}
-				}
-			}
-		});
-
 		scrollPane.setViewportView(jTableSummary);
 		scrollPane.getViewport().setBackground(Color.white);
 
 		return scrollPane;
 	}
 
-	private static class JTableButtonRenderer implements TableCellRenderer {
-
-		@Override
-		public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-			return (JButton) value;
-		}
-	}
-
 	public class JTableModelSummary extends AbstractTableModel {
 
 		private static final long serialVersionUID = 1L;
@@ -2015,7 +1996,8 @@ public class PatientExaminationEdit extends ModalJFrame {
 
 		@Override
 		public boolean isCellEditable(int r, int c) {
-			return false;
+			// only the note button, when there is a note
+			return c == columnNames.length - 1 && getValueAt(r, c) != null;
 		}
 
 		/*
@@ -2061,21 +2043,9 @@ public class PatientExaminationEdit extends ModalJFrame {
 				return patientExamination.getPex_auscultation() == null ? "-"
 								: examinationBrowserManager.getAuscultationTranslated(patientExamination.getPex_auscultation());
 			} else if (c == 13) {
+				// painted as a button by the column
 				String note = patientExamination.getPex_note();
-				if (!note.trim().isEmpty()) {
-					IconButton button = new IconButton(new ImageIcon("rsc/icons/list_button.png"));
-					button.addActionListener(actionEvent -> {
-						VoLimitedTextArea noteArea = new VoLimitedTextArea(PatientExamination.PEX_NOTE_LENGTH, 6, 20);
-						noteArea.setText(note);
-						noteArea.setEditable(false);
-						JOptionPane.showMessageDialog(PatientExaminationEdit.this,
-										new JScrollPane(noteArea),
-										MessageBundle.getMessage("angal.examination.note"), //$NON-NLS-1$
-										JOptionPane.INFORMATION_MESSAGE);
-					});
-					return button;
-				}
-				return null;
+				return note.trim().isEmpty() ? null : note;
 			}
 			return null;
 		}
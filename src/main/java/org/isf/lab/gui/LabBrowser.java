@@ -42,7 +42,7 @@ import javax.swing.SpringLayout;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 
-import org.isf.exa.manager.ExamBrowsingManager;
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.exa.model.Exam;
 import org.isf.exatype.model.ExamType;
 import org.isf.generaldata.GeneralData;
@@ -59,6 +59,7 @@ import org.isf.patient.gui.SelectPatient;
 import org.isf.patient.model.Patient;
 import org.isf.serviceprinting.manager.PrintLabels;
 import org.isf.serviceprinting.manager.PrintManager;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateChooser;
@@ -109,7 +110,6 @@ public class LabBrowser extends ModalJFrame implements LabListener, LabEditListe
 	private boolean[] columnsVisible = { true, GeneralData.LABEXTENDED, true, true};
 	private LabManager labManager = Context.getApplicationContext().getBean(LabManager.class);
 	private PrintManager printManager = Context.getApplicationContext().getBean(PrintManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private LabBrowsingModel model;
 	private Laboratory laboratory;
 	private int selectedrow;
@@ -322,6 +322,7 @@ public class LabBrowser extends ModalJFrame implements LabListener, LabEditListe
 					if (answer == JOptionPane.YES_OPTION) {
 						try {
 							labManager.deleteLaboratory(lab);
+							PatientFolderData.invalidate(lab.getPatient());
 							pLabs.remove(jTable.getSelectedRow());
 							model.fireTableDataChanged();
 							jTable.updateUI();
@@ -405,7 +406,7 @@ public class LabBrowser extends ModalJFrame implements LabListener, LabEditListe
 			comboExams.addItem(new Exam("", MessageBundle.getMessage("angal.common.all.txt"), new ExamType("", ""), 0, ""));
 			List<Exam> type;
 			try {
-				type = examBrowsingManager.getExams();
+				type = ReferenceDataCache.getInstance().get(ReferenceDataCache.EXAMS);
 			} catch (OHServiceException e1) {
 				type = null;
 				OHServiceExceptionUtil.showMessages(e1);
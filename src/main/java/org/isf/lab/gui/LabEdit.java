@@ -49,9 +49,9 @@ import javax.swing.WindowConstants;
 import javax.swing.border.EtchedBorder;
 import javax.swing.event.EventListenerList;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.manager.ExamRowBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.exa.model.ExamRow;
@@ -69,6 +69,7 @@ import org.isf.menu.manager.Context;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.serviceprinting.manager.PrintManager;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
@@ -114,7 +115,6 @@ public class LabEdit extends ModalJFrame {
 
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private LabManager labManager = Context.getApplicationContext().getBean(LabManager.class);
 	private LabRowManager labRowManager = Context.getApplicationContext().getBean(LabRowManager.class);
 	private ExamRowBrowsingManager examRowBrowsingManager = Context.getApplicationContext().getBean(ExamRowBrowsingManager.class);
@@ -362,7 +362,7 @@ public class LabEdit extends ModalJFrame {
 		if (examComboBox == null) {
 			List<Exam> exams;
 			try {
-				exams = examBrowsingManager.getExams();
+				exams = ReferenceDataCache.getInstance().get(ReferenceDataCache.EXAMS);
 			} catch (OHServiceException e) {
 				exams = null;
 				OHServiceExceptionUtil.showMessages(e);
@@ -536,12 +536,14 @@ public class LabEdit extends ModalJFrame {
 					lab.setAge(tmpAge);
 					try {
 						labManager.newLaboratory(lab, labRow);
+						PatientFolderData.invalidate(lab.getPatient());
 					} catch (OHServiceException e1) {
 						OHServiceExceptionUtil.showMessages(e1);
 					}
 				} else {
 					try {
 						labManager.updateLaboratory(lab, labRow);
+						PatientFolderData.invalidate(lab.getPatient());
 						fireLabUpdated();
 						dispose();
 					} catch (OHServiceException e1) {
@@ -49,9 +49,9 @@ import javax.swing.WindowConstants;
 import javax.swing.border.EtchedBorder;
 import javax.swing.event.EventListenerList;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.manager.ExamRowBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.exa.model.ExamRow;
@@ -70,6 +70,7 @@ import org.isf.menu.manager.Context;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.serviceprinting.manager.PrintManager;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
@@ -160,7 +161,6 @@ public class LabEditExtended extends ModalJFrame {
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
 	private ExamRowBrowsingManager examRowBrowsingManager = Context.getApplicationContext().getBean(ExamRowBrowsingManager.class);
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 
 	private JTextField examTextField;
 
@@ -465,7 +465,7 @@ public class LabEditExtended extends ModalJFrame {
 
 			List<Exam> exams;
 			try {
-				exams = examBrowsingManager.getExams();
+				exams = ReferenceDataCache.getInstance().get(ReferenceDataCache.EXAMS);
 			} catch (OHServiceException e) {
 				exams = null;
 				OHServiceExceptionUtil.showMessages(e);
@@ -639,12 +639,14 @@ public class LabEditExtended extends ModalJFrame {
 					lab.setAge(labPat.getAge());
 					try {
 						labManager.newLaboratory(lab, labRow);
+						PatientFolderData.invalidate(lab.getPatient());
 					} catch (OHServiceException e1) {
 						OHServiceExceptionUtil.showMessages(e1);
 					}
 				} else {
 					try {
 						labManager.updateLaboratory(lab, labRow);
+						PatientFolderData.invalidate(lab.getPatient());
 						fireLabUpdated();
 						dispose();
 					} catch (OHServiceException e1) {
@@ -59,9 +59,9 @@ import javax.swing.event.EventListenerList;
 import javax.swing.event.TableModelListener;
 import javax.swing.table.DefaultTableModel;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.manager.ExamRowBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.exa.model.ExamRow;
@@ -75,6 +75,7 @@ import org.isf.patient.gui.SelectPatient;
 import org.isf.patient.gui.SelectPatient.SelectionListener;
 import org.isf.patient.model.Patient;
 import org.isf.priceslist.model.Price;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
@@ -189,7 +190,6 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 	private List<String> matList = labManager.getMaterialList();
 
 	// Exams (ALL)
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private List<Exam> exaArray;
 
 	// Results (ALL)
@@ -203,7 +203,7 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 
 	public LabNew(JFrame owner) {
 		try {
-			exaArray = examBrowsingManager.getExams();
+			exaArray = ReferenceDataCache.getInstance().get(ReferenceDataCache.EXAMS);
 		} catch (OHServiceException e) {
 			exaArray = null;
 			OHServiceExceptionUtil.showMessages(e);
@@ -220,7 +220,7 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 		patientSelected = patient;
 
 		try {
-			exaArray = examBrowsingManager.getExams();
+			exaArray = ReferenceDataCache.getInstance().get(ReferenceDataCache.EXAMS);
 		} catch (OHServiceException e) {
 			exaArray = null;
 			OHServiceExceptionUtil.showMessages(e);
@@ -320,6 +320,7 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 
 				try {
 					labManager.newLaboratory2(examItems, examResults);
+					PatientFolderData.invalidate(patientSelected);
 					fireLabInserted();
 					dispose();
 				} catch (OHServiceException e1) {
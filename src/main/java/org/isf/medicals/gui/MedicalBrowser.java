@@ -64,7 +64,6 @@ import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.gui.MedicalEdit.MedicalListener;
 import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.gui.MainMenu;
 import org.isf.menu.manager.Context;
@@ -73,6 +72,7 @@ import org.isf.stat.gui.report.GenericReportPharmaceuticalAMC;
 import org.isf.stat.gui.report.GenericReportPharmaceuticalOrder;
 import org.isf.stat.gui.report.GenericReportPharmaceuticalStock;
 import org.isf.stat.gui.report.GenericReportPharmaceuticalStockCard;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.excel.ExcelExporter;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
@@ -156,7 +156,6 @@ public class MedicalBrowser extends ModalJFrame implements MedicalListener {
 	private String lastKey = "";
 	private JButton buttonAMC;
 
-	private MedicalTypeBrowserManager medicalTypeManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 
 	private void filterMedical(String key) {
@@ -595,7 +594,7 @@ public class MedicalBrowser extends ModalJFrame implements MedicalListener {
 			pbox.addItem(STR_ALL);
 			List<MedicalType> type;
 			try {
-				type = medicalTypeManager.getMedicalType();
+				type = ReferenceDataCache.getInstance().get(ReferenceDataCache.MEDICAL_TYPES);
 				for (MedicalType elem : type) {
 					pbox.addItem(elem);
 				}
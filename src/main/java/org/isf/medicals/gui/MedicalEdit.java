@@ -44,9 +44,9 @@ import javax.swing.event.EventListenerList;
 import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.exception.model.OHExceptionMessage;
@@ -120,7 +120,6 @@ public class MedicalEdit extends JDialog {
 	private Medical medical;
 	private boolean insert;
 
-	private MedicalTypeBrowserManager medicalTypeManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 
 	/**
@@ -432,7 +431,7 @@ public class MedicalEdit extends JDialog {
 		if (typeComboBox == null) {
 			typeComboBox = new JComboBox<>();
 			try {
-				List<MedicalType> types = medicalTypeManager.getMedicalType();
+				List<MedicalType> types = ReferenceDataCache.getInstance().get(ReferenceDataCache.MEDICAL_TYPES);
 				for (MedicalType elem : types) {
 					typeComboBox.addItem(elem);
 				}
@@ -36,7 +36,6 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.io.File;
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.time.LocalDate;
@@ -44,8 +43,14 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -65,6 +70,8 @@ import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.ToolTipManager;
 import javax.swing.UIManager;
 import javax.swing.WindowConstants;
@@ -80,15 +87,15 @@ import org.isf.medicals.model.Medical;
 import org.isf.medicalstock.manager.MovBrowserManager;
 import org.isf.medicalstock.model.Lot;
 import org.isf.medicalstock.model.Movement;
+import org.isf.medicalstockward.gui.WardStockSnapshot;
 import org.isf.medstockmovtype.manager.MedicalDsrStockMovementTypeBrowserManager;
 import org.isf.medstockmovtype.model.MovementType;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.gui.MainMenu;
 import org.isf.menu.manager.Context;
 import org.isf.stat.gui.report.GenericReportPharmaceuticalStockCard;
-import org.isf.supplier.manager.SupplierBrowserManager;
 import org.isf.supplier.model.Supplier;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.excel.ExcelExporter;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
@@ -98,7 +105,6 @@ import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.StockCardDialog;
 import org.isf.utils.jobjects.StockLedgerDialog;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,6 +122,12 @@ public class MovStockBrowser extends ModalJFrame {
 	private static final long serialVersionUID = 1L;
 	private static final Logger LOGGER = LoggerFactory.getLogger(MovStockBrowser.class);
 
+	private static final ExecutorService MOVEMENT_FETCHER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "MovStockBrowser");
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private static final String FROM_LABEL = MessageBundle.getMessage("angal.common.from.txt") + ':';
 	private static final String TO_LABEL = MessageBundle.getMessage("angal.common.to.txt") + ':';
 	private static final String TEXT_ALL = MessageBundle.getMessage("angal.common.all.txt");
@@ -143,7 +155,6 @@ public class MovStockBrowser extends ModalJFrame {
 	private int totalQti;
 	private BigDecimal totalAmount;
 	private MovBrowserModel model;
-	private List<Movement> moves;
 	private String[] pColumns = {
 			MessageBundle.getMessage("angal.medicalstock.refno.col").toUpperCase(), // 1
 			MessageBundle.getMessage("angal.common.date.txt").toUpperCase(), // 2
@@ -182,19 +193,16 @@ public class MovStockBrowser extends ModalJFrame {
 	private Map<Integer, String> supMap = new HashMap<>();
 
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
-	private MedicalTypeBrowserManager medicalTypeBrowserManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
 	private MedicalDsrStockMovementTypeBrowserManager medicalDsrStockMovementTypeBrowserManager = Context.getApplicationContext()
 					.getBean(MedicalDsrStockMovementTypeBrowserManager.class);
 	private MovBrowserManager movBrowserManager = Context.getApplicationContext().getBean(MovBrowserManager.class);
 	private HospitalBrowsingManager hospitalBrowsingManager = Context.getApplicationContext().getBean(HospitalBrowsingManager.class);
-	private SupplierBrowserManager supplierBrowserManager = Context.getApplicationContext().getBean(SupplierBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
 	public MovStockBrowser() {
 		myFrame = this;
 		setTitle(MessageBundle.getMessage("angal.medicalstock.stockmovementbrowser.title"));
 		try {
-			supMap = supplierBrowserManager.getHashMap(true);
+			supMap = ReferenceDataCache.getInstance().get(ReferenceDataCache.SUPPLIERS);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -319,38 +327,20 @@ public class MovStockBrowser extends ModalJFrame {
 	}
 
 	public void updateTotals() {
-		if (jTableTotal == null) {
+		if (jTableTotal == null || model == null) {
 			return;
 		}
-		totalQti = 0;
-		totalAmount = new BigDecimal(0);
+		totalQti = model.getTotalQuantity();
+		totalAmount = model.getTotalAmount();
 
 		// quantity
 		if (!medicalBox.getSelectedItem().equals(TEXT_ALL)) {
-			for (Movement mov : moves) {
-				if (mov.getType().getType().contains("+")) {
-					totalQti += mov.getQuantity();
-				} else {
-					totalQti -= mov.getQuantity();
-				}
-			}
 			jTableTotal.getModel().setValueAt(totalQti, 0, 4);
 		} else {
 			jTableTotal.getModel().setValueAt(MessageBundle.getMessage("angal.common.notapplicable.txt"), 0, 4);
 		}
 
 		// amount
-		for (Movement mov : moves) {
-			BigDecimal itemAmount = new BigDecimal(mov.getQuantity());
-			if (GeneralData.LOTWITHCOST && mov.getLot().getCost() != null) {
-				if (mov.getType().getType().contains("+")) {
-					totalAmount = totalAmount.add(itemAmount.multiply(mov.getLot().getCost()));
-				} else {
-					totalQti -= mov.getQuantity();
-					totalAmount = totalAmount.subtract(itemAmount.multiply(mov.getLot().getCost()));
-				}
-			}
-		}
 		jTableTotal.getModel().setValueAt(totalAmount, 0, 12);
 	}
 
@@ -490,7 +480,7 @@ public class MovStockBrowser extends ModalJFrame {
 		wardBox.addItem(TEXT_ALL);
 		List<Ward> wardsList;
 		try {
-			wardsList = wardBrowserManager.getWards();
+			wardsList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 			wardsList.sort(new Ward.WardDescriptionComparator());
 		} catch (OHServiceException e) {
 			wardsList = new ArrayList<>();
@@ -618,7 +608,7 @@ public class MovStockBrowser extends ModalJFrame {
 		medicalTypeBox.addItem(TEXT_ALL);
 
 		try {
-			medical = medicalTypeBrowserManager.getMedicalType();
+			medical = ReferenceDataCache.getInstance().get(ReferenceDataCache.MEDICAL_TYPES);
 
 			for (MedicalType aMedicalType : medical) {
 				medicalTypeBox.addItem(aMedicalType);
@@ -890,7 +880,7 @@ public class MovStockBrowser extends ModalJFrame {
 									.getCode();
 				}
 				if (!isAutomaticLot()) {
-					model = new MovBrowserModel(medicalSelected,
+					model.load(medicalSelected,
 									medicalTypeSelected, wardSelected, movementTypeSelected,
 									movDateFrom.getDateStartOfDay(),
 									movDateTo.getDateStartOfDay(),
@@ -899,7 +889,7 @@ public class MovStockBrowser extends ModalJFrame {
 									lotDueFrom.getDateStartOfDay(),
 									lotDueTo.getDateStartOfDay());
 				} else {
-					model = new MovBrowserModel(medicalSelected,
+					model.load(medicalSelected,
 									medicalTypeSelected, wardSelected, movementTypeSelected,
 									movDateFrom.getDateStartOfDay(),
 									movDateTo.getDateStartOfDay(),
@@ -908,14 +898,6 @@ public class MovStockBrowser extends ModalJFrame {
 									lotDueFrom.getDateStartOfDay(),
 									lotDueTo.getDateStartOfDay());
 				}
-
-				if (moves != null)
-
-				{
-					model.fireTableDataChanged();
-					movTable.updateUI();
-
-				}
 				updateTotals();
 			}
 		});
@@ -973,8 +955,7 @@ public class MovStockBrowser extends ModalJFrame {
 		chargeButton.setMnemonic(MessageBundle.getMnemonic("angal.medicalstock.charge.btn.key"));
 		chargeButton.addActionListener(actionEvent -> {
 			new MovStockMultipleCharging(myFrame);
-			model = new MovBrowserModel();
-			movTable.updateUI();
+			model.load();
 			updateTotals();
 			if (jCheckBoxKeepFilter.isSelected()) {
 				filterButton.doClick();
@@ -993,8 +974,7 @@ public class MovStockBrowser extends ModalJFrame {
 		dischargeButton.setMnemonic(MessageBundle.getMnemonic("angal.medicalstock.discharge.btn.key"));
 		dischargeButton.addActionListener(actionEvent -> {
 			new MovStockMultipleDischarging(myFrame);
-			model = new MovBrowserModel();
-			movTable.updateUI();
+			model.load();
 			updateTotals();
 			if (jCheckBoxKeepFilter.isSelected()) {
 				filterButton.doClick();
@@ -1029,6 +1009,9 @@ public class MovStockBrowser extends ModalJFrame {
 					int delete = MessageDialog.yesNo(null, "angal.medicalstock.doyoureallywanttodeletethismovement.msg");
 					if (delete == JOptionPane.YES_OPTION) {
 						movBrowserManager.deleteLastMovement(lastMovement);
+						if (lastMovement.getWard() != null) {
+							WardStockSnapshot.invalidate(lastMovement.getWard());
+						}
 					} else {
 						return;
 					}
@@ -1066,21 +1049,13 @@ public class MovStockBrowser extends ModalJFrame {
 						exportFile = new File(exportFile.getAbsoluteFile() + ".xls");
 					}
 				}
-				ExcelExporter xlsExport = new ExcelExporter();
-				try {
-					if (exportFile.getName().endsWith(".xlsx")) {
-						xlsExport.exportTableToExcel(movTable, exportFile);
-					} else {
-						xlsExport.exportTableToExcelOLD(movTable, exportFile);
-					}
-				} catch (IOException exc) {
-					JOptionPane.showMessageDialog(this,
-									exc.getMessage(),
-									MessageBundle.getMessage("angal.messagedialog.error.title"),
-									JOptionPane.PLAIN_MESSAGE);
-					LOGGER.info("Export to excel error : {}", exc.getMessage());
+				// the rows counted so far are enough to refuse an .xls file too small for them
+				if (MovementExcelExport.exceedsFile(exportFile, model.getRowCount())) {
+					MessageDialog.error(this, "angal.medicalstock.toomanyrowsforxls.fmt.msg", MovementExcelExport.XLS_MAX_ROWS);
+					return;
 				}
-
+				// streamed from the database in background, whatever the number of movements and while they are counted
+				new MovementExcelExport(this, model.newWindows(), exportFile, pColumns, pColumnVisible, model::getValueAt).execute();
 			}
 		});
 		return exportToExcel;
@@ -1140,39 +1115,179 @@ public class MovStockBrowser extends ModalJFrame {
 	}
 
 	/**
-	 * This is the table model
+	 * This is the table model: the movements are fetched by windows of days (see {@link MovementWindows}), counted in
+	 * background, and fetched again when their rows are shown after being dropped from memory
 	 */
 	class MovBrowserModel extends DefaultTableModel {
 
 		private static final long serialVersionUID = 1L;
 
+		private MovementWindows.Query query;
+		private LocalDateTime movFrom;
+		private LocalDateTime movTo;
+		private MovementWindows windows;
+		private MovementCounter counter;
+		private int rowCount;
+		private final Set<Integer> fetching = new HashSet<>();
+
 		public MovBrowserModel() {
+			load();
+		}
+
+		public MovBrowserModel(Integer medicalCode, String medicalType, String ward, String movType, LocalDateTime movFrom, LocalDateTime movTo,
+						LocalDateTime lotPrepFrom, LocalDateTime lotPrepTo, LocalDateTime lotDueFrom, LocalDateTime lotDueTo) {
+			load(medicalCode, medicalType, ward, movType, movFrom, movTo, lotPrepFrom, lotPrepTo, lotDueFrom, lotDueTo);
+		}
+
+		/**
+		 * Loads the movements of the last week.
+		 */
+		public void load() {
 			LocalDateTime now = TimeTools.getNow();
 			LocalDateTime old = now.minusWeeks(1);
 
-			new MovBrowserModel(null, null, null, null, old, now, null, null, null, null);
-			updateTotals();
+			load(null, null, null, null, old, now, null, null, null, null);
 		}
 
-		public MovBrowserModel(Integer medicalCode, String medicalType, String ward, String movType, LocalDateTime movFrom, LocalDateTime movTo,
+		public void load(Integer medicalCode, String medicalType, String ward, String movType, LocalDateTime movFrom, LocalDateTime movTo,
 						LocalDateTime lotPrepFrom, LocalDateTime lotPrepTo, LocalDateTime lotDueFrom, LocalDateTime lotDueTo) {
-			try {
-				moves = movBrowserManager.getMovements(medicalCode, medicalType, ward,
-								movType, movFrom, movTo, lotPrepFrom, lotPrepTo,
-								lotDueFrom, lotDueTo);
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
+			if (counter != null) {
+				counter.cancel(true);
 			}
+			fetching.clear();
+			this.query = (from, to) -> movBrowserManager.getMovements(medicalCode, medicalType, ward,
+							movType, from, to, lotPrepFrom, lotPrepTo,
+							lotDueFrom, lotDueTo);
+			this.movFrom = movFrom;
+			this.movTo = movTo;
+			windows = newWindows();
+			rowCount = 0;
+			fireTableDataChanged();
+			counter = new MovementCounter(windows);
+			counter.execute();
+		}
 
-			updateTotals();
+		/**
+		 * @return new windows over the movements of the current filter, independent from the ones shown
+		 */
+		public MovementWindows newWindows() {
+			return new MovementWindows(query, movFrom, movTo, GeneralData.LOTWITHCOST);
+		}
+
+		public int getTotalQuantity() {
+			return windows == null ? 0 : windows.getTotalQuantity();
+		}
+
+		public BigDecimal getTotalAmount() {
+			return windows == null ? BigDecimal.ZERO : windows.getTotalAmount();
 		}
 
 		@Override
 		public int getRowCount() {
-			if (moves == null) {
-				return 0;
+			return rowCount;
+		}
+
+		/*
+		 * The movement of the row, or null while it is fetched in background
+		 */
+		private Movement getMovement(int row, boolean now) {
+			Movement movement = windows.getCached(row);
+			if (movement != null || row >= rowCount) {
+				return movement;
+			}
+			int window = windows.getWindow(row);
+			if (windows.isCached(window)) {
+				// the window changed since it was counted
+				return null;
+			}
+			if (now) {
+				try {
+					windows.cache(window, windows.fetch(window));
+				} catch (OHServiceException e) {
+					OHServiceExceptionUtil.showMessages(e);
+				}
+				return windows.getCached(row);
+			}
+			if (fetching.add(window)) {
+				MovementWindows fetchingWindows = windows;
+				MOVEMENT_FETCHER.execute(() -> {
+					try {
+						List<Movement> movements = fetchingWindows.fetch(window);
+						SwingUtilities.invokeLater(() -> {
+							if (windows == fetchingWindows && fetching.remove(window)) {
+								windows.cache(window, movements);
+								fireTableRowsUpdated(windows.getFirstRow(window), windows.getLastRow(window));
+							}
+						});
+					} catch (OHServiceException e) {
+						SwingUtilities.invokeLater(() -> {
+							if (windows == fetchingWindows && fetching.remove(window)) {
+								OHServiceExceptionUtil.showMessages(e);
+							}
+						});
+					}
+				});
+			}
+			return null;
+		}
+
+		/*
+		 * Counts the rows and the totals of all the windows, adding the rows to the table as they are counted
+		 */
+		private class MovementCounter extends SwingWorker<Void, Integer> {
+
+			private final MovementWindows counting;
+
+			MovementCounter(MovementWindows counting) {
+				this.counting = counting;
+			}
+
+			@Override
+			protected Void doInBackground() throws OHServiceException {
+				for (int window = 0; window < counting.getWindowCount() && !isCancelled(); window++) {
+					counting.count(counting.fetch(window));
+					publish(window);
+				}
+				return null;
+			}
+
+			@Override
+			protected void process(List<Integer> chunks) {
+				if (isStale()) {
+					return;
+				}
+				int first = rowCount;
+				int last = counting.getLastRow(chunks.get(chunks.size() - 1));
+				if (last >= first) {
+					rowCount = last + 1;
+					fireTableRowsInserted(first, last);
+				}
+				updateTotals();
+			}
+
+			@Override
+			protected void done() {
+				if (isStale()) {
+					return;
+				}
+				counter = null;
+				try {
+					get();
+				} catch (CancellationException | InterruptedException e) {
+					return;
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof OHServiceException) {
+						OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
+					} else {
+						LOGGER.error("Unable to load the movements.", e.getCause());
+					}
+				}
+				updateTotals();
+			}
+
+			private boolean isStale() {
+				return isCancelled() || windows != counting;
 			}
-			return moves.size();
 		}
 
 		@Override
@@ -1192,7 +1307,17 @@ public class MovStockBrowser extends ModalJFrame {
 		 */
 		@Override
 		public Object getValueAt(int r, int c) {
-			Movement movement = moves.get(r);
+			Movement movement = getMovement(r, c == -1);
+			if (movement == null) {
+				return null;
+			}
+			return getValueAt(movement, c);
+		}
+
+		/**
+		 * @return the value of the column for the movement, or the movement itself for column {@code -1}
+		 */
+		public Object getValueAt(Movement movement, int c) {
 			Medical medical = movement.getMedical();
 			Lot lot = movement.getLot();
 			BigDecimal cost = lot.getCost();
@@ -69,9 +69,11 @@ import org.isf.medicals.model.Medical;
 import org.isf.medicalstock.manager.MovStockInsertingManager;
 import org.isf.medicalstock.model.Lot;
 import org.isf.medicalstock.model.Movement;
+import org.isf.medicalstockward.gui.WardStockSnapshot;
 import org.isf.medstockmovtype.manager.MedicalDsrStockMovementTypeBrowserManager;
 import org.isf.medstockmovtype.model.MovementType;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.db.NormalizeString;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
@@ -80,7 +82,6 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.TextPrompt;
 import org.isf.utils.jobjects.TextPrompt.Show;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.isf.xmpp.gui.CommunicationFrame;
 import org.isf.xmpp.manager.Interaction;
@@ -138,7 +139,6 @@ public class MovStockMultipleDischarging extends JDialog {
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private MedicalDsrStockMovementTypeBrowserManager medicalDsrStockMovementTypeBrowserManager = Context.getApplicationContext()
 					.getBean(MedicalDsrStockMovementTypeBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
 	private boolean isAutomaticLotOut() {
 		return GeneralData.AUTOMATICLOT_OUT;
@@ -736,7 +736,7 @@ public class MovStockMultipleDischarging extends JDialog {
 			jComboBoxDestination.addItem(""); //$NON-NLS-1$
 			List<Ward> wardsList;
 			try {
-				wardsList = wardBrowserManager.getWards();
+				wardsList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 				wardsList.sort(new Ward.WardDescriptionComparator());
 			} catch (OHServiceException e) {
 				wardsList = new ArrayList<>();
@@ -956,6 +956,7 @@ public class MovStockMultipleDischarging extends JDialog {
 		List<Movement> movements = model.getMovements();
 		try {
 			movStockInsertingManager.newMultipleDischargingMovements(movements, movements.get(0).getRefNo());
+			WardStockSnapshot.invalidate(movements.get(0).getWard());
 
 			if (isXmpp()) {
 				if (shareWith.isEnabled() && (!(shareWith.getSelectedItem()
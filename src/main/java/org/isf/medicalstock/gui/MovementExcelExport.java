@@ -0,0 +1,214 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import java.awt.Component;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JOptionPane;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.isf.generaldata.MessageBundle;
+import org.isf.medicalstock.model.Movement;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.isf.utils.jobjects.MessageDialog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports the movements shown by {@link MovStockBrowser} to an Excel workbook, in background.
+ * <p>
+ * The movements are read from the database window by window, on new {@link MovementWindows} counted as they are
+ * read, so that the export does not wait for the rows shown to be counted. {@code .xlsx} files are written through
+ * a {@link SXSSFWorkbook}, which keeps only the last rows in memory and flushes the others to a temporary file, so
+ * that the memory used does not depend on the number of movements; {@code .xls} files through a
+ * {@link HSSFWorkbook}, which keeps all the rows in memory and cannot hold more than {@link #XLS_MAX_ROWS}
+ * movements: a bigger export is stopped before the limit, and the user is asked for an {@code .xlsx} file.
+ * The progress is shown in a {@link ProgressMonitor}, which can cancel the export.
+ */
+class MovementExcelExport extends SwingWorker<Integer, Integer> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MovementExcelExport.class);
+
+	/**
+	 * Rows kept in memory by the workbook.
+	 */
+	static final int ROWS_IN_MEMORY = 100;
+
+	/**
+	 * Movements held by an {@code .xls} sheet, besides the header.
+	 */
+	static final int XLS_MAX_ROWS = 65535;
+
+	/**
+	 * The values of the columns of a movement.
+	 */
+	interface CellValues {
+
+		Object getValueAt(Movement movement, int column);
+	}
+
+	private final Component parent;
+	private final MovementWindows windows;
+	private final File file;
+	private final String[] columns;
+	private final boolean[] columnVisible;
+	private final CellValues values;
+	private final ProgressMonitor monitor;
+	private volatile int rows;
+	private volatile boolean tooManyRows;
+
+	/**
+	 * @param windows - new windows, not counted yet
+	 * @param columnVisible - only the visible columns are exported
+	 */
+	MovementExcelExport(Component parent, MovementWindows windows, File file, String[] columns, boolean[] columnVisible, CellValues values) {
+		this.parent = parent;
+		this.windows = windows;
+		this.file = file;
+		this.columns = columns;
+		this.columnVisible = columnVisible;
+		this.values = values;
+		this.monitor = new ProgressMonitor(parent, MessageBundle.getMessage("angal.medicalstock.exporttoexcel.btn"), "", 0,
+				(int) windows.getDayCount());
+		monitor.setMillisToDecideToPopup(200);
+	}
+
+	/**
+	 * @return {@code true} if the movements do not fit in the file, which is an {@code .xls} one
+	 */
+	static boolean exceedsFile(File file, int rows) {
+		return isXls(file) && rows > XLS_MAX_ROWS;
+	}
+
+	private static boolean isXls(File file) {
+		return file.getName().endsWith(".xls");
+	}
+
+	@Override
+	protected Integer doInBackground() throws OHServiceException, IOException {
+		Workbook workbook = isXls(file) ? new HSSFWorkbook() : new SXSSFWorkbook(ROWS_IN_MEMORY);
+		try {
+			Sheet sheet = workbook.createSheet();
+			Row header = sheet.createRow(0);
+			int cellIndex = 0;
+			for (int column = 0; column < columns.length; column++) {
+				if (columnVisible[column]) {
+					header.createCell(cellIndex++).setCellValue(columns[column]);
+				}
+			}
+			int rowIndex = 1;
+			for (int window = 0; window < windows.getWindowCount(); window++) {
+				if (isCancelled()) {
+					return rows;
+				}
+				List<Movement> movements = windows.fetch(window);
+				// sizes the next window
+				windows.count(movements);
+				if (exceedsFile(file, rowIndex - 1 + movements.size())) {
+					// stopped before filling the memory, the file is not written
+					tooManyRows = true;
+					return rows;
+				}
+				for (Movement movement : movements) {
+					Row row = sheet.createRow(rowIndex++);
+					cellIndex = 0;
+					for (int column = 0; column < columns.length; column++) {
+						if (columnVisible[column]) {
+							setCellValue(row.createCell(cellIndex++), values.getValueAt(movement, column));
+						}
+					}
+				}
+				rows = rowIndex - 1;
+				publish((int) windows.getCountedDays());
+			}
+			try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+				workbook.write(outputStream);
+			}
+			return rows;
+		} finally {
+			if (workbook instanceof SXSSFWorkbook) {
+				// deletes the temporary files of the rows flushed from memory
+				((SXSSFWorkbook) workbook).dispose();
+			}
+			workbook.close();
+		}
+	}
+
+	@Override
+	protected void process(List<Integer> chunks) {
+		if (monitor.isCanceled()) {
+			cancel(true);
+			return;
+		}
+		monitor.setProgress(chunks.get(chunks.size() - 1));
+		monitor.setNote(MessageBundle.formatMessage("angal.medicalstock.exportedrows.fmt.txt", rows));
+	}
+
+	@Override
+	protected void done() {
+		monitor.close();
+		try {
+			get();
+			if (tooManyRows) {
+				MessageDialog.error(parent, "angal.medicalstock.toomanyrowsforxls.fmt.msg", XLS_MAX_ROWS);
+			}
+		} catch (CancellationException | InterruptedException e) {
+			return;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof OHServiceException) {
+				OHServiceExceptionUtil.showMessages((OHServiceException) cause);
+			} else {
+				JOptionPane.showMessageDialog(parent,
+						cause.getMessage(),
+						MessageBundle.getMessage("angal.messagedialog.error.title"),
+						JOptionPane.PLAIN_MESSAGE);
+				LOGGER.info("Export to excel error : {}", cause.getMessage());
+			}
+		}
+	}
+
+	private static void setCellValue(Cell cell, Object value) {
+		if (value instanceof Number) {
+			cell.setCellValue(((Number) value).doubleValue());
+		} else if (value != null) {
+			cell.setCellValue(value.toString());
+		}
+	}
+
+}
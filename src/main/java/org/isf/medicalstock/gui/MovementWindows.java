@@ -0,0 +1,269 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.isf.medicalstock.model.Movement;
+import org.isf.utils.exception.OHServiceException;
+
+/**
+ * The movements of a date range, fetched by windows of days so that only a bounded number of them is in memory.
+ * <p>
+ * The windows go from the most recent to the oldest, as the movements are returned by the query. Each window is
+ * fetched once to count its rows and to add them to the totals, then only the most recently used windows are kept,
+ * up to {@link #MAX_CACHED_ROWS} rows; the others are fetched again when their rows are shown.
+ * <p>
+ * The first window is of {@link #WINDOW_DAYS} days, and each next one is sized when the previous is counted, so that
+ * it holds about {@link #TARGET_ROWS} rows: long ranges with few movements take a few queries, not one per week.
+ */
+class MovementWindows {
+
+	/**
+	 * The query of the movements of the days from {@code from} to {@code to}, both included.
+	 */
+	interface Query {
+
+		List<Movement> getMovements(LocalDateTime from, LocalDateTime to) throws OHServiceException;
+	}
+
+	static final int WINDOW_DAYS = 7;
+	static final int TARGET_ROWS = 1000;
+	static final int MAX_WINDOW_DAYS = 366;
+	static final int MAX_CACHED_ROWS = 5000;
+
+	/**
+	 * The most a window grows over the previous one, since the movements are not evenly spread.
+	 */
+	private static final int MAX_GROWTH = 4;
+
+	private final Query query;
+	private final boolean withCost;
+	private final List<LocalDateTime[]> ranges = new ArrayList<>();
+	private final LocalDateTime firstDay;
+	private final long dayCount;
+	private long countedDays;
+	private int[] starts = new int[16];
+	private int counted;
+	private final Map<Integer, List<Movement>> cache = new LinkedHashMap<>(16, 0.75f, true);
+	private int cachedRows;
+
+	private int totalQuantity;
+	private BigDecimal totalAmount = BigDecimal.ZERO;
+
+	/**
+	 * @param from - the first day, at the start of the day
+	 * @param to - the last day, at the start of the day
+	 * @param withCost - if the lots have a cost, to be added to the total amount
+	 */
+	MovementWindows(Query query, LocalDateTime from, LocalDateTime to, boolean withCost) {
+		this.query = query;
+		this.withCost = withCost;
+		LocalDateTime lastDay = to == null ? null : to.toLocalDate().atStartOfDay();
+		if (from != null && to != null && !lastDay.isBefore(from.toLocalDate().atStartOfDay())) {
+			firstDay = from.toLocalDate().atStartOfDay();
+			dayCount = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+			addRange(lastDay, WINDOW_DAYS);
+		} else {
+			firstDay = null;
+			dayCount = 1;
+			ranges.add(new LocalDateTime[] { from, to });
+		}
+	}
+
+	/**
+	 * @param days - the days of the window just counted
+	 * @param rows - the rows of the window just counted
+	 * @return the days of the next window
+	 */
+	static long nextWindowDays(long days, int rows) {
+		long next = rows == 0 ? days * MAX_GROWTH : days * TARGET_ROWS / rows;
+		return Math.max(1, Math.min(next, Math.min(days * MAX_GROWTH, MAX_WINDOW_DAYS)));
+	}
+
+	private void addRange(LocalDateTime windowTo, long days) {
+		LocalDateTime windowFrom = windowTo.minusDays(days - 1);
+		ranges.add(new LocalDateTime[] { windowFrom.isBefore(firstDay) ? firstDay : windowFrom, windowTo });
+	}
+
+	/**
+	 * @return the windows known so far: the next one is added when the previous is counted
+	 */
+	synchronized int getWindowCount() {
+		return ranges.size();
+	}
+
+	/**
+	 * @return the days of the whole range
+	 */
+	long getDayCount() {
+		return dayCount;
+	}
+
+	/**
+	 * @return the days of the windows counted so far
+	 */
+	synchronized long getCountedDays() {
+		return countedDays;
+	}
+
+	/**
+	 * @return the movements of the window, from the database
+	 */
+	List<Movement> fetch(int window) throws OHServiceException {
+		LocalDateTime[] range;
+		LocalDateTime next;
+		synchronized (this) {
+			range = ranges.get(window);
+			next = window > 0 ? ranges.get(window - 1)[0] : null;
+		}
+		List<Movement> movements = query.getMovements(range[0], range[1]);
+		if (next != null) {
+			// a movement at the very start of the next day belongs to the next window
+			movements = new ArrayList<>(movements);
+			movements.removeIf(movement -> !movement.getDate().isBefore(next));
+		}
+		return movements;
+	}
+
+	/**
+	 * Adds the rows of the next window, fetched with {@link #fetch(int)}, to the count and to the totals, and sizes
+	 * the window after it.
+	 *
+	 * @return the index of the first row of the window
+	 */
+	synchronized int count(List<Movement> movements) {
+		int first = starts[counted];
+		for (Movement movement : movements) {
+			boolean charge = movement.getType().getType().contains("+");
+			totalQuantity += charge ? movement.getQuantity() : -movement.getQuantity();
+			BigDecimal cost = movement.getLot().getCost();
+			if (withCost && cost != null) {
+				BigDecimal amount = cost.multiply(new BigDecimal(movement.getQuantity()));
+				totalAmount = charge ? totalAmount.add(amount) : totalAmount.subtract(amount);
+			}
+		}
+		if (counted + 2 > starts.length) {
+			starts = Arrays.copyOf(starts, starts.length * 2);
+		}
+		starts[counted + 1] = first + movements.size();
+		cache(counted, movements);
+		LocalDateTime[] range = ranges.get(counted);
+		counted++;
+		if (firstDay == null) {
+			countedDays = dayCount;
+		} else {
+			long days = ChronoUnit.DAYS.between(range[0], range[1]) + 1;
+			countedDays += days;
+			if (range[0].isAfter(firstDay)) {
+				addRange(range[0].minusDays(1), nextWindowDays(days, movements.size()));
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * @return {@code true} when all the windows have been counted
+	 */
+	synchronized boolean isCounted() {
+		return counted == ranges.size();
+	}
+
+	/**
+	 * @return the rows counted so far
+	 */
+	synchronized int getRowCount() {
+		return starts[counted];
+	}
+
+	synchronized int getTotalQuantity() {
+		return totalQuantity;
+	}
+
+	synchronized BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	/**
+	 * @return the window of a counted row
+	 */
+	synchronized int getWindow(int row) {
+		int index = Arrays.binarySearch(starts, 0, counted + 1, row);
+		if (index < 0) {
+			return -index - 2;
+		}
+		// empty windows share their start with the next one
+		while (starts[index + 1] == row) {
+			index++;
+		}
+		return index;
+	}
+
+	synchronized int getFirstRow(int window) {
+		return starts[window];
+	}
+
+	synchronized int getLastRow(int window) {
+		return starts[window + 1] - 1;
+	}
+
+	/**
+	 * @return the movement of the row, or {@code null} if its window is not in memory
+	 */
+	synchronized Movement getCached(int row) {
+		int window = getWindow(row);
+		List<Movement> movements = cache.get(window);
+		if (movements == null) {
+			return null;
+		}
+		int offset = row - starts[window];
+		// the window may have changed since it was counted
+		return offset < movements.size() ? movements.get(offset) : null;
+	}
+
+	synchronized boolean isCached(int window) {
+		return cache.containsKey(window);
+	}
+
+	synchronized void cache(int window, List<Movement> movements) {
+		List<Movement> old = cache.put(window, movements);
+		if (old != null) {
+			cachedRows -= old.size();
+		}
+		cachedRows += movements.size();
+		Iterator<List<Movement>> iterator = cache.values().iterator();
+		// the last window is always kept, even if bigger than the cache
+		while (cachedRows > MAX_CACHED_ROWS && cache.size() > 1) {
+			cachedRows -= iterator.next().size();
+			iterator.remove();
+		}
+	}
+
+}
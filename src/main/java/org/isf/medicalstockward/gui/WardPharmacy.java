@@ -73,20 +73,16 @@ import javax.swing.WindowConstants;
 import javax.swing.border.TitledBorder;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableCellRenderer;
 
 import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
-import org.isf.medicalstock.manager.MovBrowserManager;
 import org.isf.medicalstock.model.Lot;
 import org.isf.medicalstock.model.Movement;
 import org.isf.medicalstockward.gui.WardPharmacyRectify.MovementWardListeners;
 import org.isf.medicalstockward.manager.MovWardBrowserManager;
 import org.isf.medicalstockward.model.MedicalWard;
 import org.isf.medicalstockward.model.MovementWard;
-import org.isf.medstockmovtype.model.MovementType;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.gui.MainMenu;
 import org.isf.menu.manager.Context;
@@ -94,6 +90,7 @@ import org.isf.patient.model.Patient;
 import org.isf.serviceprinting.manager.PrintManager;
 import org.isf.stat.gui.report.GenericReportPharmaceuticalStockCard;
 import org.isf.stat.gui.report.GenericReportPharmaceuticalStockWard;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.excel.ExcelExporter;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
@@ -102,9 +99,9 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.StockCardDialog;
 import org.isf.utils.jobjects.StockLedgerDialog;
+import org.isf.utils.jobjects.TableButtonColumn;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,13 +113,16 @@ public class WardPharmacy extends ModalJFrame implements
 				MovementWardListeners {
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public void movementInserted(AWTEvent e) {
+		WardStockSnapshot.movementsInserted((List<MovementWard>) e.getSource());
 		jTableOutcomes.setModel(new OutcomesModel());
 		jTableDrugs.setModel(new DrugsModel());
 	}
 
 	@Override
 	public void movementUpdated(AWTEvent e) {
+		WardStockSnapshot.invalidate(wardSelected);
 		jTableOutcomes.setModel(new OutcomesModel());
 		jTableDrugs.setModel(new DrugsModel());
 	}
@@ -221,15 +221,10 @@ public class WardPharmacy extends ModalJFrame implements
 	/*
 	 * Managers and datas
 	 */
-	private MovBrowserManager movBrowserManager = Context.getApplicationContext().getBean(MovBrowserManager.class);
 	private PrintManager printManager = Context.getApplicationContext().getBean(PrintManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
-	private MedicalTypeBrowserManager medicalTypeBrowserManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 
-	private List<Movement> listMovementCentral = new ArrayList<>();
-	private List<MovementWard> listMovementWardFromTo = new ArrayList<>();
 	private List<MedicalWard> wardDrugs;
 	private List<MovementWard> wardOutcomes;
 	private List<Movement> wardIncomes;
@@ -252,8 +247,6 @@ public class WardPharmacy extends ModalJFrame implements
 			@Override
 			public void windowClosing(WindowEvent e) {
 				// to free memory
-				listMovementCentral.clear();
-				listMovementWardFromTo.clear();
 				if (wardDrugs != null) {
 					wardDrugs.clear();
 				}
@@ -373,8 +366,6 @@ public class WardPharmacy extends ModalJFrame implements
 			jButtonClose.setMnemonic(MessageBundle.getMnemonic("angal.common.close.btn.key"));
 			jButtonClose.addActionListener(actionEvent -> {
 				// to free memory
-				listMovementCentral.clear();
-				listMovementWardFromTo.clear();
 				if (wardDrugs != null) {
 					wardDrugs.clear();
 				}
@@ -420,6 +411,7 @@ public class WardPharmacy extends ModalJFrame implements
 					return;
 				}
 				MessageDialog.info(this, "angal.medicalstock.deletemovementsuccess.msg");
+				WardStockSnapshot.invalidate(wardSelected);
 				filterButton.doClick();
 				jTableDrugs.setModel(new DrugsModel());
 
@@ -533,8 +525,14 @@ public class WardPharmacy extends ModalJFrame implements
 			DefaultTableModel modelDrugs = new DrugsModel();
 			jTableDrugs = new JTable(modelDrugs);
 			jTableDrugs.setAutoCreateColumnsFromModel(false);
-			TableCellRenderer buttonRenderer = new JTableButtonRenderer();
-			jTableDrugs.getColumn("").setCellRenderer(buttonRenderer);
+			TableButtonColumn rectifyColumn = new TableButtonColumn(MessageBundle.getMessage("angal.medicalstockward.rectify.btn"), row -> {
+				Medical medic = ((MedicalWard) jTableDrugs.getModel().getValueAt(row, -1)).getMedical();
+				WardPharmacyRectify wardRectify = new WardPharmacyRectify(WardPharmacy.this, wardSelected, medic);
+				wardRectify.addMovementWardListener(WardPharmacy.this);
+				wardRectify.setVisible(true);
+			});
+			rectifyColumn.setMnemonic(MessageBundle.getMnemonic("angal.medicalstockward.rectify.btn.key"));
+			rectifyColumn.install(jTableDrugs, 3);
 			for (int i = 0; i < columnWidthDrugs.length; i++) {
 				jTableDrugs.getColumnModel().getColumn(i).setMinWidth(columnWidthDrugs[i]);
 				if (!columnsResizableDrugs[i]) {
@@ -546,20 +544,10 @@ public class WardPharmacy extends ModalJFrame implements
 
 				@Override
 				public void mouseClicked(MouseEvent me) {
-					int column = jTableDrugs.getColumnModel().getColumnIndexAtX(me.getX()); // get the column of the button
 					JTable target = (JTable) me.getSource();
 					int row = target.getSelectedRow(); // select a row
 
-					/* Checking the row or column is valid or not */
-					if (row < jTableDrugs.getRowCount() && row >= 0 && column < jTableDrugs.getColumnCount() && column >= 0) {
-						Object value = jTableDrugs.getValueAt(row, column);
-						if (value instanceof JButton) {
-							/* perform a click event */
-							((JButton) value).doClick();
-						}
-					}
-
-					if (me.getClickCount() == 2) { // to detect double click events
+					if (me.getClickCount() == 2 && row >= 0) { // to detect double click events
 
 						showLotDetail(wardDrugs, (String) jTableDrugs.getValueAt(row, 0));// get the value of a row and column.
 					}
@@ -569,14 +557,6 @@ public class WardPharmacy extends ModalJFrame implements
 		return jTableDrugs;
 	}
 
-	private static class JTableButtonRenderer implements TableCellRenderer {
-
-		@Override
-		public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-			return (JButton) value;
-		}
-	}
-
 	private void showLotDetail(List<MedicalWard> drug, String me) {
 		List<MedicalWard> medicalWardList = new ArrayList<>();
 		for (MedicalWard elem : drug) {
@@ -936,7 +916,7 @@ public class WardPharmacy extends ModalJFrame implements
 			jComboBoxTypes.addItem(MessageBundle.getMessage("angal.common.alltypes.txt"));
 
 			try {
-				medicalTypes = medicalTypeBrowserManager.getMedicalType();
+				medicalTypes = ReferenceDataCache.getInstance().get(ReferenceDataCache.MEDICAL_TYPES);
 
 				for (MedicalType aMedicalType : medicalTypes) {
 					jComboBoxTypes.addItem(aMedicalType);
@@ -1117,7 +1097,7 @@ public class WardPharmacy extends ModalJFrame implements
 			jComboBoxWard = new JComboBox();
 			List<Ward> wardList;
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 			} catch (OHServiceException e) {
 				wardList = new ArrayList<>();
 				OHServiceExceptionUtil.showMessages(e);
@@ -1191,36 +1171,10 @@ public class WardPharmacy extends ModalJFrame implements
 		private static final long serialVersionUID = 1L;
 
 		public IncomesModel() {
-			wardIncomes = new ArrayList<>();
 			try {
-				listMovementCentral = movBrowserManager.getMovements(wardSelected.getCode(), dateFrom, dateTo);
-
-				for (Movement mov : listMovementCentral) {
-					if (mov.getWard().getDescription() != null) {
-						if (mov.getWard().equals(wardSelected)) {
-							wardIncomes.add(mov);
-						}
-					}
-				}
-
-				// List movements from other wards
-				for (MovementWard wMvnt : movWardBrowserManager.getWardMovementsToWard(wardSelected.getCode(), dateFrom, dateTo)) {
-					if (wMvnt.getWardTo().getDescription() != null) {
-						if (wMvnt.getWardTo().equals(wardSelected)) {
-							MovementType typeCharge = new MovementType("fromward", wMvnt.getWard().getDescription(), "*", "*");
-							wardIncomes.add(new Movement(
-											wMvnt.getMedical(),
-											typeCharge,
-											wardSelected,
-											wMvnt.getLot(),
-											wMvnt.getDate(),
-											wMvnt.getQuantity().intValue(),
-											null,
-											null));
-						}
-					}
-				}
+				wardIncomes = new ArrayList<>(WardStockSnapshot.get(wardSelected, dateFrom, dateTo).getIncomes());
 			} catch (OHServiceException ohServiceException) {
+				wardIncomes = new ArrayList<>();
 				OHServiceExceptionUtil.showMessages(ohServiceException);
 				LOGGER.error(ohServiceException.getMessage(), ohServiceException);
 			}
@@ -1297,8 +1251,9 @@ public class WardPharmacy extends ModalJFrame implements
 
 		public OutcomesModel() {
 			wardOutcomes = new ArrayList<>();
+			List<MovementWard> listMovementWardFromTo;
 			try {
-				listMovementWardFromTo = movWardBrowserManager.getMovementWard(wardSelected.getCode(), dateFrom, dateTo);
+				listMovementWardFromTo = WardStockSnapshot.get(wardSelected, dateFrom, dateTo).getOutcomes();
 			} catch (OHServiceException e) {
 				OHServiceExceptionUtil.showMessages(e);
 				listMovementWardFromTo = new ArrayList<>();
@@ -1461,8 +1416,9 @@ public class WardPharmacy extends ModalJFrame implements
 
 		public DrugsModel() {
 			try {
-				tableModel = movWardBrowserManager.getMedicalsWardTotalQuantity(wardSelected.getCode().charAt(0));
-				wardDrugs = movWardBrowserManager.getMedicalsWard(wardSelected.getCode().charAt(0), true);
+				WardStockSnapshot snapshot = WardStockSnapshot.get(wardSelected, dateFrom, dateTo);
+				tableModel = new ArrayList<>(snapshot.getDrugs());
+				wardDrugs = new ArrayList<>(snapshot.getLots());
 			} catch (OHServiceException e) {
 				OHServiceExceptionUtil.showMessages(e);
 				tableModel = new ArrayList<>();
@@ -1495,15 +1451,8 @@ public class WardPharmacy extends ModalJFrame implements
 				return MessageBundle.getMessage("angal.medicalstockward.pieces"); //$NON-NLS-1$
 			}
 			if (c == 3) {
-				final JButton button = new JButton(MessageBundle.getMessage("angal.medicalstockward.rectify.btn"));
-				button.setMnemonic(MessageBundle.getMnemonic("angal.medicalstockward.rectify.btn.key"));
-				button.addActionListener(actionEvent -> {
-					Medical medic = wardDrug.getMedical();
-					WardPharmacyRectify wardRectify = new WardPharmacyRectify(WardPharmacy.this, wardSelected, medic);
-					wardRectify.addMovementWardListener(WardPharmacy.this);
-					wardRectify.setVisible(true);
-				});
-				return button;
+				// painted as a button by the column
+				return wardDrug;
 			}
 			return null;
 		}
@@ -1520,8 +1469,8 @@ public class WardPharmacy extends ModalJFrame implements
 
 		@Override
 		public boolean isCellEditable(int arg0, int arg1) {
-			// return super.isCellEditable(arg0, arg1);
-			return false;
+			// only the rectify button
+			return arg1 == 3;
 		}
 	}
 
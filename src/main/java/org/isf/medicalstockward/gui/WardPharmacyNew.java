@@ -67,11 +67,11 @@ import org.isf.menu.manager.Context;
 import org.isf.patient.gui.SelectPatient;
 import org.isf.patient.gui.SelectPatient.SelectionListener;
 import org.isf.patient.model.Patient;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -96,8 +96,8 @@ public class WardPharmacyNew extends JDialog implements SelectionListener {
 		movementWardListeners.remove(MovementWardListeners.class, listener);
 	}
 
-	private void fireMovementWardInserted() {
-		AWTEvent event = new AWTEvent(new Object(), AWTEvent.RESERVED_ID_MAX + 1) {
+	private void fireMovementWardInserted(List<MovementWard> movements) {
+		AWTEvent event = new AWTEvent(movements, AWTEvent.RESERVED_ID_MAX + 1) {
 
 			private static final long serialVersionUID = 1L;
 		};
@@ -134,7 +134,6 @@ public class WardPharmacyNew extends JDialog implements SelectionListener {
 	private static final long serialVersionUID = 1L;
 
 	private	ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
 	
 	private JLabel jLabelPatient;
@@ -616,7 +615,7 @@ public class WardPharmacyNew extends JDialog implements SelectionListener {
 					}
 
 					movWardBrowserManager.newMovementWard(manyMovementWard);
-					fireMovementWardInserted();
+					fireMovementWardInserted(manyMovementWard);
 					dispose();
 				} catch (OHServiceException ex) {
 					MessageDialog.error(null, "angal.common.datacouldnotbesaved.msg");
@@ -834,7 +833,7 @@ public class WardPharmacyNew extends JDialog implements SelectionListener {
 			wardBox.setPreferredSize(new Dimension(300, 30));
 			List<Ward> wardList = null;
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 			} catch (OHServiceException ex) {
 				LOGGER.error(ex.getMessage(), ex);
 			}
@@ -36,6 +36,7 @@ import java.awt.Insets;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EventListener;
 import java.util.HashMap;
 import java.util.List;
@@ -103,8 +104,8 @@ public class WardPharmacyRectify extends JDialog {
 		movementWardListeners.remove(MovementWardListeners.class, listener);
 	}
 
-	private void fireMovementWardInserted() {
-		AWTEvent event = new AWTEvent(new Object(), AWTEvent.RESERVED_ID_MAX + 1) {
+	private void fireMovementWardInserted(List<MovementWard> movements) {
+		AWTEvent event = new AWTEvent(movements, AWTEvent.RESERVED_ID_MAX + 1) {
 
 			private static final long serialVersionUID = 1L;
 		};
@@ -388,9 +389,10 @@ public class WardPharmacyRectify extends JDialog {
 
 			try {
 				movStockInsertingManager.storeLot(selectedLot.getCode(), selectedLot, med);
-				movWardBrowserManager.newMovementWard(new MovementWard(selectedWard, TimeTools.getNow(), false, null, 0, 0, reason, med, movQuantity,
-								MessageBundle.getMessage("angal.medicalstockward.rectify.pieces"), selectedLot));
-				fireMovementWardInserted();
+				MovementWard movementWard = new MovementWard(selectedWard, TimeTools.getNow(), false, null, 0, 0, reason, med, movQuantity,
+								MessageBundle.getMessage("angal.medicalstockward.rectify.pieces"), selectedLot);
+				movWardBrowserManager.newMovementWard(movementWard);
+				fireMovementWardInserted(Collections.singletonList(movementWard));
 				dispose();
 			} catch (OHServiceException e1) {
 				OHServiceExceptionUtil.showMessages(e1);
@@ -0,0 +1,222 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2024 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstockward.gui;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.isf.medicals.model.Medical;
+import org.isf.medicalstock.manager.MovBrowserManager;
+import org.isf.medicalstock.model.Lot;
+import org.isf.medicalstock.model.Movement;
+import org.isf.medicalstockward.manager.MovWardBrowserManager;
+import org.isf.medicalstockward.model.MedicalWard;
+import org.isf.medicalstockward.model.MovementWard;
+import org.isf.medstockmovtype.model.MovementType;
+import org.isf.menu.manager.Context;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.ward.model.Ward;
+
+/**
+ * Stock and movements of a ward shown by the {@link WardPharmacy}, kept in memory while the ward is used.
+ * <p>
+ * The stock is loaded once and the movements inserted with {@link WardPharmacyNew} and {@link WardPharmacyRectify}
+ * are applied to it, so that opening the ward again does not query the database; the movements of the period are
+ * loaded again only when the period changes. The movements of the main pharmacy to the ward drop its snapshot
+ * through {@link #invalidate(Ward)}; a snapshot older than {@link #MAX_AGE_MILLIS} is loaded again anyway, since the
+ * stock can also be changed by other clients.
+ */
+public class WardStockSnapshot {
+
+	static final long MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+	private static final Map<String, WardStockSnapshot> CACHE = new HashMap<>();
+
+	private final Ward ward;
+	private final List<MedicalWard> drugs;
+	private final List<MedicalWard> lots;
+	private final long loadedMillis;
+	private LocalDateTime dateFrom;
+	private LocalDateTime dateTo;
+	private List<Movement> incomes;
+	private List<MovementWard> outcomes;
+
+	/**
+	 * @param drugs - the total quantity of each medical
+	 * @param lots - the quantity of each lot
+	 */
+	WardStockSnapshot(Ward ward, List<MedicalWard> drugs, List<MedicalWard> lots, long loadedMillis) {
+		this.ward = ward;
+		this.drugs = drugs;
+		this.lots = lots;
+		this.loadedMillis = loadedMillis;
+	}
+
+	/**
+	 * @return the snapshot of the ward, with the movements of the period
+	 */
+	static synchronized WardStockSnapshot get(Ward ward, LocalDateTime dateFrom, LocalDateTime dateTo) throws OHServiceException {
+		WardStockSnapshot snapshot = CACHE.get(ward.getCode());
+		if (snapshot == null || snapshot.isExpired(System.currentTimeMillis())) {
+			MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
+			char wardId = ward.getCode().charAt(0);
+			snapshot = new WardStockSnapshot(ward, movWardBrowserManager.getMedicalsWardTotalQuantity(wardId),
+					movWardBrowserManager.getMedicalsWard(wardId, true), System.currentTimeMillis());
+			CACHE.put(ward.getCode(), snapshot);
+		}
+		if (!snapshot.hasMovements(dateFrom, dateTo)) {
+			snapshot.loadMovements(dateFrom, dateTo);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Applies the movements just inserted to the snapshots of their wards; the snapshots of the wards receiving
+	 * the drugs, or of lots not in the stock yet, are loaded again when next used.
+	 */
+	static synchronized void movementsInserted(List<MovementWard> movements) {
+		for (MovementWard movement : movements) {
+			WardStockSnapshot snapshot = CACHE.get(movement.getWard().getCode());
+			if (snapshot != null && !snapshot.apply(movement)) {
+				CACHE.remove(movement.getWard().getCode());
+			}
+			if (movement.getWardTo() != null) {
+				CACHE.remove(movement.getWardTo().getCode());
+			}
+		}
+	}
+
+	/**
+	 * Drops the snapshot of the ward, after a change of its stock made outside the ward pharmacy.
+	 */
+	public static synchronized void invalidate(Ward ward) {
+		CACHE.remove(ward.getCode());
+	}
+
+	boolean isExpired(long nowMillis) {
+		return nowMillis - loadedMillis > MAX_AGE_MILLIS;
+	}
+
+	boolean hasMovements(LocalDateTime dateFrom, LocalDateTime dateTo) {
+		return incomes != null && dateFrom.equals(this.dateFrom) && dateTo.equals(this.dateTo);
+	}
+
+	List<MedicalWard> getDrugs() {
+		return drugs;
+	}
+
+	List<MedicalWard> getLots() {
+		return lots;
+	}
+
+	/**
+	 * @return the movements from the main pharmacy and from other wards to the ward in the period
+	 */
+	List<Movement> getIncomes() {
+		return incomes;
+	}
+
+	/**
+	 * @return the movements of the ward in the period, in the order of insertion
+	 */
+	List<MovementWard> getOutcomes() {
+		return outcomes;
+	}
+
+	void setMovements(LocalDateTime dateFrom, LocalDateTime dateTo, List<Movement> incomes, List<MovementWard> outcomes) {
+		this.dateFrom = dateFrom;
+		this.dateTo = dateTo;
+		this.incomes = incomes;
+		this.outcomes = outcomes;
+	}
+
+	private void loadMovements(LocalDateTime dateFrom, LocalDateTime dateTo) throws OHServiceException {
+		MovBrowserManager movBrowserManager = Context.getApplicationContext().getBean(MovBrowserManager.class);
+		MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
+
+		List<Movement> wardIncomes = new ArrayList<>();
+		for (Movement mov : movBrowserManager.getMovements(ward.getCode(), dateFrom, dateTo)) {
+			if (mov.getWard().getDescription() != null) {
+				if (mov.getWard().equals(ward)) {
+					wardIncomes.add(mov);
+				}
+			}
+		}
+
+		// List movements from other wards
+		for (MovementWard wMvnt : movWardBrowserManager.getWardMovementsToWard(ward.getCode(), dateFrom, dateTo)) {
+			if (wMvnt.getWardTo().getDescription() != null) {
+				if (wMvnt.getWardTo().equals(ward)) {
+					MovementType typeCharge = new MovementType("fromward", wMvnt.getWard().getDescription(), "*", "*");
+					wardIncomes.add(new Movement(
+									wMvnt.getMedical(),
+									typeCharge,
+									ward,
+									wMvnt.getLot(),
+									wMvnt.getDate(),
+									wMvnt.getQuantity().intValue(),
+									null,
+									null));
+				}
+			}
+		}
+		setMovements(dateFrom, dateTo, wardIncomes, new ArrayList<>(movWardBrowserManager.getMovementWard(ward.getCode(), dateFrom, dateTo)));
+	}
+
+	/**
+	 * Takes the quantity of the movement from the stock of the ward.
+	 *
+	 * @return {@code false} if the lot of the movement is not in the snapshot
+	 */
+	boolean apply(MovementWard movement) {
+		MedicalWard lot = find(lots, movement.getMedical(), movement.getLot());
+		MedicalWard drug = find(drugs, movement.getMedical(), null);
+		if (lot == null || drug == null) {
+			return false;
+		}
+		double quantity = movement.getQuantity();
+		lot.setQty(lot.getQty() - quantity);
+		drug.setQty(drug.getQty() - quantity);
+		if (outcomes != null && !movement.getDate().isBefore(dateFrom) && !movement.getDate().isAfter(dateTo)) {
+			outcomes.add(movement);
+		}
+		return true;
+	}
+
+	/*
+	 * The entry of the medical and, if not null, of the lot
+	 */
+	private static MedicalWard find(List<MedicalWard> medicalWards, Medical medical, Lot lot) {
+		for (MedicalWard medicalWard : medicalWards) {
+			if (Objects.equals(medicalWard.getMedical().getCode(), medical.getCode())
+					&& (lot == null || Objects.equals(medicalWard.getLot().getCode(), lot.getCode()))) {
+				return medicalWard;
+			}
+		}
+		return null;
+	}
+
+}
@@ -38,6 +38,7 @@ import org.isf.medtype.gui.MedicalTypeBrowserEdit.MedicalTypeListener;
 import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -179,6 +180,7 @@ public class MedicalTypeBrowser extends ModalJFrame implements MedicalTypeListen
 					if (answer == JOptionPane.YES_OPTION) {
 						try {
 							medicalTypeBrowserManager.deleteMedicalType(medType);
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.MEDICAL_TYPES);
 							pMedicalType.remove(jTable.getSelectedRow());
 							model.fireTableDataChanged();
 							jTable.updateUI();
@@ -39,6 +39,7 @@ import org.isf.generaldata.MessageBundle;
 import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -202,6 +203,7 @@ public class MedicalTypeBrowserEdit extends JDialog {
 					try {
 						MedicalType insertedMedicalType = medicalTypeBrowserManager.newMedicalType(medicalType);
 						if (insertedMedicalType != null) {
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.MEDICAL_TYPES);
 							fireMedicalInserted();
 							dispose();
 						} else {
@@ -217,6 +219,7 @@ public class MedicalTypeBrowserEdit extends JDialog {
 						try {
 							MedicalType updatedMedicalType = medicalTypeBrowserManager.updateMedicalType(medicalType);
 							if (updatedMedicalType != null) {
+								ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.MEDICAL_TYPES);
 								fireMedicalUpdated();
 								dispose();
 							} else {
@@ -67,6 +67,7 @@ import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.distype.manager.DiseaseTypeBrowserManager;
@@ -79,6 +80,7 @@ import org.isf.opd.gui.OpdEditExtended.SurgeryListener;
 import org.isf.opd.manager.OpdBrowserManager;
 import org.isf.opd.model.Opd;
 import org.isf.patient.model.Patient;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.GoodDateChooser;
 import org.isf.utils.jobjects.MessageDialog;
@@ -86,7 +88,6 @@ import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 
 /**
@@ -403,6 +404,7 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 				try {
 					if (n == JOptionPane.YES_OPTION) {
 						opdBrowserManager.deleteOpd(opd);
+						PatientFolderData.invalidate(opd.getPatient());
 						pSur.remove(pSur.size() - jTable.getSelectedRow() - 1);
 						model.fireTableDataChanged();
 						jTable.updateUI();
@@ -608,8 +610,12 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 		if (jWardBox == null) {
 			jWardBox = new JComboBox<>();
 
-			WardBrowserManager wardManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
-			List<Ward> wards = wardManager.getOpdWards();
+			List<Ward> wards = null;
+			try {
+				wards = ReferenceDataCache.getInstance().get(ReferenceDataCache.OPD_WARDS);
+			} catch (OHServiceException ohServiceException) {
+				MessageDialog.showExceptions(ohServiceException);
+			}
 
 			jWardBox.addItem(MessageBundle.getMessage("angal.opd.allwards.txt"));
 			if (wards != null) {
@@ -664,7 +670,7 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 		}
 		try {
 			if (((DiseaseType) jDiseaseTypeBox.getSelectedItem()).getDescription().equals(MessageBundle.getMessage("angal.common.alldiseasetypes.txt"))) {
-				diseases = diseaseBrowserManager.getDiseaseOpd();
+				diseases = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 			} else {
 				diseases = diseaseBrowserManager.getDiseaseOpd(((DiseaseType) jDiseaseTypeBox.getSelectedItem()).getCode());
 			}
@@ -52,6 +52,7 @@ import javax.swing.JTextField;
 import javax.swing.border.Border;
 import javax.swing.event.EventListenerList;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.distype.manager.DiseaseTypeBrowserManager;
@@ -61,6 +62,7 @@ import org.isf.menu.manager.Context;
 import org.isf.menu.manager.UserBrowsingManager;
 import org.isf.opd.manager.OpdBrowserManager;
 import org.isf.opd.model.Opd;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
@@ -178,7 +180,7 @@ public class OpdEdit extends JDialog {
 		insert = inserting;
 		try {
 			types = diseaseTypeBrowserManager.getDiseaseType();
-			diseasesAll = diseaseBrowserManager.getDiseaseAll();
+			diseasesAll = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_ALL);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -291,7 +293,7 @@ public class OpdEdit extends JDialog {
 		List<Disease> diseases = null;
 		try {
 			if (diseaseTypeBox.getSelectedIndex() == 0) {
-				diseases = diseaseBrowserManager.getDiseaseOpd();
+				diseases = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 			} else {
 				String code = ((DiseaseType)diseaseTypeBox.getSelectedItem()).getCode();
 				diseases = diseaseBrowserManager.getDiseaseOpd(code);
@@ -335,7 +337,7 @@ public class OpdEdit extends JDialog {
 		Disease elem2=null;
 		List<Disease> diseases = null;
 		try {
-			diseases = diseaseBrowserManager.getDiseaseOpd();
+			diseases = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 		} catch(OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -375,7 +377,7 @@ public class OpdEdit extends JDialog {
 		Disease elem2=null;
 		List<Disease> diseases = null;
 		try {
-			diseases = diseaseBrowserManager.getDiseaseOpd();
+			diseases = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 		} catch(OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -516,6 +518,7 @@ public class OpdEdit extends JDialog {
 
 								Opd insertedOpd = opdBrowserManager.newOpd(opd);
 								if (insertedOpd != null) {
+									PatientFolderData.invalidate(opd.getPatient());
 									fireSurgeryInserted(opd);
 									dispose();
 								} else {
@@ -524,6 +527,7 @@ public class OpdEdit extends JDialog {
 							} else {    // Update
 								Opd updatedOpd = opdBrowserManager.updateOpd(opd);
 								if (updatedOpd != null) {
+									PatientFolderData.invalidate(opd.getPatient());
 									fireSurgeryUpdated(updatedOpd);
 									dispose();
 								} else {
@@ -685,7 +689,7 @@ public class OpdEdit extends JDialog {
 				@Override
 				public void actionPerformed(ActionEvent arg0) {
 					try {
-						diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
+						diseasesOPD = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 					} catch (OHServiceException ex) {
 						OHServiceExceptionUtil.showMessages(ex);
 					}
@@ -749,7 +753,7 @@ public class OpdEdit extends JDialog {
 				@Override
 				public void actionPerformed(ActionEvent arg0) {
 					try {
-						diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
+						diseasesOPD = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 					} catch (OHServiceException ex) {
 						OHServiceExceptionUtil.showMessages(ex);
 					}
@@ -812,7 +816,7 @@ public class OpdEdit extends JDialog {
 				@Override
 				public void actionPerformed(ActionEvent arg0) {
 					try {
-						diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
+						diseasesOPD = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
 					} catch (OHServiceException ex) {
 						OHServiceExceptionUtil.showMessages(ex);
 					}
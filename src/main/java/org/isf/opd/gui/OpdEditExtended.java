@@ -70,11 +70,11 @@ import javax.swing.border.MatteBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.EventListenerList;
 
+import org.isf.admission.gui.PatientFolderData;
 import org.isf.anamnesis.gui.PatientHistoryEdit;
 import org.isf.anamnesis.manager.PatientHistoryManager;
 import org.isf.anamnesis.model.PatientHistory;
 import org.isf.anamnesis.model.PatientPatientHistory;
-import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.distype.manager.DiseaseTypeBrowserManager;
 import org.isf.distype.model.DiseaseType;
@@ -95,6 +95,7 @@ import org.isf.patient.gui.PatientInsert.PatientListener;
 import org.isf.patient.gui.PatientInsertExtended;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.db.RememberData;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
@@ -107,7 +108,6 @@ import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.isf.visits.manager.VisitManager;
 import org.isf.visits.model.Visit;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -245,12 +245,10 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 	 * Managers and Arrays
 	 */
 	private DiseaseTypeBrowserManager diseaseTypeBrowserManager = Context.getApplicationContext().getBean(DiseaseTypeBrowserManager.class);
-	private DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
 	private OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
 	private VisitManager visitManager = Context.getApplicationContext().getBean(VisitManager.class);
 	private ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
 	private List<DiseaseType> types;
 	private List<Disease> diseasesOPD;
@@ -292,10 +290,10 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		insert = inserting;
 		try {
 			types = diseaseTypeBrowserManager.getDiseaseType();
-			diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-			diseasesAll = diseaseBrowserManager.getDiseaseAll();
-			wardsOPDList = wardBrowserManager.getOpdWards();
-			wardsList = wardBrowserManager.getWards();
+			diseasesOPD = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
+			diseasesAll = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_ALL);
+			wardsOPDList = ReferenceDataCache.getInstance().get(ReferenceDataCache.OPD_WARDS);
+			wardsList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -322,10 +320,10 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		insert = inserting;
 		try {
 			types = diseaseTypeBrowserManager.getDiseaseType();
-			diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-			diseasesAll = diseaseBrowserManager.getDiseaseAll();
-			wardsOPDList = wardBrowserManager.getOpdWards();
-			wardsList = wardBrowserManager.getWards();
+			diseasesOPD = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_OPD);
+			diseasesAll = ReferenceDataCache.getInstance().get(ReferenceDataCache.DISEASES_ALL);
+			wardsOPDList = ReferenceDataCache.getInstance().get(ReferenceDataCache.OPD_WARDS);
+			wardsList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -1835,6 +1833,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 						if (insertedOpd != null) {
 							RememberDates.setLastOpdVisitDate(visitDateOpd);
 							RememberData.setLastOpdWard(opdWard);
+							PatientFolderData.invalidate(opd.getPatient());
 							fireSurgeryInserted(opd);
 							dispose();
 						} else {
@@ -1851,6 +1850,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 						if (updatedOpd == null) {
 							MessageDialog.error(this, "angal.common.datacouldnotbesaved.msg");
 						} else {
+							PatientFolderData.invalidate(opd.getPatient());
 							fireSurgeryUpdated(updatedOpd);
 							// can't delete the visit info until the OPD is updated
 							if (!isNextVisit && nextVisit != null) {
@@ -219,6 +219,7 @@ public class PatientBrowser extends ModalJFrame implements PatientListener {
 					if (answer == JOptionPane.YES_OPTION) {
 						try {
 							patientBrowserManager.deletePatient(pat);
+							PatientSearchCache.getInstance().patientDeleted(pat);
 							pPat.remove(pPat.size() - jTable.getSelectedRow() - 1);
 							model.fireTableDataChanged();
 							jTable.updateUI();
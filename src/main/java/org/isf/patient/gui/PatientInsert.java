@@ -179,6 +179,7 @@ public class PatientInsert extends JDialog implements ActionListener {
 	 * This method initializes this
 	 */
 	private void initialize() {
+		addPatientListener(PatientSearchCache.getInstance());
 		this.setContentPane(getJContainPanel());
 		if (insert) {
 			this.setTitle(MessageBundle.getMessage("angal.patient.newpatient.title"));
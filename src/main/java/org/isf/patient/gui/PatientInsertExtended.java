@@ -333,6 +333,7 @@ public class PatientInsertExtended extends JDialog {
 	 * This method initializes this
 	 */
 	private void initialize() {
+		addPatientListener(PatientSearchCache.getInstance());
 
 		this.setContentPane(getJContainPanel());
 		if (insert) {
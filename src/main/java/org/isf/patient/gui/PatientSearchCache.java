@@ -0,0 +1,335 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.patient.gui;
+
+import java.awt.AWTEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.isf.menu.manager.Context;
+import org.isf.patient.manager.PatientBrowserManager;
+import org.isf.patient.model.Patient;
+import org.isf.utils.exception.OHServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-wide cache of the patient list used by {@link SelectPatient}.
+ * <p>
+ * The list is loaded on first use and then kept up to date by the events of {@link PatientInsert} and
+ * {@link PatientInsertExtended}, which register the cache as listener, and by the browsers deleting or
+ * merging patients. A list older than {@link #MAX_AGE_MILLIS} is still returned, and reloaded in background for
+ * the next callers, so that the patients registered or edited by other clients show up too. Searches use a
+ * trigram index over {@link Patient#getSearchString()}, so that only the patients containing all the trigrams
+ * of the typed tokens are checked.
+ */
+public final class PatientSearchCache implements PatientInsert.PatientListener, PatientInsertExtended.PatientListener {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PatientSearchCache.class);
+
+	/**
+	 * Age after which a list is reloaded in background.
+	 */
+	static final long MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+	private static final int GRAM = 3;
+	private static PatientSearchCache instance;
+
+	private final PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "PatientSearchCache");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/*
+	 * getPatientsByOneOfFieldsLike(null) and getPatient() return different sets, so they are cached separately
+	 */
+	private final PatientList summaryList = new PatientList();
+	private final PatientList fullList = new PatientList();
+
+	private PatientSearchCache() {
+	}
+
+	public static synchronized PatientSearchCache getInstance() {
+		if (instance == null) {
+			instance = new PatientSearchCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * @param full - {@code true} for {@code getPatient()}, {@code false} for {@code getPatientsByOneOfFieldsLike(null)}
+	 * @return a copy of the cached list, loaded on first use and reloaded in background when old
+	 */
+	public synchronized List<Patient> getPatients(boolean full) throws OHServiceException {
+		return new ArrayList<>(load(full).patients);
+	}
+
+	/**
+	 * @param text - space separated tokens, each one must be contained in the search string of the patient
+	 * @param full - see {@link #getPatients(boolean)}
+	 * @return the matching patients in list order
+	 */
+	public synchronized List<Patient> search(String text, boolean full) throws OHServiceException {
+		return load(full).search(text);
+	}
+
+	/**
+	 * Drops the cached lists; they are reloaded on next use.
+	 */
+	public synchronized void invalidate() {
+		summaryList.clear();
+		fullList.clear();
+	}
+
+	public synchronized void patientDeleted(Patient patient) {
+		summaryList.remove(patient);
+		fullList.remove(patient);
+	}
+
+	@Override
+	public synchronized void patientInserted(AWTEvent e) {
+		Patient patient = (Patient) e.getSource();
+		summaryList.add(patient);
+		fullList.add(patient);
+	}
+
+	@Override
+	public synchronized void patientUpdated(AWTEvent e) {
+		Patient patient = (Patient) e.getSource();
+		summaryList.replace(patient);
+		fullList.replace(patient);
+	}
+
+	private PatientList load(boolean full) throws OHServiceException {
+		PatientList list = full ? fullList : summaryList;
+		if (list.patients == null) {
+			list.set(query(full));
+		} else if (System.currentTimeMillis() - list.loadedAt > MAX_AGE_MILLIS) {
+			reloadInBackground(list, full);
+		}
+		return list;
+	}
+
+	private List<Patient> query(boolean full) throws OHServiceException {
+		return full ? patientBrowserManager.getPatient() : patientBrowserManager.getPatientsByOneOfFieldsLike(null);
+	}
+
+	private void reloadInBackground(PatientList list, boolean full) {
+		if (list.reloading) {
+			return;
+		}
+		list.reloading = true;
+		long generation = list.generation;
+		executor.execute(() -> {
+			List<Patient> patients = null;
+			try {
+				patients = query(full);
+			} catch (OHServiceException | RuntimeException exception) {
+				// the list is still old, so the next caller tries again
+				LOGGER.warn("Cannot reload the patients: {}", exception.getMessage());
+			}
+			synchronized (this) {
+				list.reloading = false;
+				// a change applied during the query may be missing from the patients read
+				if (patients != null && list.generation == generation) {
+					list.set(patients);
+				}
+			}
+		});
+	}
+
+	static class PatientList {
+
+		private List<Patient> patients;
+		private List<String> searchStrings;
+		private Map<String, int[]> index;
+		private Map<String, Integer> indexSizes;
+		private long loadedAt;
+		private long generation;
+		private boolean reloading;
+
+		void set(List<Patient> loaded) {
+			patients = new ArrayList<>(loaded);
+			index = null;
+			loadedAt = System.currentTimeMillis();
+		}
+
+		void clear() {
+			generation++;
+			patients = null;
+			index = null;
+		}
+
+		void add(Patient patient) {
+			generation++;
+			if (patients == null) {
+				return;
+			}
+			patients.add(patient);
+			if (index != null) {
+				addToIndex(patients.size() - 1, patient);
+			}
+		}
+
+		void replace(Patient patient) {
+			generation++;
+			if (patients == null) {
+				return;
+			}
+			int position = indexOf(patient);
+			if (position >= 0) {
+				patients.set(position, patient);
+				index = null;
+			}
+		}
+
+		void remove(Patient patient) {
+			generation++;
+			if (patients == null) {
+				return;
+			}
+			int position = indexOf(patient);
+			if (position >= 0) {
+				patients.remove(position);
+				index = null;
+			}
+		}
+
+		private int indexOf(Patient patient) {
+			for (int i = 0; i < patients.size(); i++) {
+				if (patients.get(i).getCode().equals(patient.getCode())) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		List<Patient> search(String text) {
+			String query = text == null ? "" : text.trim().toLowerCase();
+			if (query.isEmpty()) {
+				return new ArrayList<>(patients);
+			}
+			String[] tokens = query.split(" ");
+			if (index == null) {
+				buildIndex();
+			}
+			int[] candidates = null;
+			for (String token : tokens) {
+				for (int i = 0; i + GRAM <= token.length(); i++) {
+					String gram = token.substring(i, i + GRAM);
+					int[] postings = index.get(gram);
+					if (postings == null) {
+						return new ArrayList<>();
+					}
+					int size = indexSizes.get(gram);
+					candidates = candidates == null ? Arrays.copyOf(postings, size) : intersect(candidates, postings, size);
+				}
+			}
+			List<Patient> result = new ArrayList<>();
+			if (candidates == null) {
+				// only tokens shorter than a trigram
+				for (int i = 0; i < patients.size(); i++) {
+					if (matches(i, tokens)) {
+						result.add(patients.get(i));
+					}
+				}
+			} else {
+				for (int i : candidates) {
+					if (matches(i, tokens)) {
+						result.add(patients.get(i));
+					}
+				}
+			}
+			return result;
+		}
+
+		private boolean matches(int position, String[] tokens) {
+			String searchString = searchStrings.get(position);
+			for (String token : tokens) {
+				if (!searchString.contains(token)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void buildIndex() {
+			index = new HashMap<>();
+			indexSizes = new HashMap<>();
+			searchStrings = new ArrayList<>(patients.size());
+			for (int i = 0; i < patients.size(); i++) {
+				addToIndex(i, patients.get(i));
+			}
+		}
+
+		/*
+		 * Positions are added in increasing order, so every posting list stays sorted
+		 */
+		private void addToIndex(int position, Patient patient) {
+			String searchString = patient.getSearchString().toLowerCase();
+			searchStrings.add(searchString);
+			for (int i = 0; i + GRAM <= searchString.length(); i++) {
+				String gram = searchString.substring(i, i + GRAM);
+				int[] postings = index.get(gram);
+				int size = postings == null ? 0 : indexSizes.get(gram);
+				if (size > 0 && postings[size - 1] == position) {
+					continue;
+				}
+				if (postings == null) {
+					postings = new int[4];
+				} else if (size == postings.length) {
+					postings = Arrays.copyOf(postings, size * 2);
+				}
+				postings[size] = position;
+				index.put(gram, postings);
+				indexSizes.put(gram, size + 1);
+			}
+		}
+
+		private static int[] intersect(int[] sorted, int[] postings, int size) {
+			int[] result = new int[Math.min(sorted.length, size)];
+			int count = 0;
+			int i = 0;
+			int j = 0;
+			while (i < sorted.length && j < size) {
+				if (sorted[i] < postings[j]) {
+					i++;
+				} else if (sorted[i] > postings[j]) {
+					j++;
+				} else {
+					result[count++] = sorted[i];
+					i++;
+					j++;
+				}
+			}
+			return Arrays.copyOf(result, count);
+		}
+	}
+
+}
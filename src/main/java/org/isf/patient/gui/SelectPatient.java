@@ -61,9 +61,11 @@ import org.isf.patient.gui.PatientInsertExtended.PatientListener;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.utils.exception.OHServiceException;
-import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.isf.utils.jobjects.DebouncedSearch;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class SelectPatient extends JDialog implements PatientListener {
 
@@ -93,6 +95,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 //---------------------------------------------------------------------------	
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOGGER = LoggerFactory.getLogger(SelectPatient.class);
 	private JPanel jPanelButtons;
 	private JPanel jPanelTop;
 	private JPanel jPanelCenter;
@@ -120,18 +123,13 @@ public class SelectPatient extends JDialog implements PatientListener {
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
 	List<Patient> patArray = new ArrayList<>();
 	List<Patient> patSearch = new ArrayList<>();
-	private String lastKey = "";
+	private DebouncedSearch<List<Patient>> patientSearch;
+	private boolean full;
 
 	public SelectPatient(JFrame owner, Patient pat) {
 		super(owner, true);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			try {
-				patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-				patArray = new ArrayList<>();
-			}
-			patSearch = patArray;
+			loadPatients(false);
 		}
 		patient = pat;
 		ps = new PatientSummary(patient);
@@ -140,6 +138,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				stopSearch();
 				// to free memory
 				patArray.clear();
 				patSearch.clear();
@@ -152,13 +151,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 	public SelectPatient(JDialog owner, Patient pat) {
 		super(owner, true);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			try {
-				patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-				patArray = new ArrayList<>();
-			}
-			patSearch = patArray;
+			loadPatients(false);
 		}
 		patient = pat;
 		ps = new PatientSummary(patient);
@@ -167,6 +160,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				stopSearch();
 				// to free memory
 				patArray.clear();
 				patSearch.clear();
@@ -179,13 +173,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 	public SelectPatient(JDialog owner, String search) {
 		super(owner, true);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			try {
-				patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-				patArray = new ArrayList<>();
-			}
-			patSearch = patArray;
+			loadPatients(false);
 		}
 		ps = new PatientSummary(patient);
 		initComponents();
@@ -193,6 +181,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				stopSearch();
 				// to free memory
 				patArray.clear();
 				patSearch.clear();
@@ -209,20 +198,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 	public SelectPatient(JFrame owner, boolean abbleAddPatient, boolean full) {
 		super(owner, true);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			if (!full) {
-				try {
-					patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-				}
-			} else {
-				try {
-					patArray = patientBrowserManager.getPatient();
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-				}
-			}
-			patSearch = patArray;
+			loadPatients(full);
 		}
 		ps = new PatientSummary(patient);
 		initComponents();
@@ -230,6 +206,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				stopSearch();
 				// to free memory
 				patArray.clear();
 				patSearch.clear();
@@ -243,20 +220,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 	public SelectPatient(JDialog owner, boolean abbleAddPatient, boolean full) {
 		super(owner, true);
 		if (!GeneralData.ENHANCEDSEARCH) {
-			if (!full) {
-				try {
-					patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-				} catch (OHServiceException e2) {
-					OHServiceExceptionUtil.showMessages(e2);
-				}
-			} else {
-				try {
-					patArray = patientBrowserManager.getPatient();
-				} catch (OHServiceException e1) {
-					OHServiceExceptionUtil.showMessages(e1);
-				}
-			}
-			patSearch = patArray;
+			loadPatients(full);
 		}
 		ps = new PatientSummary(patient);
 		initComponents();
@@ -264,6 +228,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
+				stopSearch();
 				// to free memory
 				patArray.clear();
 				patSearch.clear();
@@ -274,6 +239,20 @@ public class SelectPatient extends JDialog implements PatientListener {
 		buttonNew.setVisible(abbleAddPatient);
 	}
 
+	/*
+	 * The patients are taken from the cache shared by all the dialogs, so that they are not reloaded every time
+	 */
+	private void loadPatients(boolean full) {
+		this.full = full;
+		try {
+			patArray = PatientSearchCache.getInstance().getPatients(full);
+		} catch (OHServiceException ohServiceException) {
+			MessageDialog.showExceptions(ohServiceException);
+			patArray = new ArrayList<>();
+		}
+		patSearch = patArray;
+	}
+
 	private void initComponents() {
 		add(getJPanelTop(), BorderLayout.NORTH);
 		add(getJPanelCenter(), BorderLayout.CENTER);
@@ -315,38 +294,33 @@ public class SelectPatient extends JDialog implements PatientListener {
 					}
 				});
 			} else {
-				jTextFieldSearchPatient.addKeyListener(new KeyListener() {
-
-					@Override
-					public void keyTyped(KeyEvent e) {
-						lastKey = "";
-						String s = String.valueOf(e.getKeyChar());
-						if (Character.isLetterOrDigit(e.getKeyChar())) {
-							lastKey = s;
-						}
-						filterPatient();
-					}
-
-					@Override
-					public void keyPressed(KeyEvent e) {
-					}
-
-					@Override
-					public void keyReleased(KeyEvent e) {
-					}
-				});
+				patientSearch = DebouncedSearch.install(jTextFieldSearchPatient, this::filterPatients, this::showPatients);
 			}
 		}
 		return jTextFieldSearchPatient;
 	}
 
 	private void filterPatient() {
+		showPatients(filterPatients(jTextFieldSearchPatient.getText()));
+	}
+
+	/*
+	 * Does not access Swing components, so that it can run in background
+	 */
+	private List<Patient> filterPatients(String text) {
+
+		if (!GeneralData.ENHANCEDSEARCH) {
+			try {
+				return PatientSearchCache.getInstance().search(text, full);
+			} catch (OHServiceException ohServiceException) {
+				LOGGER.error("Unable to search the patients.", ohServiceException);
+			}
+		}
 
-		String s = jTextFieldSearchPatient.getText() + lastKey;
-		s = s.trim();
+		String s = text.trim();
 		String[] s1 = s.split(" ");
 
-		patSearch = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 
 		for (Patient pat : patArray) {
 
@@ -359,12 +333,17 @@ public class SelectPatient extends JDialog implements PatientListener {
 					}
 				}
 				if (a == s1.length) {
-					patSearch.add(pat);
+					patients.add(pat);
 				}
 			} else {
-				patSearch.add(pat);
+				patients.add(pat);
 			}
 		}
+		return patients;
+	}
+
+	private void showPatients(List<Patient> patients) {
+		patSearch = patients;
 
 		if (jTablePatient.getRowCount() == 0) {
 
@@ -381,6 +360,12 @@ public class SelectPatient extends JDialog implements PatientListener {
 		jTextFieldSearchPatient.requestFocus();
 	}
 
+	private void stopSearch() {
+		if (patientSearch != null) {
+			patientSearch.uninstall();
+		}
+	}
+
 	private JLabel getJLabelSearch() {
 		if (jLabelSearch == null) {
 			jLabelSearch = new JLabel(MessageBundle.getMessage("angal.patient.searchpatient"));
@@ -395,6 +380,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 			jButtonSelect.addActionListener(actionEvent -> {
 
 				if (patient != null) {
+					stopSearch();
 					// to free memory
 					patArray.clear();
 					patSearch.clear();
@@ -411,6 +397,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 			jButtonCancel = new JButton(MessageBundle.getMessage("angal.common.cancel.btn"));
 			jButtonCancel.setMnemonic(MessageBundle.getMnemonic("angal.common.cancel.btn.key"));
 			jButtonCancel.addActionListener(actionEvent -> {
+				stopSearch();
 				// to free memory
 				patArray.clear();
 				patSearch.clear();
@@ -39,7 +39,6 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.WindowConstants;
 
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.manager.MedicalBrowsingManager;
@@ -53,6 +52,7 @@ import org.isf.priceslist.model.PriceList;
 import org.isf.pricesothers.manager.PricesOthersManager;
 import org.isf.pricesothers.model.PricesOthers;
 import org.isf.serviceprinting.manager.PrintManager;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -89,7 +89,6 @@ public class PricesBrowser extends ModalJFrame {
 
 	private PriceListManager priceListManager = Context.getApplicationContext().getBean(PriceListManager.class);
 	private PricesOthersManager pricesOthersManager = Context.getApplicationContext().getBean(PricesOthersManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private OperationBrowserManager operationBrowserManager = Context.getApplicationContext().getBean(OperationBrowserManager.class);
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private PrintManager printManager = Context.getApplicationContext().getBean(PrintManager.class);
@@ -312,7 +311,7 @@ public class PricesBrowser extends ModalJFrame {
 		try {
 			listArray = priceListManager.getLists();
 			priceArray = priceListManager.getPrices();
-			examArray = examBrowsingManager.getExams();
+			examArray = ReferenceDataCache.getInstance().get(ReferenceDataCache.EXAMS);
 			operArray = operationBrowserManager.getOperation();
 			mediArray = medicalBrowsingManager.getMedicalsSortedByName();
 			othArray = pricesOthersManager.getOthers();
@@ -21,6 +21,7 @@
  */
 package org.isf.stat.gui.report;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Locale;
 
@@ -28,23 +29,54 @@ import org.isf.generaldata.GeneralData;
 import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.utils.jobjects.MessageDialog;
 
+import net.sf.jasperreports.engine.JasperPrint;
 import net.sf.jasperreports.view.JasperViewer;
 
 public class DisplayReport {
 
 	protected void showReport(JasperReportResultDto jasperReportResultDto) throws IOException {
-		if (jasperReportResultDto.getJasperPrint().getPages().isEmpty()) {
+		showReport(jasperReportResultDto.getJasperPrint(), jasperReportResultDto.getFilename());
+	}
+
+	protected void showReport(JasperPrint jasperPrint, String filename) throws IOException {
+		if (jasperPrint.getPages().isEmpty()) {
 			MessageDialog.info(null, "angal.common.documenthasnopages.msg");
 			return;
 		}
 		if (GeneralData.INTERNALVIEWER) {
 			JasperViewer.viewReport(
-					jasperReportResultDto.getJasperPrint(),
+					jasperPrint,
 					false,
 					new Locale(GeneralData.LANGUAGE));
 		} else {
 			Runtime rt = Runtime.getRuntime();
-			rt.exec(GeneralData.VIEWER + ' ' + jasperReportResultDto.getFilename());
+			rt.exec(GeneralData.VIEWER + ' ' + filename);
 		}
 	}
+
+	/**
+	 * Generates the report in the {@link ReportQueue} and shows it when ready.
+	 */
+	protected void showReportInBackground(String name, ReportQueue.Report<JasperReportResultDto> report) {
+		ReportQueue.getInstance().submit(name, report, this::showReport);
+	}
+
+	/**
+	 * Like {@link #showReportInBackground(String, ReportQueue.Report)}, but the report is taken from the
+	 * {@link ReportResultCache} when it was already generated with the same key.
+	 */
+	void showCachedReportInBackground(String name, ReportResultCache.Key key, ReportQueue.Report<JasperReportResultDto> report) {
+		ReportQueue.getInstance().submit(name, () -> ReportResultCache.getInstance().get(key, () -> {
+			JasperReportResultDto result = report.generate();
+			return new ReportResultCache.Result(result.getJasperPrint(), result.getFilename());
+		}), result -> showReport(result.getJasperPrint(), result.getFilename()));
+	}
+
+	/**
+	 * Writes the report to {@code exportFile} in the {@link ReportQueue} and tells the user when the file is ready.
+	 */
+	protected void exportReportInBackground(String name, File exportFile, ReportQueue.Report<Void> report) {
+		ReportQueue.getInstance().submit(name, report,
+				result -> MessageDialog.info(null, "angal.stat.reportsaved.fmt.msg", exportFile.getAbsolutePath()));
+	}
 }
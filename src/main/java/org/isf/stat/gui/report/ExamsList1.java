@@ -21,26 +21,16 @@
  */
 package org.isf.stat.gui.report;
 
+import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
-import org.isf.utils.jobjects.MessageDialog;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class ExamsList1 extends DisplayReport {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(ExamsList1.class);
 	private JasperReportsManager jasperReportsManager = Context.getApplicationContext().getBean(JasperReportsManager.class);
 
 	public ExamsList1() {
-		try {
-			JasperReportResultDto jasperReportResultDto = jasperReportsManager.getExamsListPdf();
-			showReport(jasperReportResultDto);
-		} catch (Exception e) {
-			LOGGER.error("", e);
-			MessageDialog.error(null, "angal.stat.reporterror.msg");
-		}
+		showReportInBackground(MessageBundle.getMessage("angal.stat.examslist"), () -> jasperReportsManager.getExamsListPdf());
 	}
 
 }
@@ -27,12 +27,10 @@ import java.time.LocalDate;
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import org.isf.generaldata.GeneralData;
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
 import org.isf.utils.excel.ExcelExporter;
-import org.isf.utils.exception.OHReportException;
-import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,15 +61,16 @@ public class GenericReportFromDateToDate extends DisplayReport {
 					if (!exportFile.getName().endsWith(extension)) {
 						exportFile = new File(exportFile.getAbsoluteFile() + "." + extension);
 					}
-					jasperReportsManager.getGenericReportFromDateToDateExcel(fromDate, toDate, jasperFileFolder, jasperFileName, exportFile.getAbsolutePath());
+					String exportPath = exportFile.getAbsolutePath();
+					exportReportInBackground(defaultFilename.getName(), exportFile, () -> {
+						jasperReportsManager.getGenericReportFromDateToDateExcel(fromDate, toDate, jasperFileFolder, jasperFileName, exportPath);
+						return null;
+					});
 				}
             } else {
-                JasperReportResultDto jasperReportResultDto = 
-                				jasperReportsManager.getGenericReportFromDateToDatePdf(fromDate, toDate, jasperFileFolder, jasperFileName);
-				showReport(jasperReportResultDto);
+				showReportInBackground(defaultFilename.getName(),
+						() -> jasperReportsManager.getGenericReportFromDateToDatePdf(fromDate, toDate, jasperFileFolder, jasperFileName));
             }
-		} catch (OHReportException e) {
-			OHServiceExceptionUtil.showMessages(e);
 		} catch (Exception e) {
 			LOGGER.error("", e);
 			MessageDialog.error(null, "angal.stat.reporterror.msg");
@@ -93,15 +92,18 @@ public class GenericReportFromDateToDate extends DisplayReport {
 					if (!exportFile.getName().endsWith(extension)) {
 						exportFile = new File(exportFile.getAbsoluteFile() + "." + extension);
 					}
-					jasperReportsManager.getGenericReportFromDateToDateExcel(fromDate, toDate, jasperFileFolder, jasperFileName, exportFile.getAbsolutePath());
+					String exportPath = exportFile.getAbsolutePath();
+					exportReportInBackground(defaultFilename.getName(), exportFile, () -> {
+						jasperReportsManager.getGenericReportFromDateToDateExcel(fromDate, toDate, jasperFileFolder, jasperFileName, exportPath);
+						return null;
+					});
 				}
             } else {
-                JasperReportResultDto jasperReportResultDto = 
-                				jasperReportsManager.getGenericReportFromDateToDatePdf(fromDate, toDate, jasperFileFolder, jasperFileName);
-				showReport(jasperReportResultDto);
+				ReportResultCache.Key key = ReportResultCache.Key.of(ReportResultCache.isClosed(toDate), jasperFileFolder, jasperFileName,
+						GeneralData.LANGUAGE, fromDate, toDate);
+				showCachedReportInBackground(defaultFilename.getName(), key,
+						() -> jasperReportsManager.getGenericReportFromDateToDatePdf(fromDate, toDate, jasperFileFolder, jasperFileName));
             }
-		} catch (OHReportException e) {
-			OHServiceExceptionUtil.showMessages(e);
 		} catch (Exception e) {
 			LOGGER.error("", e);
 			MessageDialog.error(null, "angal.stat.reporterror.msg");
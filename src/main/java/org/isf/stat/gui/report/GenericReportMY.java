@@ -22,12 +22,13 @@
 package org.isf.stat.gui.report;
 
 import java.io.File;
+import java.time.YearMonth;
 
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import org.isf.generaldata.GeneralData;
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
 import org.isf.utils.excel.ExcelExporter;
 import org.isf.utils.jobjects.MessageDialog;
@@ -57,12 +58,17 @@ public class GenericReportMY extends DisplayReport {
 					if (!exportFile.getName().endsWith(extension)) {
 						exportFile = new File(exportFile.getAbsoluteFile() + "." + extension);
 					}
-					jasperReportsManager.getGenericReportMYExcel(month, year, jasperFileFolder, jasperFileName, exportFile.getAbsolutePath());
+					String exportPath = exportFile.getAbsolutePath();
+					exportReportInBackground(defaultFilename.getName(), exportFile, () -> {
+						jasperReportsManager.getGenericReportMYExcel(month, year, jasperFileFolder, jasperFileName, exportPath);
+						return null;
+					});
 				}
 			} else {
-				JasperReportResultDto jasperReportResultDto = 
-								jasperReportsManager.getGenericReportMYPdf(month, year, jasperFileFolder, jasperFileName);
-				showReport(jasperReportResultDto);
+				ReportResultCache.Key key = ReportResultCache.Key.of(ReportResultCache.isClosed(YearMonth.of(year, month)), jasperFileFolder, jasperFileName,
+						GeneralData.LANGUAGE, month, year);
+				showCachedReportInBackground(defaultFilename.getName(), key,
+						() -> jasperReportsManager.getGenericReportMYPdf(month, year, jasperFileFolder, jasperFileName));
 			}
 		} catch (Exception e) {
 			LOGGER.error("", e);
@@ -31,7 +31,6 @@ import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
 import org.isf.utils.excel.ExcelExporter;
 import org.isf.utils.jobjects.MessageDialog;
@@ -50,6 +49,7 @@ public class GenericReportPharmaceuticalAMC extends DisplayReport {
 			if (date == null) {
 				date = TimeTools.getNow();
 			}
+			LocalDateTime reportDate = date;
 
 			File defaultFilename = new File(compileAMCFilename(jasperFileName, date));
 
@@ -63,11 +63,15 @@ public class GenericReportPharmaceuticalAMC extends DisplayReport {
 					if (!exportFile.getName().endsWith(extension)) {
 						exportFile = new File(exportFile.getAbsoluteFile() + "." + extension);
 					}
-					jasperReportsManager.getGenericReportPharmaceuticalAMCExcel(date, jasperFileName, exportFile.getAbsolutePath());
+					String exportPath = exportFile.getAbsolutePath();
+					exportReportInBackground(defaultFilename.getName(), exportFile, () -> {
+						jasperReportsManager.getGenericReportPharmaceuticalAMCExcel(reportDate, jasperFileName, exportPath);
+						return null;
+					});
 				}
 			} else {
-				JasperReportResultDto jasperReportResultDto = jasperReportsManager.GenericReportPharmaceuticalAMCPdf(date, jasperFileName);
-				showReport(jasperReportResultDto);
+				showReportInBackground(defaultFilename.getName(),
+						() -> jasperReportsManager.GenericReportPharmaceuticalAMCPdf(reportDate, jasperFileName));
 			}
 		} catch (Exception e) {
 			LOGGER.error("", e);
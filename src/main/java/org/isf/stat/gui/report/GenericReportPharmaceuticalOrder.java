@@ -22,28 +22,17 @@
 package org.isf.stat.gui.report;
 
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
-import org.isf.utils.jobjects.MessageDialog;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /*
  * Created on 15/Jun/08
  */
 public class GenericReportPharmaceuticalOrder extends DisplayReport{
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(GenericReportPharmaceuticalOrder.class);
     private JasperReportsManager jasperReportsManager = Context.getApplicationContext().getBean(JasperReportsManager.class);
 
     public GenericReportPharmaceuticalOrder(String jasperFileName) {
-        try {
-            JasperReportResultDto jasperReportResultDto = jasperReportsManager.getGenericReportPharmaceuticalOrderPdf(jasperFileName);
-            showReport(jasperReportResultDto);
-        } catch (Exception e) {
-            LOGGER.error("", e);
-            MessageDialog.error(null, "angal.stat.reporterror.msg");
-        }
+        showReportInBackground(jasperFileName, () -> jasperReportsManager.getGenericReportPharmaceuticalOrderPdf(jasperFileName));
     }
 
 }
@@ -33,7 +33,6 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.model.Medical;
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
 import org.isf.utils.excel.ExcelExporter;
 import org.isf.utils.jobjects.MessageDialog;
@@ -67,13 +66,16 @@ public class GenericReportPharmaceuticalStockCard extends DisplayReport {
 					if (!exportFile.getName().endsWith(extension)) {
 						exportFile = new File(exportFile.getAbsoluteFile() + "." + extension);
 					}
-					jasperReportsManager.getGenericReportPharmaceuticalStockCardExcel(jasperFileName, exportFile.getAbsolutePath(), dateFrom, dateTo, medical,
-							ward);
+					String exportPath = exportFile.getAbsolutePath();
+					exportReportInBackground(defaultFilename.getName(), exportFile, () -> {
+						jasperReportsManager.getGenericReportPharmaceuticalStockCardExcel(jasperFileName, exportPath, dateFrom, dateTo, medical,
+								ward);
+						return null;
+					});
 				}
 			} else {
-				JasperReportResultDto jasperReportResultDto = jasperReportsManager.getGenericReportPharmaceuticalStockCardPdf(jasperFileName,
-						defaultFilename.getName(), dateFrom, dateTo, medical, ward);
-				showReport(jasperReportResultDto);
+				showReportInBackground(defaultFilename.getName(),
+						() -> jasperReportsManager.getGenericReportPharmaceuticalStockCardPdf(jasperFileName, defaultFilename.getName(), dateFrom, dateTo, medical, ward));
 			}
 		} catch (Exception e) {
 			LOGGER.error("", e);
@@ -24,29 +24,18 @@ package org.isf.stat.gui.report;
 import java.time.LocalDateTime;
 
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
-import org.isf.utils.jobjects.MessageDialog;
 import org.isf.ward.model.Ward;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /*
  * Created on 15/Jun/08
  */
 public class GenericReportPharmaceuticalStockWard extends DisplayReport {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(GenericReportPharmaceuticalStockWard.class);
 	private JasperReportsManager jasperReportsManager = Context.getApplicationContext().getBean(JasperReportsManager.class);
 
 	public GenericReportPharmaceuticalStockWard(LocalDateTime date, String jasperFileName, Ward ward) {
-		try {
-			JasperReportResultDto jasperReportResultDto = jasperReportsManager.getGenericReportPharmaceuticalStockWardPdf(date, jasperFileName, ward);
-			showReport(jasperReportResultDto);
-		} catch (Exception e) {
-			LOGGER.error("", e);
-			MessageDialog.error(null, "angal.stat.reporterror.msg");
-		}
+		showReportInBackground(jasperFileName, () -> jasperReportsManager.getGenericReportPharmaceuticalStockWardPdf(date, jasperFileName, ward));
 	}
 
 }
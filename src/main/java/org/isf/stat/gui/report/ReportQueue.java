@@ -0,0 +1,223 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.stat.gui.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.isf.utils.jobjects.MessageDialog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-wide queue of the reports generated in background.
+ * <p>
+ * Reports are filled by a fixed pool of {@link #WORKERS} threads, so that a long report does not freeze the
+ * client and many requested reports do not load the database all together; the others wait in the queue.
+ * The jobs waiting or running are listed by the {@link ReportQueueDialog}, where they can be cancelled; a report
+ * cannot be stopped while it is filled, so a cancelled job stays listed, and keeps its thread, until it ends.
+ * Must be used from the Event Dispatch Thread.
+ */
+public final class ReportQueue {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReportQueue.class);
+
+	/**
+	 * Reports generated at the same time.
+	 */
+	static final int WORKERS = 2;
+
+	private static ReportQueue instance;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(WORKERS, runnable -> {
+		Thread thread = new Thread(runnable, "ReportQueue");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final List<ReportJob<?>> jobs = new ArrayList<>();
+	private final List<ChangeListener> listeners = new ArrayList<>();
+
+	private ReportQueue() {
+	}
+
+	public static synchronized ReportQueue getInstance() {
+		if (instance == null) {
+			instance = new ReportQueue();
+		}
+		return instance;
+	}
+
+	/**
+	 * @param name - the name of the report shown in the queue
+	 * @param report - fills the report, in background
+	 * @param onReady - receives the result on the Event Dispatch Thread
+	 */
+	public <T> ReportJob<T> submit(String name, Report<T> report, ResultHandler<T> onReady) {
+		ReportJob<T> job = new ReportJob<>(name, report, onReady);
+		jobs.add(job);
+		executor.execute(job);
+		fireChanged();
+		ReportQueueDialog.showQueue();
+		return job;
+	}
+
+	/**
+	 * @return the jobs waiting, running or being cancelled, in order of submission
+	 */
+	public List<ReportJob<?>> getJobs() {
+		return new ArrayList<>(jobs);
+	}
+
+	public void addChangeListener(ChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeChangeListener(ChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	private void fireChanged() {
+		ChangeEvent event = new ChangeEvent(this);
+		for (ChangeListener listener : new ArrayList<>(listeners)) {
+			listener.stateChanged(event);
+		}
+	}
+
+	/**
+	 * Fills a report.
+	 */
+	@FunctionalInterface
+	public interface Report<T> {
+
+		/**
+		 * @return the report, or {@code null} when it is written straight to a file
+		 */
+		T generate() throws Exception;
+	}
+
+	@FunctionalInterface
+	public interface ResultHandler<T> {
+
+		void handle(T result) throws Exception;
+	}
+
+	/**
+	 * A report in the queue.
+	 */
+	public final class ReportJob<T> extends SwingWorker<T, Void> {
+
+		private final String name;
+		private final Report<T> report;
+		private final ResultHandler<T> onReady;
+		private final AtomicBoolean started = new AtomicBoolean();
+		private volatile long startedAt;
+
+		private ReportJob(String name, Report<T> report, ResultHandler<T> onReady) {
+			this.name = name;
+			this.report = report;
+			this.onReady = onReady;
+			addPropertyChangeListener(event -> {
+				if ("state".equals(event.getPropertyName())) {
+					fireChanged();
+				}
+			});
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the time the generation started, or {@code 0} while waiting
+		 */
+		public long getStartedAt() {
+			return startedAt;
+		}
+
+		@Override
+		protected T doInBackground() throws Exception {
+			if (!started.compareAndSet(false, true)) {
+				// cancelled while waiting
+				return null;
+			}
+			startedAt = System.currentTimeMillis();
+			try {
+				return report.generate();
+			} finally {
+				SwingUtilities.invokeLater(this::release);
+			}
+		}
+
+		/**
+		 * Removes the job from the queue, once its thread is free.
+		 */
+		private void release() {
+			if (jobs.remove(this)) {
+				fireChanged();
+			}
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled()) {
+				if (started.compareAndSet(false, true)) {
+					release();
+				} else {
+					// still filled by its thread: released when it ends
+					fireChanged();
+				}
+				return;
+			}
+			try {
+				onReady.handle(get());
+			} catch (CancellationException | InterruptedException e) {
+				return;
+			} catch (ExecutionException e) {
+				showError(e.getCause());
+			} catch (Exception e) {
+				showError(e);
+			}
+		}
+
+		private void showError(Throwable cause) {
+			if (cause instanceof OHServiceException) {
+				OHServiceExceptionUtil.showMessages((OHServiceException) cause);
+			} else {
+				LOGGER.error("Unable to generate the report {}.", name, cause);
+				MessageDialog.error(null, "angal.stat.reporterror.msg");
+			}
+		}
+	}
+
+}
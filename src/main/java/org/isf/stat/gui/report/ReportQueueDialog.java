@@ -0,0 +1,166 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.stat.gui.report;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.Timer;
+import javax.swing.event.ChangeListener;
+import javax.swing.table.AbstractTableModel;
+
+import org.isf.generaldata.MessageBundle;
+import org.isf.stat.gui.report.ReportQueue.ReportJob;
+
+/**
+ * Lists the reports waiting, running or being cancelled in the {@link ReportQueue}, and lets the user cancel them.
+ * <p>
+ * Shown when a report is submitted and hidden when the queue is empty; the running times are refreshed every second.
+ */
+public class ReportQueueDialog extends JDialog {
+
+	private static final long serialVersionUID = 1L;
+
+	private static ReportQueueDialog dialog;
+
+	private final ReportQueueModel model = new ReportQueueModel();
+	private final JTable table = new JTable(model);
+	private final Timer refresh = new Timer(1000, event -> model.fireTableRowsUpdated(0, model.getRowCount() - 1));
+	private final ChangeListener queueListener = event -> update();
+
+	private ReportQueueDialog() {
+		setTitle(MessageBundle.getMessage("angal.stat.reportsinprogress.title"));
+		setModal(false);
+		setDefaultCloseOperation(HIDE_ON_CLOSE);
+
+		table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		table.getColumnModel().getColumn(0).setPreferredWidth(260);
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(420, 120));
+
+		JButton cancelButton = new JButton(MessageBundle.getMessage("angal.common.cancel.btn"));
+		cancelButton.setMnemonic(MessageBundle.getMnemonic("angal.common.cancel.btn.key"));
+		cancelButton.addActionListener(event -> {
+			int row = table.getSelectedRow();
+			if (row >= 0 && !model.getJob(row).isCancelled()) {
+				model.getJob(row).cancel(true);
+			}
+		});
+		JButton closeButton = new JButton(MessageBundle.getMessage("angal.common.close.btn"));
+		closeButton.setMnemonic(MessageBundle.getMnemonic("angal.common.close.btn.key"));
+		closeButton.addActionListener(event -> setVisible(false));
+
+		JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+		buttonPanel.add(cancelButton);
+		buttonPanel.add(closeButton);
+
+		getContentPane().add(scrollPane, BorderLayout.CENTER);
+		getContentPane().add(buttonPanel, BorderLayout.SOUTH);
+		pack();
+		setLocationRelativeTo(null);
+
+		ReportQueue.getInstance().addChangeListener(queueListener);
+		update();
+	}
+
+	/**
+	 * Shows the dialog, if not already visible.
+	 */
+	static void showQueue() {
+		if (dialog == null) {
+			dialog = new ReportQueueDialog();
+		}
+		if (!dialog.isVisible()) {
+			dialog.setVisible(true);
+		}
+	}
+
+	private void update() {
+		model.setJobs(ReportQueue.getInstance().getJobs());
+		if (model.getRowCount() == 0) {
+			refresh.stop();
+			setVisible(false);
+		} else {
+			refresh.start();
+		}
+	}
+
+	private static class ReportQueueModel extends AbstractTableModel {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String[] columnNames = {
+				MessageBundle.getMessage("angal.stat.report"),
+				MessageBundle.getMessage("angal.common.status.txt")
+		};
+		private List<ReportJob<?>> jobs = new ArrayList<>();
+
+		void setJobs(List<ReportJob<?>> jobs) {
+			this.jobs = jobs;
+			fireTableDataChanged();
+		}
+
+		ReportJob<?> getJob(int row) {
+			return jobs.get(row);
+		}
+
+		@Override
+		public int getRowCount() {
+			return jobs.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return columnNames.length;
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return columnNames[column];
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			ReportJob<?> job = jobs.get(row);
+			if (column == 0) {
+				return job.getName();
+			}
+			if (job.isCancelled()) {
+				return MessageBundle.getMessage("angal.stat.cancelling.txt");
+			}
+			if (job.getStartedAt() == 0) {
+				return MessageBundle.getMessage("angal.stat.waiting.txt");
+			}
+			return MessageBundle.formatMessage("angal.stat.running.fmt.txt", (System.currentTimeMillis() - job.getStartedAt()) / 1000);
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.stat.gui.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.engine.util.JRSaver;
+
+/**
+ * Reports already generated, kept on disk and keyed by the report file and the parameters.
+ * <p>
+ * Reports of closed periods (before the current month) are kept until the report file changes, since their data
+ * are not expected to change anymore; reports of open periods expire after {@link #OPEN_PERIOD_TTL_MILLIS}.
+ * Each entry is the filled report and a copy of its PDF; when the directory grows beyond its limit the oldest
+ * entries are deleted.
+ */
+class ReportResultCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReportResultCache.class);
+
+	static final File DEFAULT_DIRECTORY = new File("rsc/report.cache");
+
+	/**
+	 * Age after which a report of an open period is generated again.
+	 */
+	static final long OPEN_PERIOD_TTL_MILLIS = 10 * 60 * 1000L;
+
+	static final long MAX_BYTES = 256L * 1024 * 1024;
+
+	private static final String PRINT_EXTENSION = ".jrprint";
+	private static final String PDF_EXTENSION = ".pdf";
+
+	private static ReportResultCache instance;
+
+	private final File directory;
+	private final long ttlMillis;
+	private final long maxBytes;
+
+	ReportResultCache(File directory, long ttlMillis, long maxBytes) {
+		this.directory = directory;
+		this.ttlMillis = ttlMillis;
+		this.maxBytes = maxBytes;
+	}
+
+	static synchronized ReportResultCache getInstance() {
+		if (instance == null) {
+			instance = new ReportResultCache(DEFAULT_DIRECTORY, OPEN_PERIOD_TTL_MILLIS, MAX_BYTES);
+		}
+		return instance;
+	}
+
+	/**
+	 * @return {@code true} if the month is before the current one
+	 */
+	static boolean isClosed(YearMonth month) {
+		return month.isBefore(YearMonth.now());
+	}
+
+	/**
+	 * @return {@code true} if the period ending on {@code toDate} is before the current month
+	 */
+	static boolean isClosed(LocalDate toDate) {
+		return isClosed(YearMonth.from(toDate));
+	}
+
+	/**
+	 * @return the cached report, or the one generated now, which is then cached
+	 */
+	Result get(Key key, ReportQueue.Report<Result> generator) throws Exception {
+		Result cached = load(key);
+		if (cached != null) {
+			return cached;
+		}
+		Result result = generator.generate();
+		store(key, result);
+		return result;
+	}
+
+	synchronized Result load(Key key) {
+		File printFile = new File(directory, key.hash + PRINT_EXTENSION);
+		File pdfFile = new File(directory, key.hash + PDF_EXTENSION);
+		if (!printFile.isFile()) {
+			return null;
+		}
+		if (!key.permanent && System.currentTimeMillis() - printFile.lastModified() > ttlMillis) {
+			delete(printFile, pdfFile);
+			return null;
+		}
+		try {
+			JasperPrint jasperPrint = (JasperPrint) JRLoader.loadObject(printFile);
+			if (!pdfFile.isFile()) {
+				JasperExportManager.exportReportToPdfFile(jasperPrint, pdfFile.getPath());
+			}
+			return new Result(jasperPrint, pdfFile.getPath());
+		} catch (JRException | ClassCastException exception) {
+			LOGGER.warn("Dropping unreadable cached report {}: {}", printFile, exception.getMessage());
+			delete(printFile, pdfFile);
+			return null;
+		}
+	}
+
+	synchronized void store(Key key, Result result) {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			LOGGER.warn("Cannot create the report cache {}", directory);
+			return;
+		}
+		File printFile = new File(directory, key.hash + PRINT_EXTENSION);
+		File pdfFile = new File(directory, key.hash + PDF_EXTENSION);
+		try {
+			// written aside and moved, so that a concurrent reader never sees a partial file
+			File printTemp = new File(directory, key.hash + PRINT_EXTENSION + ".tmp");
+			JRSaver.saveObject(result.getJasperPrint(), printTemp);
+			Files.move(printTemp.toPath(), printFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			if (result.getFilename() != null && new File(result.getFilename()).isFile()) {
+				Files.copy(new File(result.getFilename()).toPath(), pdfFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} else {
+				Files.deleteIfExists(pdfFile.toPath());
+			}
+		} catch (JRException | IOException exception) {
+			LOGGER.warn("Cannot cache the report {}: {}", printFile, exception.getMessage());
+			delete(printFile, pdfFile);
+			return;
+		}
+		prune();
+	}
+
+	/*
+	 * Deletes the oldest files until the cache fits its limit
+	 */
+	private void prune() {
+		File[] files = directory.listFiles(File::isFile);
+		if (files == null) {
+			return;
+		}
+		long bytes = Arrays.stream(files).mapToLong(File::length).sum();
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < files.length && bytes > maxBytes; i++) {
+			bytes -= files[i].length();
+			delete(files[i]);
+		}
+	}
+
+	private static void delete(File... files) {
+		for (File file : files) {
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException exception) {
+				LOGGER.warn("Cannot delete {}: {}", file, exception.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Identifies a report by its compiled file, with its last change, and by its parameters.
+	 */
+	static final class Key {
+
+		private final String hash;
+		private final boolean permanent;
+
+		private Key(String hash, boolean permanent) {
+			this.hash = hash;
+			this.permanent = permanent;
+		}
+
+		/**
+		 * @param closedPeriod - if {@code true} the report is kept until the report file changes
+		 * @param parameters - all the values the report depends on, compared by their {@code toString()}
+		 */
+		static Key of(boolean closedPeriod, String jasperFileFolder, String jasperFileName, Object... parameters) {
+			File jasperFile = new File(jasperFileFolder, jasperFileName + ".jasper");
+			StringBuilder text = new StringBuilder(jasperFileFolder).append('/').append(jasperFileName)
+					.append('\u0000').append(jasperFile.lastModified());
+			for (Object parameter : parameters) {
+				text.append('\u0000').append(parameter);
+			}
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				return new Key(HexFormat.of().formatHex(digest.digest(text.toString().getBytes(StandardCharsets.UTF_8))), closedPeriod);
+			} catch (NoSuchAlgorithmException exception) {
+				// every Java platform provides SHA-256
+				throw new IllegalStateException(exception);
+			}
+		}
+
+		String getHash() {
+			return hash;
+		}
+	}
+
+	/**
+	 * A filled report and its PDF file, if any.
+	 */
+	static final class Result {
+
+		private final JasperPrint jasperPrint;
+		private final String filename;
+
+		Result(JasperPrint jasperPrint, String filename) {
+			this.jasperPrint = jasperPrint;
+			this.filename = filename;
+		}
+
+		JasperPrint getJasperPrint() {
+			return jasperPrint;
+		}
+
+		String getFilename() {
+			return filename;
+		}
+	}
+
+}
@@ -24,25 +24,13 @@ package org.isf.stat.gui.report;
 import java.time.LocalDateTime;
 
 import org.isf.menu.manager.Context;
-import org.isf.stat.dto.JasperReportResultDto;
 import org.isf.stat.manager.JasperReportsManager;
-import org.isf.utils.jobjects.MessageDialog;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class WardVisitsReport extends DisplayReport {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(WardVisitsReport.class);
-
 	public WardVisitsReport(String string, LocalDateTime date, String jasperFileName) {
-		try {
-			JasperReportsManager jasperReportsManager = Context.getApplicationContext().getBean(JasperReportsManager.class);
-			JasperReportResultDto jasperReportResultDto = jasperReportsManager.getGenericReportWardVisitPdf(string, date, jasperFileName);
-			showReport(jasperReportResultDto);
-		} catch (Exception e) {
-			LOGGER.error("", e);
-			MessageDialog.error(null, "angal.stat.reporterror.msg");
-		}
+		JasperReportsManager jasperReportsManager = Context.getApplicationContext().getBean(JasperReportsManager.class);
+		showReportInBackground(jasperFileName, () -> jasperReportsManager.getGenericReportWardVisitPdf(string, date, jasperFileName));
 	}
 
 }
@@ -101,6 +101,7 @@ public class ReportLauncher extends ModalJFrame {
 	private Map<String, File> reportNameFileMap;
 	private Map<String, List<String>> folderNameFileNameMap;
 	private List<String> userInputParamNames;
+	private final Map<String, List<String>> promptedParameters = new HashMap<>();
 
 	private JComboBox<String> shareWith;
 	Interaction userOh;
@@ -328,12 +329,7 @@ public class ReportLauncher extends ModalJFrame {
 		File jasperFile = reportNameFileMap.get(jRptComboBox.getSelectedItem().toString());
 		if (jasperFile != null) {
 			try {
-				JasperReport jasperReport = (JasperReport) JRLoader.loadObject(jasperFile);
-				JRParameter[] params = jasperReport.getParameters();
-
-				List<JRParameter> userInputParams = Arrays.asList(params).stream().filter(t -> !t.isSystemDefined() && t.isForPrompting())
-								.collect(Collectors.toList());
-				userInputParamNames = userInputParams.stream().map(t -> t.getName()).collect(Collectors.toList());
+				userInputParamNames = getPromptedParameters(jasperFile);
 				if (userInputParamNames.contains("fromdate") || userInputParamNames.contains("todate")) {
 					jMonthComboBox.setVisible(false);
 					jMonthLabel.setVisible(false);
@@ -359,6 +355,24 @@ public class ReportLauncher extends ModalJFrame {
 		}
 	}
 
+	/*
+	 * The compiled report is loaded only the first time it is selected, and again if the file changes
+	 */
+	private List<String> getPromptedParameters(File jasperFile) throws JRException {
+		String key = jasperFile.getPath() + '@' + jasperFile.lastModified();
+		List<String> parameterNames = promptedParameters.get(key);
+		if (parameterNames == null) {
+			JasperReport jasperReport = (JasperReport) JRLoader.loadObject(jasperFile);
+			JRParameter[] params = jasperReport.getParameters();
+
+			List<JRParameter> userInputParams = Arrays.asList(params).stream().filter(t -> !t.isSystemDefined() && t.isForPrompting())
+							.collect(Collectors.toList());
+			parameterNames = userInputParams.stream().map(t -> t.getName()).collect(Collectors.toList());
+			promptedParameters.put(key, parameterNames);
+		}
+		return parameterNames;
+	}
+
 	private JButton getJLaunchReportButton() {
 		if (jLaunchReport == null) {
 			jLaunchReport = new JButton(MessageBundle.getMessage("angal.common.launchreport.btn"));
@@ -40,6 +40,7 @@ import org.isf.menu.manager.Context;
 import org.isf.supplier.gui.SupplierEdit.SupplierListener;
 import org.isf.supplier.manager.SupplierBrowserManager;
 import org.isf.supplier.model.Supplier;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -224,6 +225,7 @@ public class SupplierBrowser extends ModalJFrame implements SupplierListener {
 						m.setSupDeleted('Y');
 						try {
 							supplierBrowserManager.saveOrUpdate(m);
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.SUPPLIERS);
 						} catch (OHServiceException e) {
 							OHServiceExceptionUtil.showMessages(e);
 						}
@@ -41,6 +41,7 @@ import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
 import org.isf.supplier.manager.SupplierBrowserManager;
 import org.isf.supplier.model.Supplier;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.JLabelRequired;
@@ -265,6 +266,7 @@ public class SupplierEdit extends JDialog {
 				if (insert) {	// inserting
 					try {
 						Supplier insertedSupplier = supplierBrowserManager.saveOrUpdate(supplier);
+						ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.SUPPLIERS);
 						fireSupplierInserted();
 						dispose();
 					} catch (OHServiceException ex) {
@@ -274,6 +276,7 @@ public class SupplierEdit extends JDialog {
 				} else {	// updating
 					try {
 						Supplier updatedSupplier = supplierBrowserManager.saveOrUpdate(supplier);
+						ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.SUPPLIERS);
 						fireSupplierUpdated();
 						dispose();
 					} catch (OHServiceException ex) {
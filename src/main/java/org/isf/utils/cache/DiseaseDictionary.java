@@ -0,0 +1,75 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.isf.disease.model.Disease;
+
+/**
+ * Read-only index of all the diseases by code, ignoring case, shared through
+ * {@link ReferenceDataCache#DISEASE_DICTIONARY}.
+ * <p>
+ * Rows showing the diagnosis of admissions and OPD visits only have the disease code at hand: the index replaces
+ * the scan of the whole disease list for each cell.
+ */
+public final class DiseaseDictionary {
+
+	private final Map<String, Disease> diseases;
+
+	public DiseaseDictionary(List<Disease> diseaseList) {
+		diseases = new HashMap<>(diseaseList.size() * 4 / 3 + 1);
+		for (Disease disease : diseaseList) {
+			if (disease.getCode() != null) {
+				// the first one wins, as with a scan of the list
+				diseases.putIfAbsent(toKey(disease.getCode()), disease);
+			}
+		}
+	}
+
+	/**
+	 * @return the disease with the given code, ignoring case, or {@code null}
+	 */
+	public Disease getDisease(String code) {
+		return code == null ? null : diseases.get(toKey(code));
+	}
+
+	/**
+	 * @return the description of the disease with the given code, ignoring case, or {@code null}
+	 */
+	public String getDescription(String code) {
+		Disease disease = getDisease(code);
+		return disease == null ? null : disease.getDescription();
+	}
+
+	public int size() {
+		return diseases.size();
+	}
+
+	private static String toKey(String code) {
+		return code.toUpperCase(Locale.ROOT);
+	}
+
+}
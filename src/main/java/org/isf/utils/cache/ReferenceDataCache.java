@@ -0,0 +1,256 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import org.isf.disease.manager.DiseaseBrowserManager;
+import org.isf.disease.model.Disease;
+import org.isf.exa.manager.ExamBrowsingManager;
+import org.isf.exa.model.Exam;
+import org.isf.medtype.manager.MedicalTypeBrowserManager;
+import org.isf.medtype.model.MedicalType;
+import org.isf.menu.manager.Context;
+import org.isf.supplier.manager.SupplierBrowserManager;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.ward.manager.WardBrowserManager;
+import org.isf.ward.model.Ward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-wide cache of the reference data read by most windows: wards, diseases, medical types, suppliers
+ * and exams.
+ * <p>
+ * Each list is loaded on first use and kept as a versioned snapshot. Callers get a copy of the snapshot, so they
+ * may sort or filter it freely; the read-only {@link DiseaseDictionary} is shared as is. A snapshot older than
+ * {@link #MAX_AGE_MILLIS} is still returned, and reloaded in background for the next callers, so that changes made
+ * by other clients show up without waiting for the database on the window opening. The windows editing the data
+ * call {@link #invalidate(Key...)}: the snapshot is dropped at once and reloaded in background, and a reload started
+ * before the invalidation is discarded.
+ * <p>
+ * Medicals are not cached: they carry the stock quantities, which change with every movement.
+ */
+public final class ReferenceDataCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+	/**
+	 * Age after which a snapshot is reloaded in background.
+	 */
+	static final long MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+	public static final Key<List<Ward>> WARDS = new Key<>("wards",
+			() -> Context.getApplicationContext().getBean(WardBrowserManager.class).getWards(), ArrayList::new);
+	public static final Key<List<Ward>> IPD_WARDS = new Key<>("ipdWards",
+			() -> Context.getApplicationContext().getBean(WardBrowserManager.class).getIpdWards(), ArrayList::new);
+	public static final Key<List<Ward>> OPD_WARDS = new Key<>("opdWards",
+			() -> Context.getApplicationContext().getBean(WardBrowserManager.class).getOpdWards(), ArrayList::new);
+	public static final Key<List<Disease>> DISEASES_ALL = new Key<>("diseasesAll",
+			() -> Context.getApplicationContext().getBean(DiseaseBrowserManager.class).getDiseaseAll(), ArrayList::new);
+	public static final Key<List<Disease>> DISEASES_OPD = new Key<>("diseasesOpd",
+			() -> Context.getApplicationContext().getBean(DiseaseBrowserManager.class).getDiseaseOpd(), ArrayList::new);
+	public static final Key<List<Disease>> DISEASES_IPD_IN = new Key<>("diseasesIpdIn",
+			() -> Context.getApplicationContext().getBean(DiseaseBrowserManager.class).getDiseaseIpdIn(), ArrayList::new);
+	public static final Key<List<Disease>> DISEASES_IPD_OUT = new Key<>("diseasesIpdOut",
+			() -> Context.getApplicationContext().getBean(DiseaseBrowserManager.class).getDiseaseIpdOut(), ArrayList::new);
+	public static final Key<DiseaseDictionary> DISEASE_DICTIONARY = new Key<>("diseaseDictionary",
+			() -> new DiseaseDictionary(Context.getApplicationContext().getBean(DiseaseBrowserManager.class).getDiseaseAll()),
+			UnaryOperator.identity());
+	public static final Key<List<MedicalType>> MEDICAL_TYPES = new Key<>("medicalTypes",
+			() -> Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class).getMedicalType(), ArrayList::new);
+	public static final Key<Map<Integer, String>> SUPPLIERS = new Key<>("suppliers",
+			() -> Context.getApplicationContext().getBean(SupplierBrowserManager.class).getHashMap(true), HashMap::new);
+	public static final Key<List<Exam>> EXAMS = new Key<>("exams",
+			() -> Context.getApplicationContext().getBean(ExamBrowsingManager.class).getExams(), ArrayList::new);
+
+	/**
+	 * All the lists read from the wards, to be invalidated together.
+	 */
+	public static final Key<?>[] ALL_WARDS = { WARDS, IPD_WARDS, OPD_WARDS };
+
+	/**
+	 * All the lists read from the diseases, to be invalidated together.
+	 */
+	public static final Key<?>[] ALL_DISEASES = { DISEASES_ALL, DISEASES_OPD, DISEASES_IPD_IN, DISEASES_IPD_OUT, DISEASE_DICTIONARY };
+
+	private static ReferenceDataCache instance;
+
+	private final long maxAgeMillis;
+	private final AtomicLong versions = new AtomicLong();
+	private final Map<Key<?>, Snapshot<?>> snapshots = new ConcurrentHashMap<>();
+	private final Map<Key<?>, Long> generations = new ConcurrentHashMap<>();
+	private final Map<Key<?>, Future<?>> reloading = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "ReferenceDataCache");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	ReferenceDataCache(long maxAgeMillis) {
+		this.maxAgeMillis = maxAgeMillis;
+	}
+
+	public static synchronized ReferenceDataCache getInstance() {
+		if (instance == null) {
+			instance = new ReferenceDataCache(MAX_AGE_MILLIS);
+		}
+		return instance;
+	}
+
+	/**
+	 * @return a copy of the cached data, loaded now on first use or after an invalidation not yet reloaded
+	 */
+	public <T> T get(Key<T> key) throws OHServiceException {
+		Snapshot<T> snapshot = getSnapshot(key);
+		if (snapshot == null) {
+			snapshot = awaitReload(key);
+		}
+		if (snapshot == null) {
+			snapshot = load(key);
+		} else if (System.currentTimeMillis() - snapshot.loadedAt > maxAgeMillis) {
+			reloadInBackground(key);
+		}
+		return key.copier.apply(snapshot.value);
+	}
+
+	/**
+	 * @return the version of the cached snapshot, increasing at each load of any key, or {@code 0} if not loaded
+	 */
+	public long getVersion(Key<?> key) {
+		Snapshot<?> snapshot = snapshots.get(key);
+		return snapshot == null ? 0 : snapshot.version;
+	}
+
+	/**
+	 * Drops the snapshots of the given keys, after their data have been changed, and reloads them in background.
+	 */
+	public void invalidate(Key<?>... keys) {
+		for (Key<?> key : keys) {
+			synchronized (this) {
+				generations.merge(key, 1L, Long::sum);
+				snapshots.remove(key);
+			}
+			reloadInBackground(key);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Snapshot<T> getSnapshot(Key<T> key) {
+		return (Snapshot<T>) snapshots.get(key);
+	}
+
+	private <T> Snapshot<T> load(Key<T> key) throws OHServiceException {
+		long generation = generations.getOrDefault(key, 0L);
+		Snapshot<T> snapshot = new Snapshot<>(key.copier.apply(key.loader.load()), versions.incrementAndGet());
+		synchronized (this) {
+			// an invalidation during the load means the data read may be already old
+			if (generations.getOrDefault(key, 0L) == generation) {
+				snapshots.put(key, snapshot);
+			}
+		}
+		return snapshot;
+	}
+
+	/*
+	 * Waits for the reload following an invalidation rather than querying the same data again
+	 */
+	private <T> Snapshot<T> awaitReload(Key<T> key) {
+		Future<?> future = reloading.get(key);
+		if (future != null) {
+			try {
+				future.get();
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException | CancellationException exception) {
+				// loaded again by the caller, so that errors are reported to it
+			}
+		}
+		return getSnapshot(key);
+	}
+
+	private synchronized void reloadInBackground(Key<?> key) {
+		Future<?> running = reloading.get(key);
+		if (running != null && !running.isDone()) {
+			return;
+		}
+		reloading.put(key, executor.submit(() -> {
+			try {
+				load(key);
+			} catch (OHServiceException | RuntimeException exception) {
+				// the next caller loads it again and gets the error
+				LOGGER.warn("Cannot reload {}: {}", key.name, exception.getMessage());
+			}
+		}));
+	}
+
+	/**
+	 * The data cached under a name, with the query loading them and the copy handed to the callers.
+	 */
+	public static final class Key<T> {
+
+		private final String name;
+		private final Loader<T> loader;
+		private final UnaryOperator<T> copier;
+
+		Key(String name, Loader<T> loader, UnaryOperator<T> copier) {
+			this.name = name;
+			this.loader = loader;
+			this.copier = copier;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	@FunctionalInterface
+	interface Loader<T> {
+
+		T load() throws OHServiceException;
+	}
+
+	private static final class Snapshot<T> {
+
+		private final T value;
+		private final long version;
+		private final long loadedAt = System.currentTimeMillis();
+
+		Snapshot(T value, long version) {
+			this.value = value;
+			this.version = version;
+		}
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Search-as-you-type support for a {@link JTextField}.
+ * <p>
+ * Edits of the field (typed, pasted or deleted text) are coalesced and the search runs once the field has been
+ * quiet for the delay, always with the current text. When the search runs in background a newer edit cancels
+ * the running one and only the result of the latest search is rendered.
+ *
+ * @param <T> the type of the search result
+ */
+public class DebouncedSearch<T> implements DocumentListener {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DebouncedSearch.class);
+
+	public static final int DEFAULT_DELAY = 250;
+
+	private final JTextField textField;
+	private final Function<String, T> filter;
+	private final Consumer<T> renderer;
+	private final boolean background;
+	private final Timer timer;
+	private SwingWorker<T, Void> worker;
+
+	private DebouncedSearch(JTextField textField, Function<String, T> filter, Consumer<T> renderer, boolean background) {
+		this.textField = textField;
+		this.filter = filter;
+		this.renderer = renderer;
+		this.background = background;
+		timer = new Timer(DEFAULT_DELAY, actionEvent -> search());
+		timer.setRepeats(false);
+		textField.getDocument().addDocumentListener(this);
+	}
+
+	/**
+	 * Runs the search on the Event Dispatch Thread; suitable when the search reads other Swing components.
+	 *
+	 * @param textField - the search field
+	 * @param search - the action receiving the text of the field
+	 * @return the installed search
+	 */
+	public static DebouncedSearch<String> install(JTextField textField, Consumer<String> search) {
+		return new DebouncedSearch<>(textField, Function.identity(), search, false);
+	}
+
+	/**
+	 * Runs the filter in background and renders its result on the Event Dispatch Thread.
+	 *
+	 * @param textField - the search field
+	 * @param filter - the filter, must not access Swing components
+	 * @param renderer - the action receiving the result of the latest filter
+	 * @return the installed search
+	 */
+	public static <T> DebouncedSearch<T> install(JTextField textField, Function<String, T> filter, Consumer<T> renderer) {
+		return new DebouncedSearch<>(textField, filter, renderer, true);
+	}
+
+	/**
+	 * @param delay - the quiet time in milliseconds after the last edit
+	 */
+	public void setDelay(int delay) {
+		timer.setInitialDelay(delay);
+	}
+
+	/**
+	 * Runs the pending search, if any, without waiting for the delay.
+	 */
+	public void flush() {
+		if (timer.isRunning()) {
+			timer.stop();
+			search();
+		}
+	}
+
+	/**
+	 * Discards the pending search and the running one.
+	 */
+	public void cancel() {
+		timer.stop();
+		if (worker != null) {
+			worker.cancel(true);
+			worker = null;
+		}
+	}
+
+	/**
+	 * Cancels any search and stops listening to the field.
+	 */
+	public void uninstall() {
+		cancel();
+		textField.getDocument().removeDocumentListener(this);
+	}
+
+	@Override
+	public void insertUpdate(DocumentEvent e) {
+		edited();
+	}
+
+	@Override
+	public void removeUpdate(DocumentEvent e) {
+		edited();
+	}
+
+	@Override
+	public void changedUpdate(DocumentEvent e) {
+	}
+
+	private void edited() {
+		if (worker != null) {
+			worker.cancel(true);
+			worker = null;
+		}
+		timer.restart();
+	}
+
+	private void search() {
+		String text = textField.getText();
+		if (!background) {
+			renderer.accept(filter.apply(text));
+			return;
+		}
+		worker = new SwingWorker<>() {
+
+			@Override
+			protected T doInBackground() {
+				return filter.apply(text);
+			}
+
+			@Override
+			protected void done() {
+				if (isCancelled() || worker != this) {
+					return;
+				}
+				worker = null;
+				try {
+					renderer.accept(get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					LOGGER.error("Search failed for '{}'.", text, e.getCause());
+				}
+			}
+		};
+		worker.execute();
+	}
+
+}
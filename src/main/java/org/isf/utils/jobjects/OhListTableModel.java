@@ -0,0 +1,129 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Base table model backed by a list of records, one per row.
+ * <p>
+ * The model is meant to be set once on its table: a new result is loaded with {@link #setRows(List)}, which
+ * keeps columns, renderers and widths, and a single changed record is applied with {@link #addRow(int, Object)},
+ * {@link #updateRow(int, Object)} or {@link #removeRow(int)}, which only repaint the affected row.
+ * As in the other models of the application, {@code getValueAt(row, -1)} returns the record itself.
+ *
+ * @param <T> the type of the records
+ */
+public abstract class OhListTableModel<T> extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<T> rows = new ArrayList<>();
+
+	/**
+	 * @return the value to be shown in the column for the record
+	 */
+	protected abstract Object getColumnValue(T row, int columnIndex);
+
+	@Override
+	public int getRowCount() {
+		return rows.size();
+	}
+
+	@Override
+	public Object getValueAt(int rowIndex, int columnIndex) {
+		T row = rows.get(rowIndex);
+		if (columnIndex == -1) {
+			return row;
+		}
+		return getColumnValue(row, columnIndex);
+	}
+
+	@Override
+	public boolean isCellEditable(int rowIndex, int columnIndex) {
+		return false;
+	}
+
+	/**
+	 * Replaces all the rows; the list is copied.
+	 */
+	public void setRows(List<T> rows) {
+		this.rows = rows == null ? new ArrayList<>() : new ArrayList<>(rows);
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Appends rows at the end of the model.
+	 */
+	public void addRows(List<T> newRows) {
+		if (newRows.isEmpty()) {
+			return;
+		}
+		int firstRow = rows.size();
+		rows.addAll(newRows);
+		fireTableRowsInserted(firstRow, rows.size() - 1);
+	}
+
+	public void addRow(int rowIndex, T row) {
+		rows.add(rowIndex, row);
+		fireTableRowsInserted(rowIndex, rowIndex);
+	}
+
+	public void updateRow(int rowIndex, T row) {
+		rows.set(rowIndex, row);
+		fireTableRowsUpdated(rowIndex, rowIndex);
+	}
+
+	public void removeRow(int rowIndex) {
+		rows.remove(rowIndex);
+		fireTableRowsDeleted(rowIndex, rowIndex);
+	}
+
+	public T getRow(int rowIndex) {
+		return rows.get(rowIndex);
+	}
+
+	/**
+	 * @return a read-only view of the rows
+	 */
+	public List<T> getRows() {
+		return Collections.unmodifiableList(rows);
+	}
+
+	/**
+	 * @return the index of the first row matching the predicate, or {@code -1}
+	 */
+	public int indexOf(Predicate<T> predicate) {
+		for (int i = 0; i < rows.size(); i++) {
+			if (predicate.test(rows.get(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
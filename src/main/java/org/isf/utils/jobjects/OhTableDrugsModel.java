@@ -40,6 +40,8 @@ public class OhTableDrugsModel<T> implements TableModel {
 
 	List<T> filteredList;
 
+	private final DateTimeFormatter currentDateFormat = DateTimeFormatter.ofPattern(DATE_FORMAT_DD_MM_YYYY, new Locale(GeneralData.LANGUAGE));
+
 	public OhTableDrugsModel(List<T> dataList) {
 		this.filteredList = new ArrayList<>();
 
@@ -103,7 +105,6 @@ public class OhTableDrugsModel<T> implements TableModel {
 					case 0:
 						String dt;
 						try {
-							final DateTimeFormatter currentDateFormat = DateTimeFormatter.ofPattern(DATE_FORMAT_DD_MM_YYYY, new Locale(GeneralData.LANGUAGE));
 							dt = currentDateFormat.format(drugObj.getDate());
 							value = dt;
 						} catch (Exception ex) {
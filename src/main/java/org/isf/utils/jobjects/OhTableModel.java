@@ -21,11 +21,11 @@
  */
 package org.isf.utils.jobjects;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import javax.swing.event.TableModelListener;
-import javax.swing.table.TableModel;
+import javax.swing.table.AbstractTableModel;
 
 import org.isf.accounting.model.BillItems;
 import org.isf.generaldata.MessageBundle;
@@ -36,116 +36,132 @@ import org.isf.utils.exception.OHException;
 
 /**
  * This class builds products table with filter
+ * <p>
+ * The code, the description and the lowercase search key of each row are read once, when the model is built, and
+ * the exact codes are indexed: a query only scans the search keys, and a query extending the previous one only scans
+ * the rows matching the previous one.
  *
  * @author u2g
  */
-public class OhTableModel<T> implements TableModel {
-
-	List<T> dataList;
-	List<T> filteredList;
-	String searchQuery = "";
-	boolean allowSearchByCode;
+public class OhTableModel<T> extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<T> dataList;
+	private final String[] codes;
+	private final String[] descriptions;
+	private final String[] searchKeys;
+	private final Map<String, Integer> codeIndex = new HashMap<>();
+	private final boolean allowSearchByCode;
+
+	/*
+	 * Rows containing the last query, and the rows shown: the same array unless the query is an exact code
+	 */
+	private int[] matches;
+	private int matchCount;
+	private int[] rows;
+	private int rowCount;
+	private String searchQuery = "";
+	private String lastKey = "";
 
 	public OhTableModel(List<T> dataList) {
-		this.dataList = dataList;
-		this.filteredList = new ArrayList<>();
-
-		this.filteredList.addAll(dataList);
+		this(dataList, false);
 	}
 
 	public OhTableModel(List<T> dataList, boolean allowSearchByCode) {
 		this.allowSearchByCode = allowSearchByCode;
 		this.dataList = dataList;
-		this.filteredList = new ArrayList<>();
+		int size = dataList.size();
+		codes = new String[size];
+		descriptions = new String[size];
+		searchKeys = new String[size];
+		matches = new int[size];
+		for (int i = 0; i < size; i++) {
+			index(i, dataList.get(i));
+			matches[i] = i;
+		}
+		matchCount = size;
+		rows = matches;
+		rowCount = size;
+	}
 
-		this.filteredList.addAll(dataList);
+	private void index(int row, Object object) {
+		String code = null;
+		String displayCode = "";
+		String description = "";
+		if (object instanceof Price) {
+			Price price = (Price) object;
+			code = price.getItem();
+			displayCode = code != null ? code : String.valueOf(price.getId());
+			description = price.getDesc();
+		} else if (object instanceof MedicalWard) {
+			MedicalWard mdw = (MedicalWard) object;
+			code = mdw.getMedical().getProdCode();
+			displayCode = code != null ? code : String.valueOf(mdw.getMedical().getCode());
+			description = mdw.getMedical().getDescription();
+		} else if (object instanceof PricesOthers) {
+			PricesOthers priceO = (PricesOthers) object;
+			code = priceO.getCode();
+			displayCode = code != null ? code : String.valueOf(priceO.getId());
+			description = priceO.getDescription();
+		} else if (object instanceof BillItems) {
+			BillItems item = (BillItems) object;
+			code = item.getItemDisplayCode();
+			displayCode = code != null ? code : String.valueOf(item.getId());
+			description = item.getItemDescription();
+		} else {
+			// other objects are shown empty and never match, as they always were
+			codes[row] = "";
+			descriptions[row] = "";
+			return;
+		}
+		codes[row] = displayCode;
+		descriptions[row] = description;
+		searchKeys[row] = (code + description).toLowerCase();
+		if (code != null) {
+			codeIndex.putIfAbsent(code.toLowerCase(), row);
+		}
 	}
 
+	/**
+	 * Shows the rows whose code followed by the description contains the query, ignoring case; if the code search is
+	 * allowed and the query is the code of a row, only that row is shown.
+	 *
+	 * @return the only row shown, or {@code null} if none or more than one
+	 */
 	public T filter(String searchQuery) throws OHException {
 		this.searchQuery = searchQuery;
-		this.filteredList = new ArrayList<>();
-
-		for (T t : this.dataList) {
-			Object object = t;
-			if (object instanceof Price) {
-				Price price = (Price) object;
-				String strItem = price.getItem() + price.getDesc();
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(price.getItem())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
-			if (object instanceof MedicalWard) {
-				MedicalWard mdw = (MedicalWard) object;
-				String strItem = mdw.getMedical().getProdCode() + mdw.getMedical().getDescription();
-
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(mdw.getMedical().getProdCode())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
+		String key = searchQuery.toLowerCase();
+
+		// typing more characters only narrows the previous matches
+		boolean narrowing = key.startsWith(lastKey);
+		int candidateCount = narrowing ? matchCount : searchKeys.length;
+		int[] found = new int[candidateCount];
+		int foundCount = 0;
+		for (int i = 0; i < candidateCount; i++) {
+			int row = narrowing ? matches[i] : i;
+			if (searchKeys[row] != null && searchKeys[row].contains(key)) {
+				found[foundCount++] = row;
 			}
-
-			if (object instanceof PricesOthers) {
-				PricesOthers priceO = (PricesOthers) object;
-				String strItem = priceO.getCode() + priceO.getDescription();
-
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(priceO.getCode())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
-			if (object instanceof BillItems) {
-				BillItems priceO = (BillItems) object;
-				String strItem = priceO.getItemDisplayCode() + priceO.getItemDescription();
-
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(priceO.getItemDisplayCode())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
 		}
-		if (filteredList.size() == 1) {
-			return filteredList.get(0);
+		matches = found;
+		matchCount = foundCount;
+		lastKey = key;
+
+		Integer codeRow = allowSearchByCode ? codeIndex.get(key) : null;
+		if (codeRow != null) {
+			rows = new int[] { codeRow };
+			rowCount = 1;
+		} else {
+			rows = matches;
+			rowCount = matchCount;
 		}
-		return null;
-	}
+		fireTableDataChanged();
 
-	@Override
-	public void addTableModelListener(TableModelListener l) {
+		if (rowCount == 1) {
+			return dataList.get(rows[0]);
+		}
+		return null;
 	}
 
 	@Override
@@ -176,59 +192,21 @@ public class OhTableModel<T> implements TableModel {
 
 	@Override
 	public int getRowCount() {
-		if (this.filteredList == null) {
-			return 0;
-		}
-		return this.filteredList.size();
+		return rowCount;
 	}
 
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
-
-		String value = "";
-		if (rowIndex >= 0 && rowIndex < this.filteredList.size()) {
-			T obj = this.filteredList.get(rowIndex);
-			if (obj instanceof Price) {
-				Price priceObj = (Price) obj;
-				if (columnIndex == 0) {
-					value = priceObj.getItem() != null ? priceObj.getItem() : String.valueOf(priceObj.getId());
-				} else {
-					value = priceObj.getDesc();
-				}
-			}
-			if (obj instanceof MedicalWard) {
-				MedicalWard mdwObj = (MedicalWard) obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getMedical().getProdCode() != null ? mdwObj.getMedical().getProdCode() : String.valueOf(mdwObj.getMedical().getCode());
-				} else {
-					value = mdwObj.getMedical().getDescription();
-				}
-			}
-			if (obj instanceof PricesOthers) {
-				PricesOthers mdwObj = (PricesOthers) obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getCode() != null ? mdwObj.getCode() : String.valueOf(mdwObj.getId());
-				} else {
-					value = mdwObj.getDescription();
-				}
-			}
-
-			if (obj instanceof BillItems) {
-				BillItems mdwObj = (BillItems) obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getItemDisplayCode() != null ? mdwObj.getItemDisplayCode() : String.valueOf(mdwObj.getId());
-				} else {
-					value = mdwObj.getItemDescription();
-				}
-			}
-
+		if (rowIndex >= 0 && rowIndex < rowCount) {
+			int row = rows[rowIndex];
+			return columnIndex == 0 ? codes[row] : descriptions[row];
 		}
-		return value;
+		return "";
 	}
 
 	public T getObjectAt(int rowIndex) {
-		if (rowIndex >= 0 && rowIndex < this.filteredList.size()) {
-			return this.filteredList.get(rowIndex);
+		if (rowIndex >= 0 && rowIndex < rowCount) {
+			return dataList.get(rows[rowIndex]);
 		}
 		return null;
 	}
@@ -238,14 +216,6 @@ public class OhTableModel<T> implements TableModel {
 		return false;
 	}
 
-	@Override
-	public void removeTableModelListener(TableModelListener l) {
-	}
-
-	@Override
-	public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
-	}
-
 	public String getSearchQuery() {
 		return searchQuery;
 	}
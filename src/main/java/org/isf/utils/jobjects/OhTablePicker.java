@@ -0,0 +1,191 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.BorderFactory;
+import javax.swing.Icon;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import org.isf.generaldata.MessageBundle;
+import org.isf.utils.exception.OHException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Modal dialog picking one item from an {@link OhTableModel}, filtered while typing in the search field.
+ * <p>
+ * Enter or a double click picks the selected row; when the search leaves a single row, Enter picks it.
+ *
+ * @param <T> the type of the items
+ */
+public class OhTablePicker<T> extends JDialog {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OhTablePicker.class);
+
+	private final OhTableModel<T> model;
+	private final JTable table;
+	private final JTextField searchField = new JTextField();
+	private T selected;
+
+	private OhTablePicker(Component parent, String title, String message, Icon icon, OhTableModel<T> model) {
+		super(parent == null ? null : SwingUtilities.getWindowAncestor(parent), title, ModalityType.APPLICATION_MODAL);
+		this.model = model;
+		table = new JTable(model);
+		table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		table.setShowVerticalLines(false);
+		table.getColumnModel().getColumn(0).setPreferredWidth(100);
+		table.getColumnModel().getColumn(1).setPreferredWidth(400);
+		table.addMouseListener(new MouseAdapter() {
+
+			@Override
+			public void mouseClicked(MouseEvent mouseEvent) {
+				if (mouseEvent.getClickCount() == 2) {
+					pick();
+				}
+			}
+		});
+		table.addKeyListener(new KeyAdapter() {
+
+			@Override
+			public void keyPressed(KeyEvent keyEvent) {
+				if (keyEvent.getKeyCode() == KeyEvent.VK_ENTER) {
+					keyEvent.consume();
+					pick();
+				}
+			}
+		});
+
+		searchField.getDocument().addDocumentListener(new DocumentListener() {
+
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				filter();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				filter();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+				filter();
+			}
+		});
+		searchField.addActionListener(actionEvent -> pick());
+		searchField.addKeyListener(new KeyAdapter() {
+
+			@Override
+			public void keyPressed(KeyEvent keyEvent) {
+				// moves from the search to the rows without the mouse
+				if (keyEvent.getKeyCode() == KeyEvent.VK_DOWN && table.getRowCount() > 0) {
+					table.requestFocusInWindow();
+				}
+			}
+		});
+
+		JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
+		searchPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+		searchPanel.add(new JLabel(message, icon, JLabel.LEFT), BorderLayout.NORTH);
+		searchPanel.add(searchField, BorderLayout.CENTER);
+
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createEmptyBorder(5, 10, 0, 10), scrollPane.getBorder()));
+
+		JButton selectButton = new JButton(MessageBundle.getMessage("angal.common.select.btn"));
+		selectButton.setMnemonic(MessageBundle.getMnemonic("angal.common.select.btn.key"));
+		selectButton.addActionListener(actionEvent -> pick());
+		JButton cancelButton = new JButton(MessageBundle.getMessage("angal.common.cancel.btn"));
+		cancelButton.setMnemonic(MessageBundle.getMnemonic("angal.common.cancel.btn.key"));
+		cancelButton.addActionListener(actionEvent -> dispose());
+		JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 5));
+		buttonPanel.add(selectButton);
+		buttonPanel.add(cancelButton);
+
+		getContentPane().add(searchPanel, BorderLayout.NORTH);
+		getContentPane().add(scrollPane, BorderLayout.CENTER);
+		getContentPane().add(buttonPanel, BorderLayout.SOUTH);
+		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+		setSize(600, 400);
+		setLocationRelativeTo(parent);
+	}
+
+	/**
+	 * Shows the picker and waits for the user.
+	 *
+	 * @param parent - the component the dialog is shown over
+	 * @param title - the title of the dialog
+	 * @param message - the message shown over the search field
+	 * @param icon - the icon shown next to the message
+	 * @param model - the items to choose from
+	 * @return the picked item, or {@code null} if the dialog has been cancelled
+	 */
+	public static <T> T pick(Component parent, String title, String message, Icon icon, OhTableModel<T> model) {
+		OhTablePicker<T> picker = new OhTablePicker<>(parent, title, message, icon, model);
+		picker.setVisible(true);
+		return picker.selected;
+	}
+
+	private void filter() {
+		try {
+			model.filter(searchField.getText());
+		} catch (OHException e) {
+			LOGGER.error(e.getMessage(), e);
+		}
+		if (table.getRowCount() > 0) {
+			table.setRowSelectionInterval(0, 0);
+		}
+	}
+
+	private void pick() {
+		int row = table.getSelectedRow();
+		if (row < 0 && table.getRowCount() == 1) {
+			row = 0;
+		}
+		if (row < 0) {
+			return;
+		}
+		selected = model.getObjectAt(table.convertRowIndexToModel(row));
+		dispose();
+	}
+
+}
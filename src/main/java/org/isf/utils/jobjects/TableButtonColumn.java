@@ -0,0 +1,132 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import java.awt.Component;
+import java.util.function.IntConsumer;
+
+import javax.swing.AbstractCellEditor;
+import javax.swing.Icon;
+import javax.swing.JButton;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+
+/**
+ * Renderer and editor of a table column showing a button in each row.
+ * <p>
+ * The same button paints all the cells and another one receives the click, so that the model does not have to create
+ * a button for each cell. The model only returns a non {@code null} value for the rows that have the button, and makes
+ * the cells of the column editable: the click runs the action with the row of the model and does not change its value.
+ */
+public class TableButtonColumn extends AbstractCellEditor implements TableCellRenderer, TableCellEditor {
+
+	private static final long serialVersionUID = 1L;
+
+	private final JButton renderButton;
+	private final JButton editButton;
+	private final DefaultTableCellRenderer emptyRenderer = new DefaultTableCellRenderer();
+	private final IntConsumer action;
+	private JTable table;
+
+	/**
+	 * @param text - the label of the button
+	 * @param action - receives the row of the model
+	 */
+	public TableButtonColumn(String text, IntConsumer action) {
+		this(new JButton(text), new JButton(text), action);
+	}
+
+	/**
+	 * @param icon - the icon of the button
+	 * @param action - receives the row of the model
+	 */
+	public TableButtonColumn(Icon icon, IntConsumer action) {
+		this(new IconButton(icon), new IconButton(icon), action);
+	}
+
+	private TableButtonColumn(JButton renderButton, JButton editButton, IntConsumer action) {
+		this.renderButton = renderButton;
+		this.editButton = editButton;
+		this.action = action;
+		editButton.addActionListener(actionEvent -> clicked());
+	}
+
+	/**
+	 * Sets this renderer and editor to a column of the table.
+	 *
+	 * @param column - the column index in the column model
+	 */
+	public void install(JTable table, int column) {
+		this.table = table;
+		TableColumn tableColumn = table.getColumnModel().getColumn(column);
+		tableColumn.setCellRenderer(this);
+		tableColumn.setCellEditor(this);
+	}
+
+	public void setMnemonic(int mnemonic) {
+		renderButton.setMnemonic(mnemonic);
+		editButton.setMnemonic(mnemonic);
+	}
+
+	@Override
+	public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+		if (value == null) {
+			return emptyRenderer.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+		}
+		return renderButton;
+	}
+
+	@Override
+	public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+		if (value == null) {
+			return emptyRenderer.getTableCellRendererComponent(table, null, isSelected, true, row, column);
+		}
+		return editButton;
+	}
+
+	@Override
+	public Object getCellEditorValue() {
+		return null;
+	}
+
+	/**
+	 * Editing is always canceled, so that the value of the model is never set, also when the table stops it
+	 * (e.g. with the keyboard or by clicking another cell).
+	 */
+	@Override
+	public boolean stopCellEditing() {
+		cancelCellEditing();
+		return true;
+	}
+
+	private void clicked() {
+		int row = table.getEditingRow();
+		cancelCellEditing();
+		if (row >= 0) {
+			action.accept(table.convertRowIndexToModel(row));
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.table;
+
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import javax.swing.table.TableModel;
+
+/**
+ * Sort keys of a column of a {@link TableModel}, read once from the model.
+ * <p>
+ * Values are ordered as {@link TableSorter} always did: {@code null} first, {@link Integer}s by value, strings as
+ * dates when both are {@code dd/MM/yy} dates and as text otherwise, any other value by its {@code toString()}.
+ */
+final class ColumnSortKeys {
+
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte DATE = 2;
+    private static final byte TEXT = 3;
+    private static final byte OTHER = 4;
+
+    private final byte[] kinds;
+    private final double[] numbers;
+    private final long[] dates;
+    private final String[] texts;
+
+    private ColumnSortKeys(int rowCount) {
+        kinds = new byte[rowCount];
+        numbers = new double[rowCount];
+        dates = new long[rowCount];
+        texts = new String[rowCount];
+    }
+
+    static ColumnSortKeys extract(TableModel model, int column) {
+        int rowCount = model.getRowCount();
+        ColumnSortKeys keys = new ColumnSortKeys(rowCount);
+        DateFormat dateFormat = new SimpleDateFormat("dd/MM/yy");
+        ParsePosition position = new ParsePosition(0);
+        for (int row = 0; row < rowCount; row++) {
+            Object value = model.getValueAt(row, column);
+            if (value == null) {
+                keys.kinds[row] = NULL;
+                continue;
+            }
+            String text = value.toString();
+            keys.texts[row] = text;
+            if (value instanceof Integer) {
+                keys.kinds[row] = INTEGER;
+                keys.numbers[row] = ((Integer) value).doubleValue();
+            } else if (value instanceof String && mayBeDate(text)) {
+                position.setIndex(0);
+                position.setErrorIndex(-1);
+                Date date = dateFormat.parse(text, position);
+                if (date != null) {
+                    keys.kinds[row] = DATE;
+                    keys.dates[row] = date.getTime();
+                } else {
+                    keys.kinds[row] = TEXT;
+                }
+            } else if (value instanceof String) {
+                keys.kinds[row] = TEXT;
+            } else {
+                keys.kinds[row] = OTHER;
+            }
+        }
+        return keys;
+    }
+
+    /*
+     * The date format starts with a number, which may follow blanks or have a sign: any other text is not parsed
+     */
+    private static boolean mayBeDate(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return Character.isDigit(first) || Character.isWhitespace(first) || first == '-';
+    }
+
+    int size() {
+        return kinds.length;
+    }
+
+    /**
+     * @return the comparison of the values of two rows of the model
+     */
+    int compare(int row1, int row2) {
+        byte kind1 = kinds[row1];
+        byte kind2 = kinds[row2];
+        if (kind1 == NULL || kind2 == NULL) {
+            // Define null less than everything.
+            if (kind1 == kind2) {
+                return 0;
+            }
+            return kind1 == NULL ? -1 : 1;
+        }
+        if (kind1 == INTEGER && kind2 == INTEGER) {
+            return Double.compare(numbers[row1], numbers[row2]);
+        }
+        if (kind1 == DATE && kind2 == DATE) {
+            return Long.compare(dates[row1], dates[row2]);
+        }
+        return Integer.compare(texts[row1].compareTo(texts[row2]), 0);
+    }
+
+}
@@ -22,10 +22,6 @@
 package org.isf.utils.table;
 
 import java.awt.Component;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.Vector;
 
 import javax.swing.JTable;
@@ -39,11 +35,15 @@ public class TableSorter extends TableMap {
 
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(TableSorter.class);
+    private static final int INSERTION_SORT_RUN = 16;
 
     int[] indexes;
     Vector<Integer> sortingColumns = new Vector<>();
     boolean ascending = true;
     int compares;
+    // sort keys by column, dropped when the model changes
+    private ColumnSortKeys[] sortKeys;
+    private ColumnSortKeys[] sortLevels;
 
     public TableSorter() {
         indexes = new int[0]; // for consistency
@@ -59,64 +59,22 @@ public class TableSorter extends TableMap {
         reallocateIndexes();
     }
 
+    /**
+     * Compares the values of two rows of the model in a column; the sort keys of the column are read from the model
+     * on first use and kept until the model changes.
+     */
     public int compareRowsByColumn(int row1, int row2, int column) {
-        TableModel data = model;
-
-        // Check for nulls.
-
-        Object o1 = data.getValueAt(row1, column);
-        Object o2 = data.getValueAt(row2, column);
+        return getSortKeys(column).compare(row1, row2);
+    }
 
-        // If both values are null, return 0.
-        if (o1 == null && o2 == null) {
-            return 0;
-        } else if (o1 == null) { // Define null less than everything.
-            return -1;
-        } else if (o2 == null) {
-            return 1;
+    private ColumnSortKeys getSortKeys(int column) {
+        if (sortKeys == null || sortKeys.length != model.getColumnCount()) {
+            sortKeys = new ColumnSortKeys[model.getColumnCount()];
         }
-
-        /*
-         * We copy all returned values from the getValue call in case an
-         * optimized model is reusing one object to return many values. The
-         * Number subclasses in the JDK are immutable and so will not be used in
-         * this way but other subclasses of Number might want to do this to save
-         * space and avoid unnecessary heap allocation.
-         */
-
-        if ((o1 instanceof Integer) && (o2 instanceof Integer)) {
-            Number n1 = (Number) data.getValueAt(row1, column);
-            double d1 = n1.doubleValue();
-            Number n2 = (Number) data.getValueAt(row2, column);
-            double d2 = n2.doubleValue();
-
-            return Double.compare(d1, d2);
-        } else if ((o1 instanceof String) && (o2 instanceof String)) {
-
-            String str1 = data.getValueAt(row1, column).toString();
-            String str2 = data.getValueAt(row2, column).toString();
-
-            try {
-                DateFormat myDateFormat = new SimpleDateFormat("dd/MM/yy");
-                Date d1 = myDateFormat.parse(str1);
-                Date d2 = myDateFormat.parse(str2);
-                long n1 = d1.getTime();
-                long n2 = d2.getTime();
-
-                return Long.compare(n1, n2);
-            } catch (NumberFormatException | ParseException e3) {
-                LOGGER.info("Compare ({}) with ({})", str1, str2);
-                return str1.compareTo(str2);
-            }
-        } else {
-            Object v1 = data.getValueAt(row1, column);
-            String s1 = v1.toString();
-            Object v2 = data.getValueAt(row2, column);
-            String s2 = v2.toString();
-            int result = s1.compareTo(s2);
-
-            return Integer.compare(result, 0);
+        if (sortKeys[column] == null || sortKeys[column].size() != model.getRowCount()) {
+            sortKeys[column] = ColumnSortKeys.extract(model, column);
         }
+        return sortKeys[column];
     }
 
     public int compare(int row1, int row2) {
@@ -137,6 +95,7 @@ public class TableSorter extends TableMap {
         // Set up a new array of indexes with the right number of elements
         // for the new data model.
         indexes = new int[rowCount];
+        sortKeys = null;
 
         // Initialize with the identity mapping.
         for (int row = 0; row < rowCount; row++) {
@@ -162,7 +121,69 @@ public class TableSorter extends TableMap {
 
         compares = 0;
 
-        shuttlesort(indexes.clone(), indexes, 0, indexes.length);
+        sortLevels = new ColumnSortKeys[sortingColumns.size()];
+        for (int level = 0; level < sortLevels.length; level++) {
+            sortLevels[level] = getSortKeys(sortingColumns.elementAt(level));
+        }
+        mergesort(indexes);
+    }
+
+    /*
+     * Stable merge sort of the rows on their sort keys: runs of INSERTION_SORT_RUN rows are sorted in place, then
+     * merged back and forth between the indexes and a single buffer
+     */
+    private void mergesort(int[] rows) {
+        int length = rows.length;
+        for (int low = 0; low < length; low += INSERTION_SORT_RUN) {
+            int high = Math.min(low + INSERTION_SORT_RUN, length);
+            for (int i = low + 1; i < high; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= low && compareSortLevels(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+        }
+        int[] from = rows;
+        int[] to = new int[length];
+        for (int width = INSERTION_SORT_RUN; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                int middle = Math.min(low + width, length);
+                int high = Math.min(low + 2 * width, length);
+                int p = low;
+                int q = middle;
+                if (middle < high && compareSortLevels(from[middle - 1], from[middle]) <= 0) {
+                    // already ordered
+                    System.arraycopy(from, low, to, low, high - low);
+                    continue;
+                }
+                for (int i = low; i < high; i++) {
+                    if (q >= high || (p < middle && compareSortLevels(from[p], from[q]) <= 0)) {
+                        to[i] = from[p++];
+                    } else {
+                        to[i] = from[q++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != rows) {
+            System.arraycopy(from, 0, rows, 0, length);
+        }
+    }
+
+    private int compareSortLevels(int row1, int row2) {
+        for (ColumnSortKeys keys : sortLevels) {
+            int result = keys.compare(row1, row2);
+            if (result != 0) {
+                return ascending ? result : -result;
+            }
+        }
+        return 0;
     }
 
     public void n2sort() {
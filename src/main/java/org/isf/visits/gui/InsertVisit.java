@@ -52,6 +52,7 @@ import org.isf.menu.manager.Context;
 import org.isf.patient.gui.SelectPatient;
 import org.isf.patient.gui.SelectPatient.SelectionListener;
 import org.isf.patient.model.Patient;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeVisitChooser;
@@ -59,7 +60,6 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.time.TimeTools;
 import org.isf.visits.manager.VisitManager;
 import org.isf.visits.model.Visit;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 
 /**
@@ -107,7 +107,6 @@ public class InsertVisit extends JDialog implements SelectionListener {
 	/*
 	 * Managers
 	 */
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private HospitalBrowsingManager hospitalBrowsingManager = Context.getApplicationContext().getBean(HospitalBrowsingManager.class);
 	private VisitManager visitManager = Context.getApplicationContext().getBean(VisitManager.class);
 	private List<Ward> wardList = new ArrayList<>();
@@ -200,7 +199,7 @@ public class InsertVisit extends JDialog implements SelectionListener {
 		if (wardPanel == null) {
 			wardPanel = new JPanel();
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 			} catch (OHServiceException e) {
 				OHServiceExceptionUtil.showMessages(e);
 			}
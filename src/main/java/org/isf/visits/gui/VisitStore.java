@@ -0,0 +1,114 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.visits.gui;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.isf.visits.model.Visit;
+
+/**
+ * Visits of a ward shown by the {@link VisitView}, grouped by day.
+ * <p>
+ * The visits are put in a sorted map of days once, when the ward is loaded, so that showing a day reads its own
+ * visits instead of scanning the whole history of the ward; visits inserted or deleted in the view are added to
+ * or removed from their day without loading the ward again.
+ */
+class VisitStore {
+
+	private static final Comparator<Visit> BY_DATE = Comparator.comparing(Visit::getDate);
+
+	private final NavigableMap<LocalDate, List<Visit>> days = new TreeMap<>();
+	private int size;
+
+	VisitStore() {
+	}
+
+	VisitStore(List<Visit> visits) {
+		for (Visit visit : visits) {
+			if (visit.getDate() != null) {
+				days.computeIfAbsent(visit.getDate().toLocalDate(), day -> new ArrayList<>()).add(visit);
+				size++;
+			}
+		}
+		// the sort is stable: visits at the same time keep the order of the query
+		days.values().forEach(day -> day.sort(BY_DATE));
+	}
+
+	/**
+	 * @return the visits of the day, by time
+	 */
+	List<Visit> getVisits(LocalDateTime date) {
+		List<Visit> visits = days.get(date.toLocalDate());
+		return visits == null ? new ArrayList<>() : new ArrayList<>(visits);
+	}
+
+	/**
+	 * Adds the visit to its day, after the visits at the same time.
+	 */
+	void add(Visit visit) {
+		List<Visit> visits = days.computeIfAbsent(visit.getDate().toLocalDate(), day -> new ArrayList<>());
+		int index = Collections.binarySearch(visits, visit, BY_DATE);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		while (index < visits.size() && BY_DATE.compare(visits.get(index), visit) == 0) {
+			index++;
+		}
+		visits.add(index, visit);
+		size++;
+	}
+
+	/**
+	 * Removes the visit with the same id, looking only at the day of the visit.
+	 *
+	 * @return {@code true} if the visit was in the store
+	 */
+	boolean remove(Visit visit) {
+		LocalDate day = visit.getDate().toLocalDate();
+		List<Visit> visits = days.get(day);
+		if (visits == null || !visits.removeIf(other -> other.getVisitID() == visit.getVisitID())) {
+			return false;
+		}
+		if (visits.isEmpty()) {
+			days.remove(day);
+		}
+		size--;
+		return true;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		days.clear();
+		size = 0;
+	}
+
+}
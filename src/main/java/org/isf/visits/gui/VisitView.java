@@ -41,6 +41,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.EventListener;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -55,6 +57,7 @@ import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpringLayout;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 import javax.swing.event.EventListenerList;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -65,6 +68,7 @@ import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
 import org.isf.patient.model.Patient;
 import org.isf.stat.gui.report.WardVisitsReport;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateChooser;
@@ -73,8 +77,9 @@ import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.time.TimeTools;
 import org.isf.visits.manager.VisitManager;
 import org.isf.visits.model.Visit;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Mwithi
@@ -82,6 +87,7 @@ import org.isf.ward.model.Ward;
 public class VisitView extends ModalJFrame {
 
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOGGER = LoggerFactory.getLogger(VisitView.class);
 	private EventListenerList visitViewListeners = new EventListenerList();
 
 	public interface VisitListener extends EventListener {
@@ -150,9 +156,9 @@ public class VisitView extends ModalJFrame {
 	 * Managers
 	 */
 	private VisitManager visitManager = Context.getApplicationContext().getBean(VisitManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
-	private List<Visit> visits = new ArrayList<>();
+	private VisitStore visits = new VisitStore();
+	private VisitLoader visitLoader;
 	private List<Visit> visitfirst = new ArrayList<>();
 	private List<Visit> visitSecond = new ArrayList<>();
 	private Ward ward;
@@ -164,13 +170,17 @@ public class VisitView extends ModalJFrame {
 		setDateFirstThenSecond(TimeTools.getNow());
 	}
 
+	/*
+	 * The visits are loaded in background: the days are shown empty until then
+	 */
 	private void loadDataForWard(Ward ward) {
-		try {
-			if (!ward.getDescription().equals(SELECT_A_WARD)) {
-				visits = visitManager.getVisitsWard(ward.getCode());
+		if (!ward.getDescription().equals(SELECT_A_WARD)) {
+			if (visitLoader != null) {
+				visitLoader.cancel(true);
 			}
-		} catch (OHServiceException e1) {
-			OHServiceExceptionUtil.showMessages(e1);
+			visits = new VisitStore();
+			visitLoader = new VisitLoader(ward.getCode());
+			visitLoader.execute();
 		}
 	}
 
@@ -344,8 +354,7 @@ public class VisitView extends ModalJFrame {
 				if (ok == JOptionPane.YES_OPTION) {
 					try {
 						visitManager.deleteVisit(visit);
-						loadDataForWard(ward);
-						updatePanels();
+						visitRemoved(visit);
 					} catch (OHServiceException e) {
 						OHServiceExceptionUtil.showMessages(e);
 					}
@@ -393,8 +402,7 @@ public class VisitView extends ModalJFrame {
 				if (ok == JOptionPane.YES_OPTION) {
 					try {
 						visitManager.deleteVisit(visit);
-						loadDataForWard(ward);
-						updatePanels();
+						visitRemoved(visit);
 					} catch (OHServiceException e) {
 						OHServiceExceptionUtil.showMessages(e);
 					}
@@ -407,7 +415,12 @@ public class VisitView extends ModalJFrame {
 	private void addVisit(Visit vsRow) {
 		if (vsRow != null && vsRow.getVisitID() != 0) {
 
-			loadDataForWard(ward);
+			if (visitLoader != null) {
+				// the loading may have started before the insert
+				loadDataForWard(ward);
+			} else if (vsRow.getWard() != null && vsRow.getWard().getCode().equalsIgnoreCase(ward.getCode())) {
+				visits.add(vsRow);
+			}
 
 			if (!TimeTools.isSameDay(dateFirst, vsRow.getDate()) && !TimeTools.isSameDay(dateSecond, vsRow.getDate())) {
 				// if new visit date is not already shown, change view
@@ -555,14 +568,18 @@ public class VisitView extends ModalJFrame {
 		dateFirst = dateFirst.minusDays(1);
 	}
 
-	private List<Visit> getVisitForDate(LocalDateTime date) {
-		List<Visit> vis = new ArrayList<>();
-		for (Visit visit : visits) {
-			if (TimeTools.isSameDay(visit.getDate(), date)) {
-				vis.add(visit);
-			}
+	private void visitRemoved(Visit visit) {
+		if (visitLoader != null) {
+			// the loading may have started before the delete
+			loadDataForWard(ward);
+		} else {
+			visits.remove(visit);
 		}
-		return vis;
+		updatePanels();
+	}
+
+	private List<Visit> getVisitForDate(LocalDateTime date) {
+		return visits.getVisits(date);
 	}
 
 	private final class FreeMemoryAdapter extends WindowAdapter {
@@ -578,8 +595,47 @@ public class VisitView extends ModalJFrame {
 	}
 
 	private void freeMemory() {
-		if (visits != null) {
-			visits.clear();
+		if (visitLoader != null) {
+			visitLoader.cancel(true);
+			visitLoader = null;
+		}
+		visits.clear();
+	}
+
+	class VisitLoader extends SwingWorker<VisitStore, Void> {
+
+		private final String wardCode;
+
+		VisitLoader(String wardCode) {
+			this.wardCode = wardCode;
+		}
+
+		@Override
+		protected VisitStore doInBackground() throws OHServiceException {
+			return new VisitStore(visitManager.getVisitsWard(wardCode));
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled() || visitLoader != this) {
+				return;
+			}
+			visitLoader = null;
+			try {
+				visits = get();
+			} catch (CancellationException | InterruptedException e) {
+				return;
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof OHServiceException) {
+					OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
+				} else {
+					LOGGER.error("Unable to load the visits of the ward.", e.getCause());
+				}
+				return;
+			}
+			if (dateFirstLabel != null) {
+				updatePanels();
+			}
 		}
 	}
 
@@ -790,7 +846,7 @@ public class VisitView extends ModalJFrame {
 			wardBox = new JComboBox<>();
 			List<Ward> wardList;
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().get(ReferenceDataCache.WARDS);
 			} catch (OHServiceException e) {
 				wardList = new ArrayList<>();
 				OHServiceExceptionUtil.showMessages(e);
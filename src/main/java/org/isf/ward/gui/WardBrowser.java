@@ -38,6 +38,7 @@ import javax.swing.table.TableColumnModel;
 
 import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -224,6 +225,7 @@ public class WardBrowser extends ModalJFrame implements WardListener {
 					try {
 						if (answer == JOptionPane.YES_OPTION) {
 							wardBrowserManager.deleteWard(ward);
+							ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.ALL_WARDS);
 							pWard.remove(table.getSelectedRow());
 							model.fireTableDataChanged();
 							table.updateUI();
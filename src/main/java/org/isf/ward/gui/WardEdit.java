@@ -40,6 +40,7 @@ import javax.swing.event.EventListenerList;
 
 import org.isf.generaldata.MessageBundle;
 import org.isf.menu.manager.Context;
+import org.isf.utils.cache.ReferenceDataCache;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
@@ -453,6 +454,7 @@ public class WardEdit extends JDialog {
 						OHServiceExceptionUtil.showMessages(ex);
 					}
 					if (result) {
+						ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.ALL_WARDS);
 						fireWardInserted();
 					}
 				} else {
@@ -466,6 +468,7 @@ public class WardEdit extends JDialog {
 						OHServiceExceptionUtil.showMessages(ex);
 					}
 					if (result) {
+						ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.ALL_WARDS);
 						fireWardUpdated();
 					}
 				}
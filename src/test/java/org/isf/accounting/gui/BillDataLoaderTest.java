@@ -27,7 +27,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
+import org.isf.accounting.gui.BillDataLoader.BillViews;
 import org.isf.accounting.manager.BillBrowserManager;
 import org.isf.accounting.model.Bill;
 import org.isf.accounting.service.AccountingIoOperations;
@@ -130,4 +132,63 @@ class BillDataLoaderTest {
 		assertThat(result).hasSize(1);
 	}
 
+	@Test
+	void shouldBuildViewsLikeSingleLoads() throws OHServiceException {
+		// given:
+		Random random = new Random(7);
+		String[] statuses = { "O", "C", "D" };
+		List<Bill> billPeriod = new ArrayList<>();
+		List<Bill> billFromPayments = new ArrayList<>();
+		for (int id = 1; id <= 1000; id++) {
+			Bill bill = TestBill.notDeletedBillWithStatus(id, statuses[random.nextInt(statuses.length)]);
+			bill.setUser(random.nextBoolean() ? "admin" : "cashier");
+			if (random.nextInt(4) == 0) {
+				billFromPayments.add(bill);
+			} else {
+				billPeriod.add(bill);
+				if (random.nextInt(10) == 0) {
+					billFromPayments.add(bill);
+				}
+			}
+		}
+		BillDataLoader billDataLoader = new BillDataLoader(billPeriod, billFromPayments, null, new BillBrowserManager(accountingIoOperations));
+
+		for (String username : new String[] { NO_USERNAME, "cashier" }) {
+			// when:
+			BillViews views = billDataLoader.loadViews(username);
+
+			// then:
+			assertThat(views.getAll()).containsExactlyElementsOf(billDataLoader.loadBills("ALL", username));
+			assertThat(views.getPending()).containsExactlyElementsOf(billDataLoader.loadBills("O", username));
+			assertThat(views.getClosed()).containsExactlyElementsOf(billDataLoader.loadBills("C", username));
+		}
+	}
+
+	@Test
+	void shouldBuildPendingViewFromManagerForParentPatient() throws OHServiceException {
+		// given:
+		Patient patientParent = new Patient();
+		patientParent.setCode(1);
+		BillDataLoader billDataLoader = new BillDataLoader(
+						Arrays.asList(TestBill.notDeletedBillWithStatus(1, "O")),
+						Collections.emptyList(),
+						patientParent,
+						new BillBrowserManager(accountingIoOperations) {
+
+							@Override
+							public List<Bill> getPendingBillsAffiliate(int patID) throws OHServiceException {
+								return new ArrayList<>(Arrays.asList(
+												TestBill.notDeletedBillWithStatus(2, "O"),
+												TestBill.notDeletedBillWithStatus(3, "O")));
+							}
+						});
+
+		// when:
+		BillViews views = billDataLoader.loadViews(NO_USERNAME);
+
+		// then:
+		assertThat(views.getPending()).hasSize(2);
+		assertThat(views.getAll()).hasSize(1);
+	}
+
 }
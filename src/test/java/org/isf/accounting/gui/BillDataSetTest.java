@@ -0,0 +1,141 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.isf.accounting.manager.BillBrowserManager;
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+import org.isf.accounting.service.AccountingIoOperations;
+import org.isf.utils.exception.OHServiceException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+class BillDataSetTest {
+
+	private static final LocalDateTime TODAY_FROM = LocalDate.of(2023, 5, 10).atStartOfDay();
+	private static final LocalDateTime TODAY_TO = LocalDate.of(2023, 5, 10).atTime(LocalTime.MAX);
+
+	@Mock
+	private AccountingIoOperations accountingIoOperations;
+
+	@Test
+	void shouldTakeTodayFromPeriodContainingToday() throws Exception {
+		// given:
+		Bill billToday = billWithDate(1, TODAY_FROM.plusHours(10));
+		Bill billYesterday = billWithDate(2, TODAY_FROM.minusHours(10));
+		CountingBillBrowserManager billManager = new CountingBillBrowserManager(
+				Arrays.asList(billToday, billYesterday),
+				Arrays.asList(paymentWithDate(billToday, TODAY_FROM.plusHours(11)), paymentWithDate(billYesterday, TODAY_FROM.minusHours(9))));
+
+		// when:
+		BillDataSet dataSet = BillDataSet.load(billManager, TODAY_FROM.minusDays(5), TODAY_TO.plusDays(5), null, TODAY_FROM, TODAY_TO, true);
+
+		// then:
+		assertThat(billManager.billQueries.get()).isEqualTo(1);
+		assertThat(billManager.paymentQueries.get()).isEqualTo(1);
+		assertThat(dataSet.getBillPeriod()).hasSize(2);
+		assertThat(dataSet.getBillToday()).containsExactly(billToday);
+		assertThat(dataSet.getPaymentsToday()).hasSize(1);
+	}
+
+	@Test
+	void shouldQueryTodayOutsidePeriod() throws Exception {
+		// given:
+		CountingBillBrowserManager billManager = new CountingBillBrowserManager(new ArrayList<>(), new ArrayList<>());
+
+		// when:
+		BillDataSet dataSet = BillDataSet.load(billManager, TODAY_FROM.minusDays(5), TODAY_TO.minusDays(3), null, TODAY_FROM, TODAY_TO, true);
+
+		// then:
+		assertThat(billManager.billQueries.get()).isEqualTo(2);
+		assertThat(billManager.paymentQueries.get()).isEqualTo(2);
+		assertThat(dataSet.getBillToday()).isNotSameAs(dataSet.getBillPeriod());
+	}
+
+	@Test
+	void shouldUsePeriodAsTodayWhenTodayIsNotLoaded() throws Exception {
+		// given:
+		CountingBillBrowserManager billManager = new CountingBillBrowserManager(new ArrayList<>(), new ArrayList<>());
+
+		// when:
+		BillDataSet dataSet = BillDataSet.load(billManager, TODAY_FROM.minusDays(5), TODAY_TO.minusDays(3), null, TODAY_FROM, TODAY_TO, false);
+
+		// then:
+		assertThat(billManager.billQueries.get()).isEqualTo(1);
+		assertThat(dataSet.getBillToday()).isSameAs(dataSet.getBillPeriod());
+		assertThat(dataSet.getPaymentsToday()).isSameAs(dataSet.getPaymentsPeriod());
+	}
+
+	private static Bill billWithDate(int id, LocalDateTime date) {
+		Bill bill = TestBill.notDeletedBillWithBalance(id, 10);
+		bill.setDate(date);
+		return bill;
+	}
+
+	private static BillPayments paymentWithDate(Bill bill, LocalDateTime date) {
+		BillPayments payment = TestPayment.withAmountAndBill(10, bill);
+		payment.setDate(date);
+		return payment;
+	}
+
+	private class CountingBillBrowserManager extends BillBrowserManager {
+
+		private final List<Bill> bills;
+		private final List<BillPayments> payments;
+		private final AtomicInteger billQueries = new AtomicInteger();
+		private final AtomicInteger paymentQueries = new AtomicInteger();
+
+		CountingBillBrowserManager(List<Bill> bills, List<BillPayments> payments) {
+			super(accountingIoOperations);
+			this.bills = bills;
+			this.payments = payments;
+		}
+
+		@Override
+		public List<Bill> getBills(LocalDateTime dateFrom, LocalDateTime dateTo) throws OHServiceException {
+			billQueries.incrementAndGet();
+			return new ArrayList<>(bills);
+		}
+
+		@Override
+		public List<BillPayments> getPayments(LocalDateTime dateFrom, LocalDateTime dateTo) throws OHServiceException {
+			paymentQueries.incrementAndGet();
+			return new ArrayList<>(payments);
+		}
+
+		@Override
+		public List<Bill> getBills(List<BillPayments> billPayments) throws OHServiceException {
+			return new ArrayList<>();
+		}
+	}
+
+}
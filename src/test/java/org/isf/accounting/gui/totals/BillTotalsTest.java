@@ -0,0 +1,119 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.isf.accounting.gui.TestBill;
+import org.isf.accounting.gui.TestPayment;
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+import org.junit.jupiter.api.Test;
+
+class BillTotalsTest {
+
+	private static final String TEST_USER = "testUser";
+	private static final String OTHER_USER = "otherUser";
+
+	@Test
+	void shouldCalculateAllTotals() {
+		// given:
+		Bill bill1 = TestBill.notDeletedBillWithBalance(1, 100);
+		Bill bill2 = TestBill.notDeletedBillWithBalance(2, 50.5);
+		Bill deletedBill = TestBill.deletedBillWithBalance(3, 1000);
+		List<Bill> bills = Arrays.asList(bill1, bill2, deletedBill);
+		List<BillPayments> payments = Arrays.asList(
+				TestPayment.withAmountBillAndUser(10, bill1, TEST_USER),
+				TestPayment.withAmountBillAndUser(15.25, bill2, OTHER_USER),
+				TestPayment.withAmountBillAndUser(99, deletedBill, TEST_USER)
+		);
+
+		// when:
+		BillTotals totals = new BillTotals(bills, payments, bills, payments, TEST_USER);
+
+		// then:
+		assertThat(totals.getBalancePeriod()).isEqualByComparingTo("150.5");
+		assertThat(totals.getTotalPeriod()).isEqualByComparingTo("25.25");
+		assertThat(totals.getUserPeriod()).isEqualByComparingTo("10");
+		assertThat(totals.getBalanceToday()).isEqualByComparingTo("150.5");
+		assertThat(totals.getTotalToday()).isEqualByComparingTo("25.25");
+		assertThat(totals.getUserToday()).isEqualByComparingTo("10");
+	}
+
+	@Test
+	void shouldCountTodayPaymentsOnlyForBillsInPeriod() {
+		// given:
+		Bill bill1 = TestBill.notDeletedBillWithBalance(1, 100);
+		Bill billNotInPeriod = TestBill.notDeletedBillWithBalance(2, 30);
+		List<Bill> billPeriod = Arrays.asList(bill1);
+		List<Bill> billToday = Arrays.asList(bill1, billNotInPeriod);
+		List<BillPayments> paymentsToday = Arrays.asList(
+				TestPayment.withAmountBillAndUser(10, bill1, TEST_USER),
+				TestPayment.withAmountBillAndUser(20, billNotInPeriod, TEST_USER)
+		);
+
+		// when:
+		BillTotals totals = new BillTotals(billPeriod, new ArrayList<>(), billToday, paymentsToday, TEST_USER);
+
+		// then:
+		assertThat(totals.getBalanceToday()).isEqualByComparingTo("130");
+		assertThat(totals.getTotalToday()).isEqualByComparingTo("10");
+		assertThat(totals.getTotalPeriod()).isEqualByComparingTo("0");
+	}
+
+	@Test
+	void shouldMatchSingleTotals() {
+		// given:
+		Random random = new Random(42);
+		List<Bill> bills = new ArrayList<>();
+		for (int id = 1; id <= 2000; id++) {
+			double balance = Math.round(random.nextDouble() * 100000) / 100.0;
+			bills.add(random.nextInt(10) == 0 ? TestBill.deletedBillWithBalance(id, balance) : TestBill.notDeletedBillWithBalance(id, balance));
+		}
+		List<BillPayments> payments = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			// some amounts with more than two decimals
+			double amount = i % 50 == 0 ? random.nextDouble() * 100 : Math.round(random.nextDouble() * 10000) / 100.0;
+			Bill bill = bills.get(random.nextInt(bills.size()));
+			payments.add(TestPayment.withAmountBillAndUser(amount, bill, random.nextBoolean() ? TEST_USER : OTHER_USER));
+		}
+		List<Integer> notDeletedBills = bills.stream()
+				.filter(bill -> !bill.getStatus().equals("D"))
+				.map(Bill::getId)
+				.collect(Collectors.toList());
+
+		// when:
+		BillTotals totals = new BillTotals(bills, payments, bills, payments, TEST_USER);
+
+		// then:
+		assertThat(totals.getBalancePeriod()).isEqualByComparingTo(new BalanceTotal(bills).getValue());
+		assertThat(totals.getTotalPeriod()).isEqualByComparingTo(new PaymentsTotal(notDeletedBills, payments).getValue());
+		assertThat(totals.getUserPeriod()).isEqualByComparingTo(new UserTotal(notDeletedBills, payments, TEST_USER).getValue());
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.admission.model.Admission;
+import org.isf.admission.model.AdmittedPatient;
+import org.isf.patient.model.Patient;
+import org.isf.utils.db.NormalizeString;
+import org.isf.ward.model.Ward;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdmittedPatientFilterIndexTest {
+
+	private static final String[] FIRST_NAMES = { "Mario", "Maria", "Marco", "José", "Anna", "Ángela" };
+	private static final String[] SECOND_NAMES = { "Rossi", "Rossetti", "Álvarez", "Bianchi", "Marini" };
+	private static final String[] CITIES = { "Roma", "Torino", "Málaga" };
+
+	private final List<Ward> wardList = Arrays.asList(TestWard.maleWardWithBeds("M"), TestWard.femaleWardWithBeds("F"));
+	private final boolean[] allWards = { true, true };
+	private List<AdmittedPatient> patients;
+	private AdmittedPatientFilterIndex index;
+
+	@BeforeEach
+	void setUp() {
+		patients = new ArrayList<>();
+		int code = 1;
+		for (String firstName : FIRST_NAMES) {
+			for (String secondName : SECOND_NAMES) {
+				for (String city : CITIES) {
+					Patient patient = new Patient();
+					patient.setCode(code);
+					patient.setFirstName(firstName);
+					patient.setSecondName(secondName);
+					patient.setCity(city);
+					patient.setAge(code % 90);
+					patient.setSex(code % 2 == 0 ? 'F' : 'M');
+					Admission admission = null;
+					if (code % 3 != 0) {
+						admission = TestAdmission.withAdmAndDisDateAndWard(null, null, wardList.get(code % 2));
+					}
+					patients.add(new AdmittedPatient(patient, admission));
+					code++;
+				}
+			}
+		}
+		index = new AdmittedPatientFilterIndex(wardList);
+		index.setSource(patients);
+	}
+
+	@Test
+	void shouldMatchLinearFilterForMultiTokenQueries() {
+		for (String key : new String[] { "mar ros", "ros mar", "MAR ROSS", "jose", "josé", "álv", "alv mal", "  mar   ros ", "mar ros zzz" }) {
+			// when:
+			List<AdmittedPatient> result = index.filter(filter(AdmittedPatientFilterIndex.ALL, allWards, -1, -1, (char) 0, key));
+
+			// then:
+			assertThat(result).as(key)
+					.containsExactlyElementsOf(linearFilter(AdmittedPatientFilterIndex.ALL, allWards, -1, -1, (char) 0, key));
+		}
+	}
+
+	@Test
+	void shouldMatchLinearFilterWhenNarrowingAndWidening() {
+		// given:
+		String typed = "mar ros";
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i <= typed.length(); i++) {
+			keys.add(typed.substring(0, i));
+		}
+		for (int i = typed.length() - 1; i >= 0; i--) {
+			keys.add(typed.substring(0, i));
+		}
+
+		for (String key : keys) {
+			// when:
+			List<AdmittedPatient> result = index.filter(filter(AdmittedPatientFilterIndex.ADMITTED, allWards, 10, 60, 'F', key));
+
+			// then:
+			assertThat(result).as("'%s'", key)
+					.containsExactlyElementsOf(linearFilter(AdmittedPatientFilterIndex.ADMITTED, allWards, 10, 60, 'F', key));
+		}
+	}
+
+	@Test
+	void shouldMatchLinearFilterWhenCriteriaChangeBetweenNarrowingQueries() {
+		// given:
+		boolean[] femaleWardOnly = { false, true };
+		index.filter(filter(AdmittedPatientFilterIndex.ALL, allWards, -1, -1, (char) 0, "ma"));
+
+		// when:
+		List<AdmittedPatient> result = index.filter(filter(AdmittedPatientFilterIndex.ALL, femaleWardOnly, -1, -1, (char) 0, "mar"));
+		List<AdmittedPatient> widened = index.filter(filter(AdmittedPatientFilterIndex.NOT_ADMITTED, allWards, -1, -1, (char) 0, "m"));
+
+		// then:
+		assertThat(result).containsExactlyElementsOf(linearFilter(AdmittedPatientFilterIndex.ALL, femaleWardOnly, -1, -1, (char) 0, "mar"));
+		assertThat(widened).containsExactlyElementsOf(linearFilter(AdmittedPatientFilterIndex.NOT_ADMITTED, allWards, -1, -1, (char) 0, "m"));
+	}
+
+	@Test
+	void shouldFindAllByEmptyQuery() {
+		for (String key : new String[] { null, "", " ", "   " }) {
+			// when:
+			List<AdmittedPatient> result = index.filter(filter(AdmittedPatientFilterIndex.ALL, allWards, -1, -1, (char) 0, key));
+
+			// then:
+			assertThat(result).as("'%s'", key).containsExactlyElementsOf(patients);
+		}
+	}
+
+	@Test
+	void shouldMatchLinearFilterAfterRefreshAndAppend() {
+		// given:
+		index.filter(filter(AdmittedPatientFilterIndex.ADMITTED, allWards, -1, -1, (char) 0, "mar"));
+		AdmittedPatient discharged = patients.get(1);
+		discharged.setAdmission(null);
+		index.refresh(discharged);
+		Patient patient = new Patient();
+		patient.setCode(patients.size() + 1);
+		patient.setFirstName("Marta");
+		patient.setSecondName("Rossi");
+		patient.setSex('F');
+		List<AdmittedPatient> chunk = List.of(new AdmittedPatient(patient, TestAdmission.withAdmAndDisDateAndWard(null, null, wardList.get(1))));
+		patients.addAll(chunk);
+
+		// when:
+		List<AdmittedPatient> appended = index.append(chunk);
+		List<AdmittedPatient> result = index.filter(filter(AdmittedPatientFilterIndex.ADMITTED, allWards, -1, -1, (char) 0, "mar"));
+
+		// then:
+		assertThat(appended).containsExactlyElementsOf(chunk);
+		assertThat(result).doesNotContain(discharged)
+				.containsExactlyElementsOf(linearFilter(AdmittedPatientFilterIndex.ADMITTED, allWards, -1, -1, (char) 0, "mar"));
+	}
+
+	private static AdmittedPatientFilterIndex.Filter filter(int status, boolean[] selectedWards, int ageFrom, int ageTo, char sex, String key) {
+		return new AdmittedPatientFilterIndex.Filter(status, selectedWards, ageFrom, ageTo, sex, key);
+	}
+
+	/*
+	 * The row by row filter the browser used before the index
+	 */
+	private List<AdmittedPatient> linearFilter(int status, boolean[] selectedWards, int ageFrom, int ageTo, char sex, String key) {
+		List<AdmittedPatient> result = new ArrayList<>();
+		for (AdmittedPatient ap : patients) {
+			Admission adm = ap.getAdmission();
+			if (status == AdmittedPatientFilterIndex.NOT_ADMITTED && adm != null
+					|| status == AdmittedPatientFilterIndex.ADMITTED && adm == null) {
+				continue;
+			}
+			if (status != AdmittedPatientFilterIndex.NOT_ADMITTED && adm != null) {
+				int cc = -1;
+				for (int j = 0; j < wardList.size(); j++) {
+					if (adm.getWard().getCode().equalsIgnoreCase(wardList.get(j).getCode())) {
+						cc = j;
+						break;
+					}
+				}
+				if (!selectedWards[cc]) {
+					continue;
+				}
+			}
+			if (ageFrom >= 0 && ap.getPatient().getAge() < ageFrom || ageTo >= 0 && ap.getPatient().getAge() > ageTo) {
+				continue;
+			}
+			if (sex != 0 && sex != ap.getPatient().getSex()) {
+				continue;
+			}
+			if (key != null && !containsAllTokens(ap.getPatient().getSearchString(), key)) {
+				continue;
+			}
+			result.add(ap);
+		}
+		return result;
+	}
+
+	private static boolean containsAllTokens(String name, String key) {
+		String s = key.trim();
+		if (!s.isEmpty()) {
+			for (String value : s.split(" ")) {
+				if (!NormalizeString.normalizeContains(name, value.toLowerCase())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+}
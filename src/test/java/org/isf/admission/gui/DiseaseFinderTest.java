@@ -31,6 +31,7 @@ import java.util.Optional;
 import javax.swing.JComboBox;
 
 import org.isf.disease.model.Disease;
+import org.isf.utils.cache.DiseaseDictionary;
 import org.junit.jupiter.api.Test;
 
 class DiseaseFinderTest {
@@ -137,7 +138,7 @@ class DiseaseFinderTest {
 	@Test
 	void shouldFindAndSelectAndAddSelectedFromAllDiseaseList() {
 		// given:
-		List<Disease> diseases = new ArrayList<>(
+		DiseaseDictionary diseases = new DiseaseDictionary(
 				Arrays.asList(
 						TestDisease.diseaseWithCode("ebola"),
 						TestDisease.diseaseWithCode("hiv")
@@ -158,7 +159,7 @@ class DiseaseFinderTest {
 	@Test
 	void shouldReturnEmptyForNotFoundFromAllDiseaseList() {
 		// given:
-		List<Disease> diseases = new ArrayList<>(
+		DiseaseDictionary diseases = new DiseaseDictionary(
 				Arrays.asList(
 						TestDisease.diseaseWithCode("ebola"),
 						TestDisease.diseaseWithCode("hiv")
@@ -175,4 +176,18 @@ class DiseaseFinderTest {
 		assertThat(diseaseBox.getItemCount()).isZero();
 	}
 
+	@Test
+	void shouldReturnEmptyWhenDictionaryIsNotLoaded() {
+		// given:
+		Disease diseaseToFind = TestDisease.diseaseWithCode("ebola");
+		JComboBox<Disease> diseaseBox = new JComboBox<>();
+
+		// when:
+		Optional<Disease> result = diseaseFinder.findAndSelectFromAllDiseases(diseaseToFind, null, diseaseBox);
+
+		// then:
+		assertThat(result).isNotPresent();
+		assertThat(diseaseBox.getItemCount()).isZero();
+	}
+
 }
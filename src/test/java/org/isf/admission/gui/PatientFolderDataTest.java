@@ -0,0 +1,116 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.isf.admission.model.Admission;
+import org.isf.lab.model.Laboratory;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.model.OHExceptionMessage;
+import org.junit.jupiter.api.Test;
+
+class PatientFolderDataTest {
+
+	@Test
+	void shouldQuerySectionsConcurrently() throws Exception {
+		// given:
+		CountDownLatch laboratoriesStarted = new CountDownLatch(1);
+		List<Admission> admissions = new ArrayList<>();
+		List<Laboratory> laboratories = new ArrayList<>();
+
+		// when:
+		PatientFolderData data = new PatientFolderData(
+				() -> {
+					// completes only if the laboratories are queried at the same time
+					assertThat(await(laboratoriesStarted)).isTrue();
+					return admissions;
+				},
+				ArrayList::new,
+				ArrayList::new,
+				() -> {
+					laboratoriesStarted.countDown();
+					return laboratories;
+				},
+				() -> null);
+
+		// then:
+		assertThat(data.getAdmissions().get(5, TimeUnit.SECONDS)).isSameAs(admissions);
+		assertThat(data.getLaboratories().get(5, TimeUnit.SECONDS)).isSameAs(laboratories);
+		assertThat(data.hasFailed()).isFalse();
+	}
+
+	@Test
+	void shouldFailOnlyTheSectionInError() throws Exception {
+		// given:
+		List<Admission> admissions = new ArrayList<>();
+
+		// when:
+		PatientFolderData data = new PatientFolderData(
+				() -> admissions,
+				() -> {
+					throw new OHServiceException(new OHExceptionMessage("error"));
+				},
+				ArrayList::new,
+				ArrayList::new,
+				() -> null);
+
+		// then:
+		assertThat(data.getAdmissions().get(5, TimeUnit.SECONDS)).isSameAs(admissions);
+		assertThatThrownBy(() -> data.getOpds().get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(OHServiceException.class);
+		assertThat(data.hasFailed()).isTrue();
+	}
+
+	@Test
+	void shouldExpireAfterMaxAge() {
+		// given:
+		PatientFolderData data = new PatientFolderData(ArrayList::new, ArrayList::new, ArrayList::new, ArrayList::new, () -> null);
+		long now = System.currentTimeMillis();
+
+		// when:
+		boolean fresh = data.isExpired(now);
+		boolean old = data.isExpired(now + PatientFolderData.MAX_AGE_MILLIS + 1);
+
+		// then:
+		assertThat(fresh).isFalse();
+		assertThat(old).isTrue();
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DicomImportCheckpointTest {
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	void shouldResumeInterruptedImport() {
+		// given:
+		File folder = new File(tempDir, "series");
+		DicomImportCheckpoint checkpoint = DicomImportCheckpoint.create(tempDir, 12, folder, "1.2.3");
+		checkpoint.imported(new File(folder, "a.dcm"));
+		checkpoint.imported(new File(folder, "b.dcm"));
+		checkpoint.close();
+
+		// when:
+		DicomImportCheckpoint resumed = DicomImportCheckpoint.find(tempDir, 12, folder);
+
+		// then:
+		assertThat(resumed).isNotNull();
+		assertThat(resumed.getSeriesNumber()).isEqualTo("1.2.3");
+		assertThat(resumed.getImportedCount()).isEqualTo(2);
+		assertThat(resumed.isImported(new File(folder, "a.dcm"))).isTrue();
+		assertThat(resumed.isImported(new File(folder, "c.dcm"))).isFalse();
+	}
+
+	@Test
+	void shouldIgnoreCheckpointOfAnotherImport() {
+		// given:
+		File folder = new File(tempDir, "series");
+		DicomImportCheckpoint.create(tempDir, 12, folder, null).close();
+
+		// when:
+		DicomImportCheckpoint otherPatient = DicomImportCheckpoint.find(tempDir, 13, folder);
+		DicomImportCheckpoint otherFolder = DicomImportCheckpoint.find(tempDir, 12, tempDir);
+
+		// then:
+		assertThat(otherPatient).isNull();
+		assertThat(otherFolder).isNull();
+	}
+
+	@Test
+	void shouldDeleteCompletedImport() {
+		// given:
+		File folder = new File(tempDir, "series");
+		DicomImportCheckpoint checkpoint = DicomImportCheckpoint.create(tempDir, 12, folder, null);
+		checkpoint.imported(new File(folder, "a.dcm"));
+
+		// when:
+		checkpoint.delete();
+
+		// then:
+		assertThat(DicomImportCheckpoint.getFile(tempDir, 12, folder)).doesNotExist();
+		assertThat(DicomImportCheckpoint.find(tempDir, 12, folder)).isNull();
+	}
+
+	@Test
+	void shouldKeepInterruptedImportWhenAnotherFolderIsImported() {
+		// given:
+		File folder = new File(tempDir, "series");
+		File otherFolder = new File(tempDir, "other");
+		DicomImportCheckpoint checkpoint = DicomImportCheckpoint.create(tempDir, 12, folder, "1.2.3");
+		checkpoint.imported(new File(folder, "a.dcm"));
+		checkpoint.close();
+
+		// when:
+		DicomImportCheckpoint.create(tempDir, 12, otherFolder, null).close();
+		DicomImportCheckpoint.create(tempDir, 13, folder, null).close();
+
+		// then:
+		DicomImportCheckpoint resumed = DicomImportCheckpoint.find(tempDir, 12, folder);
+		assertThat(resumed).isNotNull();
+		assertThat(resumed.getImportedCount()).isOne();
+	}
+
+	@Test
+	void shouldRecordSeriesNumberAssignedByFirstFile() {
+		// given:
+		File folder = new File(tempDir, "series");
+		DicomImportCheckpoint checkpoint = DicomImportCheckpoint.create(tempDir, 12, folder, null);
+		checkpoint.imported(new File(folder, "a.dcm"));
+
+		// when:
+		checkpoint.setSeriesNumber("4.5.6");
+		checkpoint.imported(new File(folder, "b.dcm"));
+		checkpoint.close();
+
+		// then:
+		DicomImportCheckpoint resumed = DicomImportCheckpoint.find(tempDir, 12, folder);
+		assertThat(resumed.getSeriesNumber()).isEqualTo("4.5.6");
+		assertThat(resumed.getImportedCount()).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+class MovementExcelExportTest {
+
+	@Test
+	void shouldRefuseXlsFileTooSmallForTheMovements() {
+		// given:
+		File file = new File("Stock Ledger.xls");
+
+		// when:
+		boolean fits = !MovementExcelExport.exceedsFile(file, MovementExcelExport.XLS_MAX_ROWS);
+		boolean exceeds = MovementExcelExport.exceedsFile(file, MovementExcelExport.XLS_MAX_ROWS + 1);
+
+		// then:
+		assertThat(fits).isTrue();
+		assertThat(exceeds).isTrue();
+	}
+
+	@Test
+	void shouldAcceptAnyNumberOfMovementsInXlsxFile() {
+		// given:
+		File file = new File("Stock Ledger.xlsx");
+
+		// when:
+		boolean exceeds = MovementExcelExport.exceedsFile(file, Integer.MAX_VALUE);
+
+		// then:
+		assertThat(exceeds).isFalse();
+	}
+
+}
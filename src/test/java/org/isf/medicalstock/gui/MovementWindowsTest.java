@@ -0,0 +1,179 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.isf.medicalstock.model.Lot;
+import org.isf.medicalstock.model.Movement;
+import org.isf.medstockmovtype.model.MovementType;
+import org.junit.jupiter.api.Test;
+
+class MovementWindowsTest {
+
+	private static final LocalDateTime FROM = LocalDate.of(2023, 1, 1).atStartOfDay();
+	private static final LocalDateTime TO = LocalDate.of(2023, 1, 20).atStartOfDay();
+
+	@Test
+	void shouldSizeWindowsFromTheMostRecentDay() throws Exception {
+		// given:
+		List<LocalDateTime[]> queries = new ArrayList<>();
+		MovementWindows windows = new MovementWindows((from, to) -> {
+			queries.add(new LocalDateTime[] { from, to });
+			return new ArrayList<>();
+		}, FROM, TO.plusHours(10), false);
+
+		// when:
+		for (int window = 0; window < windows.getWindowCount(); window++) {
+			windows.count(windows.fetch(window));
+		}
+
+		// then:
+		assertThat(queries).hasSize(2);
+		assertThat(queries.get(0)).containsExactly(TO.minusDays(6), TO);
+		assertThat(queries.get(1)).containsExactly(FROM, TO.minusDays(7));
+		assertThat(windows.isCounted()).isTrue();
+		assertThat(windows.getCountedDays()).isEqualTo(windows.getDayCount()).isEqualTo(20);
+	}
+
+	@Test
+	void shouldSizeNextWindowByRowsOfPrevious() {
+		assertThat(MovementWindows.nextWindowDays(7, 0)).isEqualTo(28);
+		assertThat(MovementWindows.nextWindowDays(7, 100)).isEqualTo(28);
+		assertThat(MovementWindows.nextWindowDays(7, MovementWindows.TARGET_ROWS)).isEqualTo(7);
+		assertThat(MovementWindows.nextWindowDays(7, 7 * MovementWindows.TARGET_ROWS)).isEqualTo(1);
+		assertThat(MovementWindows.nextWindowDays(7, 100 * MovementWindows.TARGET_ROWS)).isEqualTo(1);
+		assertThat(MovementWindows.nextWindowDays(200, 0)).isEqualTo(MovementWindows.MAX_WINDOW_DAYS);
+	}
+
+	@Test
+	void shouldCountRowsAndTotals() throws Exception {
+		// given:
+		MovementWindows windows = new MovementWindows((from, to) -> {
+			List<Movement> movements = new ArrayList<>();
+			movements.add(movement(to, "+", 10, new BigDecimal("1.5")));
+			movements.add(movement(from, "-", 4, null));
+			return movements;
+		}, FROM, TO, true);
+
+		// when:
+		for (int window = 0; window < windows.getWindowCount(); window++) {
+			windows.count(windows.fetch(window));
+		}
+
+		// then:
+		assertThat(windows.getRowCount()).isEqualTo(4);
+		assertThat(windows.getTotalQuantity()).isEqualTo(12);
+		assertThat(windows.getTotalAmount()).isEqualByComparingTo("30");
+		assertThat(windows.getWindow(0)).isZero();
+		assertThat(windows.getWindow(3)).isEqualTo(1);
+		assertThat(windows.getCached(3).getQuantity()).isEqualTo(4);
+	}
+
+	@Test
+	void shouldLeaveMovementAtStartOfNextDayToNextWindow() throws Exception {
+		// given:
+		Movement boundary = movement(TO.minusDays(6), "+", 1, null);
+		MovementWindows windows = new MovementWindows((from, to) -> {
+			List<Movement> movements = new ArrayList<>();
+			if (!boundary.getDate().isBefore(from) && !boundary.getDate().isAfter(to.plusDays(1))) {
+				movements.add(boundary);
+			}
+			return movements;
+		}, FROM, TO, false);
+
+		// when:
+		for (int window = 0; window < windows.getWindowCount(); window++) {
+			windows.count(windows.fetch(window));
+		}
+
+		// then:
+		assertThat(windows.getRowCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldSkipEmptyWindows() throws Exception {
+		// given:
+		MovementWindows windows = new MovementWindows((from, to) -> {
+			List<Movement> movements = new ArrayList<>();
+			if (from.equals(FROM)) {
+				movements.add(movement(from, "+", 1, null));
+			}
+			return movements;
+		}, FROM, FROM.plusDays(60), false);
+
+		// when:
+		for (int window = 0; window < windows.getWindowCount(); window++) {
+			windows.count(windows.fetch(window));
+		}
+
+		// then:
+		assertThat(windows.getRowCount()).isEqualTo(1);
+		assertThat(windows.getWindow(0)).isEqualTo(2);
+	}
+
+	@Test
+	void shouldDropOldestWindowsFromMemory() throws Exception {
+		// given:
+		MovementWindows windows = new MovementWindows((from, to) -> {
+			List<Movement> movements = new ArrayList<>();
+			for (int i = 0; i < MovementWindows.MAX_CACHED_ROWS / 2; i++) {
+				movements.add(movement(to, "+", 1, null));
+			}
+			return movements;
+		}, FROM, TO, false);
+
+		// when:
+		for (int window = 0; window < windows.getWindowCount(); window++) {
+			windows.count(windows.fetch(window));
+		}
+
+		// then:
+		int lastWindow = windows.getWindowCount() - 1;
+		assertThat(windows.isCached(0)).isFalse();
+		assertThat(windows.getCached(0)).isNull();
+		assertThat(windows.isCached(lastWindow)).isTrue();
+		assertThat(windows.getTotalQuantity()).isEqualTo((lastWindow + 1) * (MovementWindows.MAX_CACHED_ROWS / 2));
+	}
+
+	private static Movement movement(LocalDateTime date, String sign, int quantity, BigDecimal cost) {
+		MovementType type = mock(MovementType.class);
+		when(type.getType()).thenReturn(sign);
+		Lot lot = mock(Lot.class);
+		when(lot.getCost()).thenReturn(cost);
+		Movement movement = mock(Movement.class);
+		when(movement.getDate()).thenReturn(date);
+		when(movement.getType()).thenReturn(type);
+		when(movement.getQuantity()).thenReturn(quantity);
+		when(movement.getLot()).thenReturn(lot);
+		return movement;
+	}
+
+}
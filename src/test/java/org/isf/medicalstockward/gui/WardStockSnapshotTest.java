@@ -0,0 +1,117 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstockward.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.medicals.model.Medical;
+import org.isf.medicalstock.model.Lot;
+import org.isf.medicalstockward.model.MedicalWard;
+import org.isf.medicalstockward.model.MovementWard;
+import org.isf.medtype.model.MedicalType;
+import org.isf.ward.model.Ward;
+import org.junit.jupiter.api.Test;
+
+class WardStockSnapshotTest {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2023, 5, 10, 0, 0);
+	private static final LocalDateTime TO = LocalDateTime.of(2023, 5, 10, 23, 59);
+
+	private final Ward ward = new Ward();
+	private final Medical medical = new Medical(1, new MedicalType("T", "type"), "P1", "drug", 0, 1, 0, 0);
+	private final Lot lot = new Lot("L1", null, null);
+	private final Lot otherLot = new Lot("L2", null, null);
+
+	@Test
+	void shouldTakeMovementFromLotAndTotal() {
+		// given:
+		MedicalWard total = new MedicalWard(medical, 30., null);
+		MedicalWard lotStock = new MedicalWard(medical, 10., lot);
+		MedicalWard otherLotStock = new MedicalWard(medical, 20., otherLot);
+		WardStockSnapshot snapshot = snapshot(total, Arrays.asList(lotStock, otherLotStock));
+
+		// when:
+		boolean applied = snapshot.apply(movement(lot, 4., FROM.plusHours(10)));
+
+		// then:
+		assertThat(applied).isTrue();
+		assertThat(lotStock.getQty()).isEqualTo(6.);
+		assertThat(otherLotStock.getQty()).isEqualTo(20.);
+		assertThat(total.getQty()).isEqualTo(26.);
+		assertThat(snapshot.getOutcomes()).hasSize(1);
+	}
+
+	@Test
+	void shouldNotListMovementOutsidePeriod() {
+		// given:
+		MedicalWard total = new MedicalWard(medical, 10., null);
+		WardStockSnapshot snapshot = snapshot(total, Arrays.asList(new MedicalWard(medical, 10., lot)));
+
+		// when:
+		boolean applied = snapshot.apply(movement(lot, 4., TO.plusHours(1)));
+
+		// then:
+		assertThat(applied).isTrue();
+		assertThat(total.getQty()).isEqualTo(6.);
+		assertThat(snapshot.getOutcomes()).isEmpty();
+	}
+
+	@Test
+	void shouldRejectLotNotInStock() {
+		// given:
+		MedicalWard total = new MedicalWard(medical, 10., null);
+		WardStockSnapshot snapshot = snapshot(total, Arrays.asList(new MedicalWard(medical, 10., lot)));
+
+		// when:
+		boolean applied = snapshot.apply(movement(otherLot, -5., FROM.plusHours(10)));
+
+		// then:
+		assertThat(applied).isFalse();
+		assertThat(total.getQty()).isEqualTo(10.);
+	}
+
+	@Test
+	void shouldExpireAfterMaxAge() {
+		// given:
+		WardStockSnapshot snapshot = new WardStockSnapshot(ward, new ArrayList<>(), new ArrayList<>(), 1000);
+
+		// then:
+		assertThat(snapshot.isExpired(1000 + WardStockSnapshot.MAX_AGE_MILLIS)).isFalse();
+		assertThat(snapshot.isExpired(1001 + WardStockSnapshot.MAX_AGE_MILLIS)).isTrue();
+	}
+
+	private WardStockSnapshot snapshot(MedicalWard total, List<MedicalWard> lots) {
+		WardStockSnapshot snapshot = new WardStockSnapshot(ward, new ArrayList<>(Arrays.asList(total)), new ArrayList<>(lots), System.currentTimeMillis());
+		snapshot.setMovements(FROM, TO, new ArrayList<>(), new ArrayList<>());
+		return snapshot;
+	}
+
+	private MovementWard movement(Lot movementLot, double quantity, LocalDateTime date) {
+		return new MovementWard(ward, date, false, null, 0, 0, "reason", medical, quantity, "pieces", movementLot);
+	}
+
+}
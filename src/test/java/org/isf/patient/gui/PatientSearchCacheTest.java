@@ -0,0 +1,161 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.patient.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.isf.patient.model.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PatientSearchCacheTest {
+
+	private static final String[] FIRST_NAMES = { "mario", "maria", "marco", "anna", "al" };
+	private static final String[] SECOND_NAMES = { "rossi", "rossetti", "bianchi", "marini" };
+	private static final String[] QUERIES = { "ma", "m r", "a", "mar ros", "mar  ros", "  ros  ", "ros mar", "MAR", "al ro", "zz", "ros zzz", "1", "12 ma" };
+
+	private List<Patient> patients;
+	private PatientSearchCache.PatientList patientList;
+
+	@BeforeEach
+	void setUp() {
+		patients = new ArrayList<>();
+		int code = 1;
+		for (String firstName : FIRST_NAMES) {
+			for (String secondName : SECOND_NAMES) {
+				patients.add(patient(code++, firstName, secondName));
+			}
+		}
+		patientList = new PatientSearchCache.PatientList();
+		patientList.set(patients);
+	}
+
+	@Test
+	void shouldMatchContainsAllTokensLoop() {
+		for (String query : QUERIES) {
+			// when:
+			List<Patient> result = patientList.search(query);
+
+			// then:
+			assertThat(result).as("'%s'", query).containsExactlyElementsOf(containsAllTokens(query));
+		}
+	}
+
+	@Test
+	void shouldFindAllByEmptyQuery() {
+		for (String query : new String[] { null, "", " ", "   " }) {
+			// when:
+			List<Patient> result = patientList.search(query);
+
+			// then:
+			assertThat(result).as("'%s'", query).containsExactlyElementsOf(patients);
+		}
+	}
+
+	@Test
+	void shouldMatchContainsAllTokensLoopAfterPatientInserted() {
+		// given:
+		patientList.search("mar");
+		Patient patient = patient(patients.size() + 1, "marta", "rossi");
+		patients.add(patient);
+
+		// when:
+		patientList.add(patient);
+
+		// then:
+		assertThat(patientList.search("mar ros")).contains(patient);
+		for (String query : QUERIES) {
+			assertThat(patientList.search(query)).as("'%s'", query).containsExactlyElementsOf(containsAllTokens(query));
+		}
+	}
+
+	@Test
+	void shouldMatchContainsAllTokensLoopAfterPatientUpdated() {
+		// given:
+		patientList.search("mar");
+		Patient patient = patient(patients.get(0).getCode(), "anna", "bianchi");
+		patients.set(0, patient);
+
+		// when:
+		patientList.replace(patient);
+
+		// then:
+		assertThat(patientList.search("mario rossi")).isEmpty();
+		for (String query : QUERIES) {
+			assertThat(patientList.search(query)).as("'%s'", query).containsExactlyElementsOf(containsAllTokens(query));
+		}
+	}
+
+	@Test
+	void shouldMatchContainsAllTokensLoopAfterPatientDeleted() {
+		// given:
+		patientList.search("mar");
+		Patient patient = patients.remove(1);
+
+		// when:
+		patientList.remove(patient);
+
+		// then:
+		assertThat(patientList.search("maria")).doesNotContain(patient);
+		for (String query : QUERIES) {
+			assertThat(patientList.search(query)).as("'%s'", query).containsExactlyElementsOf(containsAllTokens(query));
+		}
+	}
+
+	private static Patient patient(int code, String firstName, String secondName) {
+		Patient patient = new Patient();
+		patient.setCode(code);
+		patient.setFirstName(firstName);
+		patient.setSecondName(secondName);
+		return patient;
+	}
+
+	/*
+	 * The search SelectPatient used before the cache
+	 */
+	private List<Patient> containsAllTokens(String text) {
+		String s = text.trim();
+		String[] s1 = s.split(" ");
+		List<Patient> result = new ArrayList<>();
+		for (Patient pat : patients) {
+			if (!s.isEmpty()) {
+				String name = pat.getSearchString();
+				int a = 0;
+				for (String value : s1) {
+					if (name.contains(value.toLowerCase())) {
+						a++;
+					}
+				}
+				if (a == s1.length) {
+					result.add(pat);
+				}
+			} else {
+				result.add(pat);
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.stat.gui.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.sf.jasperreports.engine.JasperPrint;
+
+class ReportResultCacheTest {
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	void shouldKeepReportOfClosedPeriod() throws Exception {
+		// given:
+		ReportResultCache cache = new ReportResultCache(new File(tempDir, "cache"), 0, Long.MAX_VALUE);
+		ReportResultCache.Key key = ReportResultCache.Key.of(true, "rpt_stat", "report", "en", 1, 2020);
+		CountingGenerator generator = new CountingGenerator(pdf("report.pdf"));
+		cache.get(key, generator);
+
+		// when:
+		ReportResultCache.Result result = cache.get(key, generator);
+
+		// then:
+		assertThat(generator.calls.get()).isEqualTo(1);
+		assertThat(result.getJasperPrint().getName()).isEqualTo("report");
+		assertThat(new File(result.getFilename())).hasContent("pdf");
+	}
+
+	@Test
+	void shouldGenerateAgainExpiredReportOfOpenPeriod() throws Exception {
+		// given:
+		ReportResultCache cache = new ReportResultCache(new File(tempDir, "cache"), -1, Long.MAX_VALUE);
+		ReportResultCache.Key key = ReportResultCache.Key.of(false, "rpt_stat", "report", "en", 1, 2020);
+		CountingGenerator generator = new CountingGenerator(pdf("report.pdf"));
+		cache.get(key, generator);
+
+		// when:
+		cache.get(key, generator);
+
+		// then:
+		assertThat(generator.calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldKeyByParameters() {
+		// when:
+		ReportResultCache.Key january = ReportResultCache.Key.of(true, "rpt_stat", "report", "en", 1, 2020);
+		ReportResultCache.Key february = ReportResultCache.Key.of(true, "rpt_stat", "report", "en", 2, 2020);
+		ReportResultCache.Key sameJanuary = ReportResultCache.Key.of(true, "rpt_stat", "report", "en", 1, 2020);
+
+		// then:
+		assertThat(january.getHash()).isNotEqualTo(february.getHash());
+		assertThat(january.getHash()).isEqualTo(sameJanuary.getHash());
+	}
+
+	private File pdf(String name) throws Exception {
+		File file = new File(tempDir, name);
+		Files.writeString(file.toPath(), "pdf");
+		return file;
+	}
+
+	private static class CountingGenerator implements ReportQueue.Report<ReportResultCache.Result> {
+
+		private final File pdf;
+		private final AtomicInteger calls = new AtomicInteger();
+
+		CountingGenerator(File pdf) {
+			this.pdf = pdf;
+		}
+
+		@Override
+		public ReportResultCache.Result generate() {
+			calls.incrementAndGet();
+			JasperPrint jasperPrint = new JasperPrint();
+			jasperPrint.setName("report");
+			return new ReportResultCache.Result(jasperPrint, pdf.getPath());
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.isf.disease.model.Disease;
+import org.junit.jupiter.api.Test;
+
+class DiseaseDictionaryTest {
+
+	@Test
+	void shouldFindDescriptionIgnoringCase() {
+		// given:
+		DiseaseDictionary dictionary = new DiseaseDictionary(List.of(disease("A09", "Diarrhoea"), disease("b50", "Malaria")));
+
+		// when:
+		String lowerCase = dictionary.getDescription("a09");
+		String upperCase = dictionary.getDescription("B50");
+
+		// then:
+		assertThat(lowerCase).isEqualTo("Diarrhoea");
+		assertThat(upperCase).isEqualTo("Malaria");
+	}
+
+	@Test
+	void shouldReturnNullForUnknownOrMissingCode() {
+		// given:
+		DiseaseDictionary dictionary = new DiseaseDictionary(List.of(disease("A09", "Diarrhoea"), disease(null, "No code")));
+
+		// when:
+		Disease unknown = dictionary.getDisease("Z99");
+		Disease missing = dictionary.getDisease(null);
+
+		// then:
+		assertThat(unknown).isNull();
+		assertThat(missing).isNull();
+		assertThat(dictionary.size()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldKeepFirstDiseaseOfDuplicatedCode() {
+		// given:
+		DiseaseDictionary dictionary = new DiseaseDictionary(List.of(disease("A09", "First"), disease("a09", "Second")));
+
+		// when:
+		String description = dictionary.getDescription("A09");
+
+		// then:
+		assertThat(description).isEqualTo("First");
+	}
+
+	private static Disease disease(String code, String description) {
+		Disease disease = new Disease();
+		disease.setCode(code);
+		disease.setDescription(description);
+		return disease;
+	}
+
+}
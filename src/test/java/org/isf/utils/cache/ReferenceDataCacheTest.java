@@ -0,0 +1,98 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.model.OHExceptionMessage;
+import org.junit.jupiter.api.Test;
+
+class ReferenceDataCacheTest {
+
+	@Test
+	void shouldLoadOnceAndReturnCopies() throws Exception {
+		// given:
+		AtomicInteger loads = new AtomicInteger();
+		ReferenceDataCache.Key<List<String>> key = new ReferenceDataCache.Key<>("test", () -> {
+			loads.incrementAndGet();
+			return new ArrayList<>(List.of("a", "b"));
+		}, ArrayList::new);
+		ReferenceDataCache cache = new ReferenceDataCache(60_000);
+
+		// when:
+		List<String> first = cache.get(key);
+		first.clear();
+		List<String> second = cache.get(key);
+
+		// then:
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(second).containsExactly("a", "b");
+		assertThat(cache.getVersion(key)).isPositive();
+	}
+
+	@Test
+	void shouldReturnNewDataAfterInvalidation() throws Exception {
+		// given:
+		AtomicInteger loads = new AtomicInteger();
+		ReferenceDataCache.Key<List<String>> key = new ReferenceDataCache.Key<>("test",
+				() -> new ArrayList<>(List.of("v" + loads.incrementAndGet())), ArrayList::new);
+		ReferenceDataCache cache = new ReferenceDataCache(60_000);
+		cache.get(key);
+		long version = cache.getVersion(key);
+
+		// when:
+		cache.invalidate(key);
+		List<String> reloaded = cache.get(key);
+
+		// then:
+		assertThat(reloaded).doesNotContain("v1");
+		assertThat(cache.getVersion(key)).isGreaterThan(version);
+	}
+
+	@Test
+	void shouldNotCacheFailedLoads() throws Exception {
+		// given:
+		AtomicInteger loads = new AtomicInteger();
+		ReferenceDataCache.Key<List<String>> key = new ReferenceDataCache.Key<>("test", () -> {
+			if (loads.incrementAndGet() == 1) {
+				throw new OHServiceException(new OHExceptionMessage("error"));
+			}
+			return new ArrayList<>(List.of("a"));
+		}, ArrayList::new);
+		ReferenceDataCache cache = new ReferenceDataCache(60_000);
+
+		// when:
+		assertThatThrownBy(() -> cache.get(key)).isInstanceOf(OHServiceException.class);
+		List<String> loaded = cache.get(key);
+
+		// then:
+		assertThat(loaded).containsExactly("a");
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.isf.priceslist.model.Price;
+import org.junit.jupiter.api.Test;
+
+class OhTableModelTest {
+
+	private static final Price ASPIRIN = new Price(null, "MED", "ASP", "Aspirin 500mg", 1.0);
+	private static final Price AMOXICILLIN = new Price(null, "MED", "AMX", "Amoxicillin 250mg", 2.0);
+	private static final Price ASP_TEST = new Price(null, "EXA", "ASPT", "Aspartate test", 3.0);
+
+	private final List<Price> prices = Arrays.asList(ASPIRIN, AMOXICILLIN, ASP_TEST);
+
+	@Test
+	void shouldFilterOnCodeAndDescriptionIgnoringCase() throws Exception {
+		// given:
+		OhTableModel<Price> model = new OhTableModel<>(prices);
+
+		// when:
+		Price single = model.filter("250MG");
+
+		// then:
+		assertThat(single).isSameAs(AMOXICILLIN);
+		assertThat(model.getRowCount()).isEqualTo(1);
+		assertThat(model.getValueAt(0, 0)).isEqualTo("AMX");
+		assertThat(model.getValueAt(0, 1)).isEqualTo("Amoxicillin 250mg");
+	}
+
+	@Test
+	void shouldNarrowAndWidenWhenQueryChanges() throws Exception {
+		// given:
+		OhTableModel<Price> model = new OhTableModel<>(prices);
+
+		// when:
+		model.filter("a");
+		model.filter("as");
+		Price narrowed = model.filter("aspi");
+		int narrowedRows = model.getRowCount();
+		model.filter("as");
+
+		// then:
+		assertThat(narrowed).isSameAs(ASPIRIN);
+		assertThat(narrowedRows).isEqualTo(1);
+		assertThat(model.getRowCount()).isEqualTo(2);
+		assertThat(model.getObjectAt(0)).isSameAs(ASPIRIN);
+		assertThat(model.getObjectAt(1)).isSameAs(ASP_TEST);
+	}
+
+	@Test
+	void shouldShowOnlyExactCodeWhenSearchByCodeIsAllowed() throws Exception {
+		// given:
+		OhTableModel<Price> model = new OhTableModel<>(prices, true);
+
+		// when:
+		Price byCode = model.filter("asp");
+		Price extended = model.filter("aspar");
+
+		// then:
+		assertThat(byCode).isSameAs(ASPIRIN);
+		assertThat(extended).isSameAs(ASP_TEST);
+	}
+
+	@Test
+	void shouldNotifyListenersOnFilter() throws Exception {
+		// given:
+		OhTableModel<Price> model = new OhTableModel<>(prices);
+		AtomicInteger events = new AtomicInteger();
+		model.addTableModelListener(event -> events.incrementAndGet());
+
+		// when:
+		model.filter("zz");
+
+		// then:
+		assertThat(events.get()).isEqualTo(1);
+		assertThat(model.getRowCount()).isZero();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.jupiter.api.Test;
+
+class TableButtonColumnTest {
+
+	@Test
+	void shouldPaintAllRowsWithTheSameButton() {
+		// given:
+		JTable table = new JTable(new ButtonModel(3));
+		TableButtonColumn column = new TableButtonColumn("go", row -> { });
+		column.install(table, 1);
+
+		// when:
+		Object first = table.prepareRenderer(table.getCellRenderer(0, 1), 0, 1);
+		Object second = table.prepareRenderer(table.getCellRenderer(1, 1), 1, 1);
+
+		// then:
+		assertThat(first).isInstanceOf(JButton.class).isSameAs(second);
+		assertThat(table.prepareRenderer(table.getCellRenderer(2, 1), 2, 1)).isNotInstanceOf(JButton.class);
+	}
+
+	@Test
+	void shouldRunActionWithModelRowWithoutSettingValue() {
+		// given:
+		JTable table = new JTable(new ButtonModel(3));
+		List<Integer> clicked = new ArrayList<>();
+		new TableButtonColumn("go", clicked::add).install(table, 1);
+
+		// when:
+		table.editCellAt(1, 1);
+		((JButton) table.getEditorComponent()).doClick();
+
+		// then:
+		assertThat(clicked).containsExactly(1);
+		assertThat(table.isEditing()).isFalse();
+	}
+
+	@Test
+	void shouldNotSetValueWhenEditingIsStopped() {
+		// given:
+		JTable table = new JTable(new ButtonModel(3));
+		new TableButtonColumn("go", row -> { }).install(table, 1);
+		table.editCellAt(1, 1);
+
+		// when:
+		boolean stopped = table.getCellEditor().stopCellEditing();
+
+		// then:
+		assertThat(stopped).isTrue();
+		assertThat(table.isEditing()).isFalse();
+	}
+
+	/*
+	 * Without rows in the data vector, as the models of the screens: setting a value would throw
+	 */
+	private static class ButtonModel extends DefaultTableModel {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int rowCount;
+
+		ButtonModel(int rowCount) {
+			super(0, 2);
+			this.rowCount = rowCount;
+		}
+
+		@Override
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			// the last row has no button
+			return row < getRowCount() - 1 ? "row" + row : null;
+		}
+
+		@Override
+		public boolean isCellEditable(int row, int column) {
+			return column == 1;
+		}
+	}
+
+}
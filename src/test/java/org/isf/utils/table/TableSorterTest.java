@@ -0,0 +1,131 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.jupiter.api.Test;
+
+class TableSorterTest {
+
+	@Test
+	void shouldSortDatesChronologically() {
+		// given:
+		TableSorter sorter = sorterOf("10/02/23", "01/12/22", null, "05/02/23");
+
+		// when:
+		sorter.sortByColumn(0);
+
+		// then:
+		assertThat(column(sorter, 0)).containsExactly(null, "01/12/22", "05/02/23", "10/02/23");
+	}
+
+	@Test
+	void shouldSortIntegersByValueAndTextAsText() {
+		// given:
+		TableSorter sorter = sorterOf(10, 9, 100);
+		TableSorter textSorter = sorterOf("b", "Ab", "a");
+
+		// when:
+		sorter.sortByColumn(0);
+		textSorter.sortByColumn(0);
+
+		// then:
+		assertThat(column(sorter, 0)).containsExactly(9, 10, 100);
+		assertThat(column(textSorter, 0)).containsExactly("Ab", "a", "b");
+	}
+
+	@Test
+	void shouldSortDescending() {
+		// given:
+		TableSorter sorter = sorterOf(3, 1, null, 2);
+
+		// when:
+		sorter.sortByColumn(0, false);
+
+		// then:
+		assertThat(column(sorter, 0)).containsExactly(3, 2, 1, null);
+	}
+
+	@Test
+	void shouldKeepOrderOfEqualRows() {
+		// given:
+		DefaultTableModel model = new DefaultTableModel(new Object[] { "key", "row" }, 0);
+		for (int row = 0; row < 100; row++) {
+			model.addRow(new Object[] { row % 3, row });
+		}
+		TableSorter sorter = new TableSorter(model);
+
+		// when:
+		sorter.sortByColumn(0);
+
+		// then:
+		List<Object> keys = column(sorter, 0);
+		List<Object> rows = column(sorter, 1);
+		for (int row = 1; row < rows.size(); row++) {
+			if (keys.get(row).equals(keys.get(row - 1))) {
+				assertThat((Integer) rows.get(row)).isGreaterThan((Integer) rows.get(row - 1));
+			} else {
+				assertThat((Integer) keys.get(row)).isGreaterThan((Integer) keys.get(row - 1));
+			}
+		}
+	}
+
+	@Test
+	void shouldSortAgainAfterRowsAreAdded() {
+		// given:
+		DefaultTableModel model = new DefaultTableModel(new Object[] { "value" }, 0);
+		model.addRow(new Object[] { 2 });
+		model.addRow(new Object[] { 1 });
+		TableSorter sorter = new TableSorter(model);
+		sorter.sortByColumn(0);
+
+		// when:
+		model.addRow(new Object[] { 0 });
+		sorter.sortByColumn(0);
+
+		// then:
+		assertThat(column(sorter, 0)).containsExactly(0, 1, 2);
+	}
+
+	private static TableSorter sorterOf(Object... values) {
+		DefaultTableModel model = new DefaultTableModel(new Object[] { "value" }, 0);
+		for (Object value : values) {
+			model.addRow(new Object[] { value });
+		}
+		return new TableSorter(model);
+	}
+
+	private static List<Object> column(TableSorter sorter, int column) {
+		List<Object> values = new ArrayList<>();
+		for (int row = 0; row < sorter.getRowCount(); row++) {
+			values.add(sorter.getValueAt(row, column));
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.visits.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.isf.visits.model.Visit;
+import org.junit.jupiter.api.Test;
+
+class VisitStoreTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2023, 5, 10, 0, 0);
+
+	@Test
+	void shouldReturnVisitsOfTheDayByTime() {
+		// given:
+		Visit afternoon = visit(1, DAY.plusHours(15));
+		Visit morning = visit(2, DAY.plusHours(9));
+		Visit nextDay = visit(3, DAY.plusDays(1).plusHours(9));
+		VisitStore store = new VisitStore(List.of(afternoon, nextDay, morning));
+
+		// when:
+		List<Visit> visits = store.getVisits(DAY.plusHours(12));
+
+		// then:
+		assertThat(visits).containsExactly(morning, afternoon);
+		assertThat(store.getVisits(DAY.minusDays(1))).isEmpty();
+		assertThat(store.size()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldAddAndRemoveVisitsOfOneDay() {
+		// given:
+		Visit morning = visit(1, DAY.plusHours(9));
+		Visit evening = visit(2, DAY.plusHours(18));
+		VisitStore store = new VisitStore(List.of(morning, evening));
+
+		// when:
+		Visit noon = visit(3, DAY.plusHours(12));
+		store.add(noon);
+		boolean removed = store.remove(visit(1, DAY.plusHours(9)));
+		boolean removedAgain = store.remove(visit(1, DAY.plusHours(9)));
+
+		// then:
+		assertThat(store.getVisits(DAY)).containsExactly(noon, evening);
+		assertThat(removed).isTrue();
+		assertThat(removedAgain).isFalse();
+		assertThat(store.size()).isEqualTo(2);
+	}
+
+	private static Visit visit(int id, LocalDateTime date) {
+		Visit visit = new Visit();
+		visit.setVisitID(id);
+		visit.setDate(date);
+		return visit;
+	}
+
+}